@@ -1,11 +1,21 @@
 package com.vibecraft;
 
-import com.vibecraft.net.LaunchTntPayload;
-import com.vibecraft.net.QuitClientPayload;
+import com.vibecraft.command.CraterRebuildCommand;
+import com.vibecraft.command.VolleyCommand;
+import com.vibecraft.net.CraterHintPayload;
+import com.vibecraft.net.LaunchAckPayload;
+import com.vibecraft.net.TntCorrectionPayload;
+import com.vibecraft.render.CraterRebuildScheduler;
+import com.vibecraft.tnt.LaunchMath;
+import com.vibecraft.tnt.PredictedLaunches;
+import com.vibecraft.tnt.TntCorrections;
+import com.vibecraft.tnt.VolleySettings;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
-import net.minecraft.client.MinecraftClient;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
 import net.minecraft.item.Items;
 import net.minecraft.text.Text;
 
@@ -16,7 +26,25 @@ public class VibecraftClient implements ClientModInitializer {
 
     @Override
     public void onInitializeClient() {
+        ClientPlayNetworking.registerGlobalReceiver(LaunchAckPayload.ID,
+                (payload, context) -> PredictedLaunches.onAck(context.client(), payload));
+        ClientPlayNetworking.registerGlobalReceiver(TntCorrectionPayload.ID,
+                (payload, context) -> TntCorrections.apply(context.client(), payload));
+        ClientPlayNetworking.registerGlobalReceiver(CraterHintPayload.ID,
+                (payload, context) -> CraterRebuildScheduler.onHint(context.client(), payload));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+            PredictedLaunches.clear();
+            CraterRebuildScheduler.clear();
+        });
+        WorldRenderEvents.AFTER_SETUP.register(CraterRebuildScheduler::release);
+        ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
+            VolleyCommand.register(dispatcher);
+            CraterRebuildCommand.register(dispatcher);
+        });
+
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            PredictedLaunches.tick(client);
+            CraterRebuildScheduler.tick(client);
             if (client.player == null)
                 return;
 
@@ -31,27 +59,25 @@ public class VibecraftClient implements ClientModInitializer {
             } else if (!isAttackPressed && attackButtonPressedTime > 0L && wasAttackPressed) {
                 // Attack button was just released while holding TNT
                 long holdDuration = System.currentTimeMillis() - attackButtonPressedTime;
-                float power = Math.min(1.0f + (holdDuration / 1000.0f), 5.0f); // Power increases with hold time, max 5x
-                ClientPlayNetworking.send(new LaunchTntPayload(power));
+                float power = LaunchMath.powerForHold(holdDuration); // Power increases with hold time, max 5x
+                if (VolleySettings.isEnabled()) {
+                    PredictedLaunches.launchVolley(client, power, VolleySettings.getCount(),
+                            VolleySettings.getPattern(), VolleySettings.getSpread());
+                } else {
+                    PredictedLaunches.launch(client, power);
+                }
                 attackButtonPressedTime = 0L;
                 wasAttackPressed = false;
 
                 // Show power feedback to player
-                client.player.sendMessage(Text.literal(String.format("🚀 TNT launched with %.1fx power!", power)),
-                        true);
+                String launched = VolleySettings.isEnabled() ? VolleySettings.getCount() + " TNT" : "TNT";
+                client.player.sendMessage(
+                        Text.literal(String.format("🚀 %s launched with %.1fx power!", launched, power)), true);
             } else if (!isAttackPressed) {
                 // Reset if attack button not pressed
                 attackButtonPressedTime = 0L;
                 wasAttackPressed = false;
             }
         });
-
-        // Receive quit signal from server and close the client cleanly
-        ClientPlayNetworking.registerGlobalReceiver(QuitClientPayload.ID, (payload, context) -> {
-            MinecraftClient mc = MinecraftClient.getInstance();
-            if (mc != null) {
-                mc.scheduleStop();
-            }
-        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.vibecraft.render.CraterRebuildScheduler;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.argument;
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.literal;
+
+/**
+ * Client command {@code /craterrebuild} toggling prioritized crater mesh rebuilds.
+ */
+public class CraterRebuildCommand {
+
+    public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher) {
+        dispatcher.register(literal("craterrebuild")
+                .then(argument("enabled", BoolArgumentType.bool())
+                        .executes(context -> {
+                            boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                            CraterRebuildScheduler.setEnabled(enabled);
+                            context.getSource().sendFeedback(Text.literal("Prioritized crater rebuilds "
+                                    + (enabled ? "enabled" : "disabled")).formatted(Formatting.GREEN));
+                            return 1;
+                        }))
+                .executes(context -> {
+                    context.getSource().sendFeedback(Text.literal(String.format(
+                            "Prioritized crater rebuilds: %s, %d sections waiting, %d per frame",
+                            CraterRebuildScheduler.isEnabled() ? "enabled" : "disabled",
+                            CraterRebuildScheduler.getDeferred(), CraterRebuildScheduler.getPerFrame()))
+                            .formatted(Formatting.AQUA));
+                    return 1;
+                }));
+    }
+}
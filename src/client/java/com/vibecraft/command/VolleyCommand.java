@@ -0,0 +1,61 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.vibecraft.tnt.LaunchMath;
+import com.vibecraft.tnt.VolleyPattern;
+import com.vibecraft.tnt.VolleySettings;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.argument;
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.literal;
+
+/**
+ * Client command {@code /tntvolley} choosing how many TNT one launch fires.
+ */
+public class VolleyCommand {
+
+    public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher) {
+        RequiredArgumentBuilder<FabricClientCommandSource, Integer> count = argument("count",
+                IntegerArgumentType.integer(1, LaunchMath.MAX_VOLLEY))
+                .executes(context -> set(context, VolleySettings.getPattern(), VolleySettings.getSpread()));
+        for (VolleyPattern pattern : VolleyPattern.values()) {
+            count.then(literal(pattern.name().toLowerCase())
+                    .then(argument("spread", FloatArgumentType.floatArg(0.0f, LaunchMath.MAX_SPREAD))
+                            .executes(context -> set(context, pattern,
+                                    FloatArgumentType.getFloat(context, "spread"))))
+                    .executes(context -> set(context, pattern, VolleySettings.getSpread())));
+        }
+
+        LiteralArgumentBuilder<FabricClientCommandSource> root = literal("tntvolley")
+                .then(literal("off")
+                        .executes(context -> {
+                            VolleySettings.setCount(1);
+                            context.getSource().sendFeedback(
+                                    Text.literal("🚀 TNT volley off").formatted(Formatting.GOLD));
+                            return 1;
+                        }))
+                .then(count)
+                .executes(context -> {
+                    context.getSource().sendFeedback(
+                            Text.literal("🚀 TNT volley: " + VolleySettings.describe()).formatted(Formatting.AQUA));
+                    return 1;
+                });
+        dispatcher.register(root);
+    }
+
+    private static int set(CommandContext<FabricClientCommandSource> context, VolleyPattern pattern, float spread) {
+        VolleySettings.setCount(IntegerArgumentType.getInteger(context, "count"));
+        VolleySettings.setPattern(pattern);
+        VolleySettings.setSpread(spread);
+        context.getSource().sendFeedback(
+                Text.literal("🚀 TNT volley: " + VolleySettings.describe()).formatted(Formatting.GOLD));
+        return 1;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vibecraft.mixin.client;
+
+import net.minecraft.client.render.WorldRenderer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+/**
+ * Lets {@link com.vibecraft.render.CraterRebuildScheduler} hand held-back sections to the chunk builder.
+ */
+@Mixin(WorldRenderer.class)
+public interface WorldRendererAccessor {
+
+    @Invoker("scheduleChunkRender")
+    void vibecraft$scheduleChunkRender(int x, int y, int z, boolean important);
+}
@@ -0,0 +1,34 @@
+package com.vibecraft.mixin.client;
+
+import com.vibecraft.render.CraterRebuildScheduler;
+import net.minecraft.client.render.Camera;
+import net.minecraft.client.render.WorldRenderer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(WorldRenderer.class)
+public abstract class WorldRendererMixin {
+
+    @Unique
+    private long vibecraft$updateChunksStart;
+
+    @Inject(method = "scheduleChunkRender", at = @At("HEAD"), cancellable = true)
+    private void onScheduleChunkRender(int x, int y, int z, boolean important, CallbackInfo ci) {
+        if (!important && CraterRebuildScheduler.defer(x, y, z)) {
+            ci.cancel();
+        }
+    }
+
+    @Inject(method = "updateChunks", at = @At("HEAD"))
+    private void onUpdateChunksStart(Camera camera, CallbackInfo ci) {
+        vibecraft$updateChunksStart = System.nanoTime();
+    }
+
+    @Inject(method = "updateChunks", at = @At("RETURN"))
+    private void onUpdateChunksEnd(Camera camera, CallbackInfo ci) {
+        CraterRebuildScheduler.onUpdateChunks(System.nanoTime() - vibecraft$updateChunksStart);
+    }
+}
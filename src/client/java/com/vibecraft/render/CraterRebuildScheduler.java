@@ -0,0 +1,194 @@
+package com.vibecraft.render;
+
+import com.vibecraft.mixin.client.WorldRendererAccessor;
+import com.vibecraft.net.CraterHintPayload;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.render.Frustum;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spreads the mesh rebuilds of a large crater over several frames.
+ * <p>
+ * While a {@link CraterHintPayload} is active, ordinary rebuild requests for sections inside it are held back here
+ * instead of all reaching the chunk builder in the same frame. Every frame the held sections in view are released
+ * nearest to the camera first, at most {@link #getPerFrame()} of them. That quota halves whenever the render thread
+ * spends more than the frame budget in {@code WorldRenderer.updateChunks} and grows by one otherwise. Sections
+ * outside the view frustum are released one per frame, and only once nothing in view is waiting.
+ * <p>
+ * Rebuilds vanilla marks as important, such as blocks the player places or breaks, are never held back.
+ */
+public final class CraterRebuildScheduler {
+
+    private static final int HINT_LIFETIME_TICKS = 100;
+    private static final int CANDIDATE_WINDOW = 512;
+    private static final int MAX_PER_FRAME = 64;
+    private static final int OFFSCREEN_PER_FRAME = 1;
+
+    private static final List<ActiveHint> hints = new ArrayList<>();
+    private static final LongLinkedOpenHashSet deferred = new LongLinkedOpenHashSet();
+    private static final long[] candidates = new long[CANDIDATE_WINDOW];
+    private static final double[] distances = new double[CANDIDATE_WINDOW];
+    private static boolean enabled = true;
+    private static long frameBudgetNanos = 2_000_000L;
+    private static int perFrame = 8;
+    private static boolean releasing;
+    private static boolean releasedThisFrame;
+
+    private CraterRebuildScheduler() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static int getPerFrame() {
+        return perFrame;
+    }
+
+    public static int getDeferred() {
+        return deferred.size();
+    }
+
+    public static void onHint(MinecraftClient client, CraterHintPayload hint) {
+        if (enabled && client.world != null) {
+            hints.add(new ActiveHint(hint, client.world.getTime() + HINT_LIFETIME_TICKS));
+        }
+    }
+
+    /**
+     * Takes over a non-important rebuild request if the section lies in an active crater. Returns whether it did.
+     */
+    public static boolean defer(int x, int y, int z) {
+        if (releasing || hints.isEmpty()) {
+            return false;
+        }
+        for (ActiveHint hint : hints) {
+            if (hint.box.contains(x, y, z)) {
+                deferred.add(ChunkSectionPos.asLong(x, y, z));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adjusts the per-frame quota from the time the last frame's {@code updateChunks} took.
+     */
+    public static void onUpdateChunks(long nanos) {
+        if (!releasedThisFrame) {
+            return;
+        }
+        releasedThisFrame = false;
+        if (nanos > frameBudgetNanos) {
+            perFrame = Math.max(1, perFrame / 2);
+        } else {
+            perFrame = Math.min(MAX_PER_FRAME, perFrame + 1);
+        }
+    }
+
+    public static void release(WorldRenderContext context) {
+        if (deferred.isEmpty()) {
+            return;
+        }
+        if (!enabled) {
+            releaseAll(context);
+            return;
+        }
+
+        Frustum frustum = context.frustum();
+        Vec3d camera = context.camera().getPos();
+        int count = Math.min(deferred.size(), CANDIDATE_WINDOW);
+        int visible = 0;
+        LongIterator iterator = deferred.iterator();
+        // Sections in view are packed at the front of the window, off-screen ones at the back
+        int offscreen = count;
+        for (int i = 0; i < count; i++) {
+            long section = iterator.nextLong();
+            int x = ChunkSectionPos.unpackX(section), y = ChunkSectionPos.unpackY(section);
+            int z = ChunkSectionPos.unpackZ(section);
+            double dx = (x << 4) + 8.0 - camera.x, dy = (y << 4) + 8.0 - camera.y, dz = (z << 4) + 8.0 - camera.z;
+            double distance = dx * dx + dy * dy + dz * dz;
+            if (frustum == null || frustum.isVisible(new Box(x << 4, y << 4, z << 4, (x + 1) << 4, (y + 1) << 4,
+                    (z + 1) << 4))) {
+                candidates[visible] = section;
+                distances[visible++] = distance;
+            } else {
+                candidates[--offscreen] = section;
+                distances[offscreen] = distance;
+            }
+        }
+
+        if (visible > 0) {
+            releaseNearest(context, 0, visible, perFrame);
+        } else {
+            releaseNearest(context, offscreen, count, OFFSCREEN_PER_FRAME);
+        }
+    }
+
+    public static void tick(MinecraftClient client) {
+        if (client.world == null) {
+            clear();
+            return;
+        }
+        long time = client.world.getTime();
+        hints.removeIf(hint -> hint.expiresAt <= time);
+    }
+
+    public static void clear() {
+        hints.clear();
+        deferred.clear();
+    }
+
+    // Partial selection sort: only the released slots need to be in order
+    private static void releaseNearest(WorldRenderContext context, int from, int to, int budget) {
+        int end = Math.min(to, from + budget);
+        for (int i = from; i < end; i++) {
+            int nearest = i;
+            for (int j = i + 1; j < to; j++) {
+                if (distances[j] < distances[nearest]) {
+                    nearest = j;
+                }
+            }
+            long section = candidates[nearest];
+            candidates[nearest] = candidates[i];
+            distances[nearest] = distances[i];
+            deferred.remove(section);
+            schedule(context, section);
+        }
+        releasedThisFrame = true;
+    }
+
+    private static void releaseAll(WorldRenderContext context) {
+        LongIterator iterator = deferred.iterator();
+        while (iterator.hasNext()) {
+            schedule(context, iterator.nextLong());
+        }
+        deferred.clear();
+    }
+
+    private static void schedule(WorldRenderContext context, long section) {
+        releasing = true;
+        try {
+            ((WorldRendererAccessor) context.worldRenderer()).vibecraft$scheduleChunkRender(
+                    ChunkSectionPos.unpackX(section), ChunkSectionPos.unpackY(section),
+                    ChunkSectionPos.unpackZ(section), false);
+        } finally {
+            releasing = false;
+        }
+    }
+
+    private record ActiveHint(CraterHintPayload box, long expiresAt) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.vibecraft.tnt;
+
+import com.vibecraft.net.LaunchAckPayload;
+import com.vibecraft.net.LaunchTntPayload;
+import com.vibecraft.net.LaunchVolleyPayload;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.Iterator;
+
+/**
+ * Client-side prediction for TNT launches.
+ * <p>
+ * A launch spawns a local "ghost" TNT immediately, with the same {@link LaunchMath} the server uses, and sends the
+ * request tagged with a sequence number. The server answers with a {@link LaunchAckPayload} after the real TNT's
+ * spawn packets: accepted launches hand each ghost over to its real entity, which continues from the ghost's position
+ * instead of jumping back to where the server spawned it, and rejected ones remove it. Ghosts also vanish on impact,
+ * where the real TNT explodes, and when no answer comes in time. A volley is predicted as a whole, shares one
+ * sequence number and is acknowledged with the ids of all its TNT.
+ */
+public final class PredictedLaunches {
+
+    // Ghosts use ids the server never hands out, so they cannot replace a real entity on the client
+    private static final int GHOST_ID_BASE = -0x40000000;
+    private static final int ACK_TIMEOUT_TICKS = 40;
+
+    private static final Int2ObjectMap<Ghost> pending = new Int2ObjectOpenHashMap<>();
+    private static int nextSequence;
+
+    private PredictedLaunches() {
+    }
+
+    public static void launch(MinecraftClient client, float power) {
+        int sequence = nextSequence++;
+        ClientPlayerEntity player = client.player;
+        if (LaunchMath.canLaunch(player)) {
+            predict(client, sequence, new Vec3d[] { LaunchMath.velocity(player, power) });
+        }
+        ClientPlayNetworking.send(new LaunchTntPayload(sequence, power));
+    }
+
+    public static void launchVolley(MinecraftClient client, float power, int count, VolleyPattern pattern,
+            float spread) {
+        int sequence = nextSequence++;
+        ClientPlayerEntity player = client.player;
+        if (LaunchMath.canLaunch(player)) {
+            predict(client, sequence, LaunchMath.volleyVelocities(player, power, LaunchMath.clampVolley(count),
+                    pattern, LaunchMath.clampSpread(spread)));
+        }
+        ClientPlayNetworking.send(new LaunchVolleyPayload(sequence, power, count, pattern, spread));
+    }
+
+    private static void predict(MinecraftClient client, int sequence, Vec3d[] velocities) {
+        ClientWorld world = client.world;
+        if (world == null) {
+            return;
+        }
+
+        Vec3d spawn = LaunchMath.spawnPos(client.player);
+        TntEntity[] entities = new TntEntity[velocities.length];
+        for (int i = 0; i < velocities.length; i++) {
+            TntEntity ghost = new TntEntity(world, spawn.x, spawn.y, spawn.z, client.player);
+            ghost.setId(GHOST_ID_BASE - ((sequence & 0xFFFF) * LaunchMath.MAX_VOLLEY + i));
+            ghost.setVelocity(velocities[i]);
+            ghost.setFuse(LaunchMath.FUSE);
+            world.addEntity(ghost);
+            entities[i] = ghost;
+        }
+        pending.put(sequence, new Ghost(entities, world.getTime()));
+    }
+
+    public static void onAck(MinecraftClient client, LaunchAckPayload ack) {
+        Ghost ghost = pending.get(ack.sequence());
+        if (!ack.accepted()) {
+            if (ghost != null) {
+                pending.remove(ack.sequence());
+                ghost.discard();
+            }
+            if (client.player != null) {
+                client.player.sendMessage(Text.literal("❌ TNT launch rejected").formatted(Formatting.RED), true);
+            }
+            return;
+        }
+
+        // The real TNT is normally known by now; any that is not yet keeps its ghost until it shows up or times out
+        if (ghost != null) {
+            ghost.realIds = ack.entityIds();
+            if (client.world != null && ghost.handOver(client.world)) {
+                pending.remove(ack.sequence());
+            }
+        }
+    }
+
+    public static void tick(MinecraftClient client) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ClientWorld world = client.world;
+        Iterator<Ghost> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            Ghost ghost = iterator.next();
+            boolean expired = world == null || ghost.entities[0].getWorld() != world
+                    || world.getTime() - ghost.launchedAt > ACK_TIMEOUT_TICKS;
+            if (expired) {
+                ghost.discard();
+                iterator.remove();
+                continue;
+            }
+            if (ghost.handOver(world)) {
+                iterator.remove();
+                continue;
+            }
+
+            boolean alive = false;
+            for (TntEntity entity : ghost.entities) {
+                if (entity.isOnGround() || entity.isTouchingWater() || entity.getVelocity().lengthSquared() < 0.01) {
+                    entity.discard();
+                }
+                alive |= !entity.isRemoved();
+            }
+            if (!alive) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public static void clear() {
+        pending.values().forEach(Ghost::discard);
+        pending.clear();
+    }
+
+    private static final class Ghost {
+        final TntEntity[] entities;
+        final long launchedAt;
+        int[] realIds = new int[0];
+
+        Ghost(TntEntity[] entities, long launchedAt) {
+            this.entities = entities;
+            this.launchedAt = launchedAt;
+        }
+
+        /**
+         * Hands each ghost whose real TNT has arrived over to it. The real TNT starts where the server spawned it,
+         * a round trip behind the ghost, so it takes over the ghost's position, velocity and fuse: the same flight
+         * fast-forwarded by the ticks the ghost has already flown. Returns whether every ghost is gone.
+         */
+        boolean handOver(ClientWorld world) {
+            boolean done = true;
+            for (int i = 0; i < entities.length; i++) {
+                TntEntity ghost = entities[i];
+                if (!ghost.isRemoved() && i < realIds.length
+                        && world.getEntityById(realIds[i]) instanceof TntEntity real) {
+                    real.setPosition(ghost.getPos());
+                    real.resetPosition();
+                    real.setVelocity(ghost.getVelocity());
+                    real.setFuse(ghost.getFuse());
+                    ghost.discard();
+                }
+                done &= ghost.isRemoved();
+            }
+            return done;
+        }
+
+        void discard() {
+            for (TntEntity entity : entities) {
+                entity.discard();
+            }
+        }
+    }
+}
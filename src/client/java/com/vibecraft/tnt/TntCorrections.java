@@ -0,0 +1,28 @@
+package com.vibecraft.tnt;
+
+import com.vibecraft.net.TntCorrectionPayload;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.TntEntity;
+
+/**
+ * Applies {@link TntCorrectionPayload}s to launched TNT that the client is flying on its own.
+ */
+public final class TntCorrections {
+
+    private TntCorrections() {
+    }
+
+    public static void apply(MinecraftClient client, TntCorrectionPayload correction) {
+        if (client.world == null) {
+            return;
+        }
+        Entity entity = client.world.getEntityById(correction.entityId());
+        if (entity instanceof TntEntity tnt) {
+            // Leave the tracked position alone: relative moves resume from it once the batch lets the TNT go
+            tnt.setPosition(correction.x(), correction.y(), correction.z());
+            tnt.setVelocity(correction.velocityX(), correction.velocityY(), correction.velocityZ());
+            tnt.setFuse(correction.fuse());
+        }
+    }
+}
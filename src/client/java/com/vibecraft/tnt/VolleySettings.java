@@ -0,0 +1,49 @@
+package com.vibecraft.tnt;
+
+/**
+ * The player's volley choice. While a volley is set, releasing the attack button fires that many TNT in one
+ * request instead of one.
+ */
+public final class VolleySettings {
+
+    private static int count = 1;
+    private static VolleyPattern pattern = VolleyPattern.FAN;
+    private static float spread = 30.0f;
+
+    private VolleySettings() {
+    }
+
+    public static boolean isEnabled() {
+        return count > 1;
+    }
+
+    public static int getCount() {
+        return count;
+    }
+
+    public static void setCount(int count) {
+        VolleySettings.count = LaunchMath.clampVolley(count);
+    }
+
+    public static VolleyPattern getPattern() {
+        return pattern;
+    }
+
+    public static void setPattern(VolleyPattern pattern) {
+        VolleySettings.pattern = pattern;
+    }
+
+    public static float getSpread() {
+        return spread;
+    }
+
+    public static void setSpread(float spread) {
+        VolleySettings.spread = LaunchMath.clampSpread(spread);
+    }
+
+    public static String describe() {
+        return isEnabled()
+                ? String.format("%d TNT, %s, %.0f°", count, pattern.name().toLowerCase(), spread)
+                : "off";
+    }
+}
@@ -1,62 +1,245 @@
 package com.vibecraft;
 
+import com.vibecraft.arena.ArenaManager;
+import com.vibecraft.chunk.ChunkSaveThrottle;
+import com.vibecraft.chunk.TrajectoryPreloader;
+import com.vibecraft.command.ArenaCommand;
 import com.vibecraft.command.ConfigCommand;
+import com.vibecraft.command.EstimateCommand;
+import com.vibecraft.command.HotspotCommand;
+import com.vibecraft.command.JournalCommand;
+import com.vibecraft.command.RegionCommand;
+import com.vibecraft.command.ReplayCommand;
+import com.vibecraft.command.VibecraftCommand;
+import com.vibecraft.explosion.ExplosionBudget;
+import com.vibecraft.explosion.ExplosionEffectBatcher;
+import com.vibecraft.explosion.ExplosionHotspots;
+import com.vibecraft.explosion.ExposureCache;
+import com.vibecraft.journal.CraterRegenerator;
+import com.vibecraft.jfr.LaunchEvent;
+import com.vibecraft.journal.ExplosionJournal;
+import com.vibecraft.net.CraterHintPayload;
+import com.vibecraft.net.LaunchAckPayload;
 import com.vibecraft.net.LaunchTntPayload;
-import com.vibecraft.net.QuitClientPayload;
+import com.vibecraft.net.LaunchVolleyPayload;
+import com.vibecraft.net.TntCorrectionPayload;
+import com.vibecraft.replay.ExplosionRecorder;
+import com.vibecraft.replay.ExplosionReplay;
+import com.vibecraft.tnt.LaunchMath;
+import com.vibecraft.tnt.LaunchedTntBatch;
+import com.vibecraft.tnt.TntClusterMerger;
+import com.vibecraft.tnt.VolleyPattern;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.inventory.Inventories;
+import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.util.Identifier;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.entity.TntEntity;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
 public class Vibecraft implements ModInitializer {
     public static final String MOD_ID = "vibecraft";
-    public static final Identifier QUIT_PACKET_ID = Identifier.of(MOD_ID, "quit_client");
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
 
     @Override
     public void onInitialize() {
         LOGGER.info("Vibecraft mod loaded!");
+        TrajectoryPreloader.register();
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             ConfigCommand.register(dispatcher);
-            // Register automated test command in runtime too (used by test runner)
-            com.vibecraft.command.TestCommand.register(dispatcher);
+            VibecraftCommand.register(dispatcher);
+            JournalCommand.register(dispatcher);
+            ArenaCommand.register(dispatcher);
+            ReplayCommand.register(dispatcher);
+            EstimateCommand.register(dispatcher);
+            RegionCommand.register(dispatcher);
+            HotspotCommand.register(dispatcher);
         });
         PayloadTypeRegistry.playC2S().register(LaunchTntPayload.ID, LaunchTntPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(QuitClientPayload.ID, QuitClientPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(LaunchAckPayload.ID, LaunchAckPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(CraterHintPayload.ID, CraterHintPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(TntCorrectionPayload.ID, TntCorrectionPayload.CODEC);
         ServerPlayNetworking.registerGlobalReceiver(LaunchTntPayload.ID, (payload, context) -> {
-            context.server().execute(() -> handleLaunchTnt(context.player(), payload.power()));
+            context.server().execute(() -> receiveLaunchTnt(context.player(), payload));
+        });
+        PayloadTypeRegistry.playC2S().register(LaunchVolleyPayload.ID, LaunchVolleyPayload.CODEC);
+        ServerPlayNetworking.registerGlobalReceiver(LaunchVolleyPayload.ID, (payload, context) -> {
+            context.server().execute(() -> {
+                List<TntEntity> volley = handleLaunchVolley(context.player(), payload.power(), payload.count(),
+                        payload.pattern(), payload.spread());
+                ServerPlayNetworking.send(context.player(), new LaunchAckPayload(payload.sequence(),
+                        volley.stream().mapToInt(TntEntity::getId).toArray()));
+            });
+        });
+        ServerTickEvents.END_WORLD_TICK.register(TntClusterMerger::tick);
+        ServerTickEvents.END_WORLD_TICK.register(LaunchedTntBatch::tick);
+        ServerTickEvents.END_WORLD_TICK.register(ChunkSaveThrottle::tick);
+        ServerTickEvents.END_WORLD_TICK.register(TrajectoryPreloader::tick);
+        ServerTickEvents.END_SERVER_TICK.register(CraterRegenerator::tick);
+        ServerTickEvents.END_SERVER_TICK.register(server -> ExposureCache.endTick());
+        ServerTickEvents.END_SERVER_TICK.register(ExplosionReplay::tick);
+        ServerTickEvents.END_SERVER_TICK.register(ExplosionHotspots::tick);
+        ServerTickEvents.END_SERVER_TICK.register(ExplosionBudget::tick);
+        ServerTickEvents.END_SERVER_TICK.register(ExplosionEffectBatcher::flush);
+        ServerLifecycleEvents.SERVER_STARTED.register(ExplosionJournal::open);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            LaunchedTntBatch.clear();
+            CraterRegenerator.clear();
+            ChunkSaveThrottle.clear();
+            TrajectoryPreloader.clear();
+            ExplosionEffectBatcher.clear();
+            ExplosionBudget.clear();
+            ExplosionHotspots.clear();
+            ArenaManager.clear();
+            ExplosionReplay.cancel();
+            ExplosionRecorder.stop();
+            ExplosionRecorder.awaitWrites();
+            ExplosionJournal.close();
         });
     }
 
-    public static void handleLaunchTnt(ServerPlayerEntity player, float power) {
-        if (player == null || player.isSpectator())
-            return;
-        if (!player.getMainHandStack().isOf(Items.TNT))
-            return;
+    /**
+     * Handles a {@link LaunchTntPayload} on the server thread, exactly as it arrives from the network, and sends the
+     * ack. Returns the launched TNT, or {@code null} if the launch was rejected.
+     */
+    @Nullable
+    public static TntEntity receiveLaunchTnt(ServerPlayerEntity player, LaunchTntPayload payload) {
+        TntEntity tnt = handleLaunchTnt(player, payload.power());
+        // Sent after the spawn packet, so the client can hand its predicted TNT over to the real one
+        ServerPlayNetworking.send(player,
+                new LaunchAckPayload(payload.sequence(), tnt != null ? new int[] { tnt.getId() } : new int[0]));
+        return tnt;
+    }
 
-        player.getMainHandStack().decrement(1);
+    @Nullable
+    public static TntEntity handleLaunchTnt(ServerPlayerEntity player, float power) {
+        power = LaunchMath.clampPower(power);
+        LaunchEvent event = new LaunchEvent();
+        event.begin();
+        TntEntity tnt = Float.isNaN(power) ? null : launchTnt(player, power);
+        event.end();
+        commitLaunchEvent(event, player, power, 1, tnt != null);
+        return tnt;
+    }
 
-        Vec3d eye = player.getEyePos();
-        Vec3d dir = player.getRotationVector();
+    /**
+     * Launches {@code count} TNT at once. The whole volley is paid for up front and spawned in one pass while
+     * packets to the players watching are held back, so they get it in a single flush. Returns an empty list when
+     * the player cannot launch or does not carry enough TNT.
+     */
+    public static List<TntEntity> handleLaunchVolley(ServerPlayerEntity player, float power, int count,
+            VolleyPattern pattern, float spread) {
+        // Power comes straight from the client; unclamped it would mean any velocity, and chunk tickets that far out
+        power = LaunchMath.clampPower(power);
+        LaunchEvent event = new LaunchEvent();
+        event.begin();
+        List<TntEntity> volley = Float.isNaN(power) ? List.of()
+                : launchVolley(player, power, LaunchMath.clampVolley(count), pattern, LaunchMath.clampSpread(spread));
+        event.end();
+        commitLaunchEvent(event, player, power, volley.size(), !volley.isEmpty());
+        return volley;
+    }
+
+    private static void commitLaunchEvent(LaunchEvent event, ServerPlayerEntity player, float power, int count,
+            boolean accepted) {
+        if (event.shouldCommit() && player != null) {
+            event.player = player.getNameForScoreboard();
+            event.power = power;
+            event.count = count;
+            event.accepted = accepted;
+            event.x = player.getX();
+            event.y = player.getY();
+            event.z = player.getZ();
+            event.commit();
+        }
+    }
 
-        double spawnX = eye.x + dir.x * 0.8;
-        double spawnY = eye.y + dir.y * 0.8;
-        double spawnZ = eye.z + dir.z * 0.8;
+    @Nullable
+    private static TntEntity launchTnt(ServerPlayerEntity player, float power) {
+        if (!LaunchMath.canLaunch(player) || !payForLaunch(player, 1))
+            return null;
 
-        TntEntity tnt = new TntEntity(player.getWorld(), spawnX, spawnY, spawnZ, player);
+        return spawnLaunchedTnt(player, LaunchMath.spawnPos(player), LaunchMath.velocity(player, power));
+    }
+
+    private static List<TntEntity> launchVolley(ServerPlayerEntity player, float power, int count,
+            VolleyPattern pattern, float spread) {
+        if (!LaunchMath.canLaunch(player) || !(player.getWorld() instanceof ServerWorld world))
+            return List.of();
+
+        if (!payForLaunch(player, count))
+            return List.of();
+
+        Vec3d spawn = LaunchMath.spawnPos(player);
+        Vec3d[] velocities = LaunchMath.volleyVelocities(player, power, count, pattern, spread);
+
+        // Spawn packets are queued for everyone watching and flushed once at the end. Launch requests are handled
+        // between ticks, where vanilla flushes every packet on its own
+        Collection<ServerPlayerEntity> watchers = PlayerLookup.tracking(world, new ChunkPos(BlockPos.ofFloored(spawn)));
+        watchers.forEach(watcher -> watcher.networkHandler.disableFlush());
+        List<TntEntity> volley = new ArrayList<>(count);
+        try {
+            for (Vec3d velocity : velocities) {
+                volley.add(spawnLaunchedTnt(player, spawn, velocity));
+            }
+        } finally {
+            watchers.forEach(watcher -> watcher.networkHandler.enableFlush());
+        }
+        return volley;
+    }
+
+    /**
+     * Takes {@code count} TNT for a launch, from the main hand first and then the rest of the inventory. Creative
+     * players launch for free. Returns {@code false}, taking nothing, when the player carries too little.
+     */
+    private static boolean payForLaunch(ServerPlayerEntity player, int count) {
+        if (player.isCreative())
+            return true;
+
+        // One inventory pass to check the whole launch, one to pay for what the main hand does not cover
+        Predicate<ItemStack> isTnt = stack -> stack.isOf(Items.TNT);
+        if (Inventories.remove(player.getInventory(), isTnt, count, true) < count)
+            return false;
+        ItemStack hand = player.getMainHandStack();
+        int fromHand = hand.isOf(Items.TNT) ? Math.min(hand.getCount(), count) : 0;
+        hand.decrement(fromHand);
+        if (count > fromHand) {
+            Inventories.remove(player.getInventory(), isTnt, count - fromHand, false);
+        }
+        return true;
+    }
 
-        Vec3d velocity = new Vec3d(dir.x, Math.max(dir.y + 0.6, 0.35), dir.z).multiply(1.2 * power);
+    private static TntEntity spawnLaunchedTnt(ServerPlayerEntity player, Vec3d spawn, Vec3d velocity) {
+        TntEntity tnt = new TntEntity(player.getWorld(), spawn.x, spawn.y, spawn.z, player);
         tnt.setVelocity(velocity);
-        tnt.setFuse(200);
+        tnt.setFuse(LaunchMath.FUSE);
         tnt.addCommandTag("mod:launched_tnt");
 
         player.getWorld().spawnEntity(tnt);
+        if (player.getWorld() instanceof ServerWorld world) {
+            ExplosionRecorder.onLaunch(world, spawn, velocity);
+            TrajectoryPreloader.onLaunch(world, tnt, spawn, velocity);
+            if (LaunchedTntBatch.isEnabled()) {
+                LaunchedTntBatch.get(world).add(tnt);
+            }
+        }
+        return tnt;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.vibecraft.api;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+
+/**
+ * Extension points for add-ons such as the test harness. Vibecraft never depends on any listener being present;
+ * with none registered an event costs a single empty array loop.
+ */
+public final class VibecraftEvents {
+
+    /**
+     * Fired after the multiplier for an explosion has been chosen, before the explosion happens.
+     */
+    public static final Event<ExplosionMultiplied> EXPLOSION_MULTIPLIED = EventFactory.createArrayBacked(
+            ExplosionMultiplied.class,
+            listeners -> (kind, basePower, multiplier) -> {
+                for (ExplosionMultiplied listener : listeners) {
+                    listener.onExplosionMultiplied(kind, basePower, multiplier);
+                }
+            });
+
+    private VibecraftEvents() {
+    }
+
+    @FunctionalInterface
+    public interface ExplosionMultiplied {
+
+        void onExplosionMultiplied(String kind, float basePower, float multiplier);
+    }
+}
@@ -0,0 +1,43 @@
+package com.vibecraft.arena;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the active arena snapshot and feeds it the block changes made inside its region.
+ */
+public final class ArenaManager {
+
+    @Nullable
+    private static ArenaSnapshot active;
+
+    private ArenaManager() {
+    }
+
+    @Nullable
+    public static ArenaSnapshot getActive() {
+        return active;
+    }
+
+    /**
+     * Captures a cube of {@code radius} blocks around {@code center}, replacing any previous snapshot.
+     */
+    public static ArenaSnapshot capture(ServerWorld world, BlockPos center, int radius) {
+        active = ArenaSnapshot.capture(world, center.add(-radius, -radius, -radius),
+                center.add(radius, radius, radius));
+        return active;
+    }
+
+    public static void clear() {
+        active = null;
+    }
+
+    public static void onBlockChanged(World world, BlockPos pos) {
+        ArenaSnapshot snapshot = active;
+        if (snapshot != null && snapshot.getWorld() == world && snapshot.contains(pos)) {
+            snapshot.markDirty(pos);
+        }
+    }
+}
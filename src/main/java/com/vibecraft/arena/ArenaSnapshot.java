@@ -0,0 +1,215 @@
+package com.vibecraft.arena;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.ExperienceOrbEntity;
+import net.minecraft.entity.FallingBlockEntity;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerLightingProvider;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Copy-on-write snapshot of the chunk sections of a box-shaped region, restorable at section granularity.
+ * <p>
+ * Capturing only records the region's bounds, it neither copies nor loads any chunk. The first block write into a
+ * section copies that section's block state container and block entities just before the write lands, and a restore
+ * swaps those copies back in and forgets them, so the next run copies again on its first write. Sections nothing
+ * writes to are never copied, so each run costs only what it actually changes.
+ * <p>
+ * Block entity data changed without a block write in its section, such as items put into a chest, is not restored.
+ */
+public final class ArenaSnapshot {
+
+    private static final EnumSet<Heightmap.Type> HEIGHTMAPS = EnumSet.of(Heightmap.Type.WORLD_SURFACE,
+            Heightmap.Type.MOTION_BLOCKING, Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, Heightmap.Type.OCEAN_FLOOR);
+
+    private final ServerWorld world;
+    private final ChunkSectionPos min;
+    private final ChunkSectionPos max;
+    // Sections written since the capture or the last restore, as they were before their first write
+    private final Long2ObjectMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<List<SavedBlockEntity>> blockEntities = new Long2ObjectOpenHashMap<>();
+
+    private ArenaSnapshot(ServerWorld world, ChunkSectionPos min, ChunkSectionPos max) {
+        this.world = world;
+        this.min = min;
+        this.max = max;
+    }
+
+    public static ArenaSnapshot capture(ServerWorld world, BlockPos from, BlockPos to) {
+        int minSectionY = Math.max(ChunkSectionPos.getSectionCoord(Math.min(from.getY(), to.getY())),
+                world.getBottomSectionCoord());
+        int maxSectionY = Math.min(ChunkSectionPos.getSectionCoord(Math.max(from.getY(), to.getY())),
+                world.getTopSectionCoord() - 1);
+        ChunkSectionPos min = ChunkSectionPos.from(ChunkSectionPos.getSectionCoord(Math.min(from.getX(), to.getX())),
+                minSectionY, ChunkSectionPos.getSectionCoord(Math.min(from.getZ(), to.getZ())));
+        ChunkSectionPos max = ChunkSectionPos.from(ChunkSectionPos.getSectionCoord(Math.max(from.getX(), to.getX())),
+                maxSectionY, ChunkSectionPos.getSectionCoord(Math.max(from.getZ(), to.getZ())));
+
+        return new ArenaSnapshot(world, min, max);
+    }
+
+    public ServerWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Sections the snapshot covers.
+     */
+    public int getSectionCount() {
+        return (max.getSectionX() - min.getSectionX() + 1) * (max.getSectionY() - min.getSectionY() + 1)
+                * (max.getSectionZ() - min.getSectionZ() + 1);
+    }
+
+    /**
+     * Sections written since the capture or the last restore, each holding a copy.
+     */
+    public int getDirtyCount() {
+        return sections.size();
+    }
+
+    public boolean contains(BlockPos pos) {
+        int sx = ChunkSectionPos.getSectionCoord(pos.getX());
+        int sy = ChunkSectionPos.getSectionCoord(pos.getY());
+        int sz = ChunkSectionPos.getSectionCoord(pos.getZ());
+        return sx >= min.getSectionX() && sx <= max.getSectionX() && sy >= min.getSectionY()
+                && sy <= max.getSectionY() && sz >= min.getSectionZ() && sz <= max.getSectionZ();
+    }
+
+    /**
+     * Called before a block in the region is written. Copies its section on the first write since the capture or the
+     * last restore.
+     */
+    void markDirty(BlockPos pos) {
+        long key = ChunkSectionPos.toLong(pos);
+        if (sections.containsKey(key)) {
+            return;
+        }
+        // The write loads the chunk anyway, if it is not loaded yet
+        WorldChunk chunk = world.getChunk(ChunkSectionPos.getSectionCoord(pos.getX()),
+                ChunkSectionPos.getSectionCoord(pos.getZ()));
+        ChunkSection section = chunk.getSectionArray()[world.sectionCoordToIndex(ChunkSectionPos.unpackY(key))];
+        sections.put(key, section.getBlockStateContainer().copy());
+
+        List<SavedBlockEntity> saved = new ArrayList<>();
+        for (BlockEntity blockEntity : chunk.getBlockEntities().values()) {
+            if (ChunkSectionPos.toLong(blockEntity.getPos()) == key) {
+                saved.add(new SavedBlockEntity(blockEntity.getPos(),
+                        blockEntity.createNbtWithIdentifyingData(world.getRegistryManager())));
+            }
+        }
+        if (!saved.isEmpty()) {
+            blockEntities.put(key, saved);
+        }
+    }
+
+    /**
+     * Puts every dirty section back to its captured state, removes leftovers of the last run such as dropped items
+     * and primed TNT, and resends the affected chunks. Returns the number of restored sections.
+     */
+    public int restore() {
+        clearTransientEntities();
+        if (sections.isEmpty()) {
+            return 0;
+        }
+
+        Long2ObjectMap<LongSet> dirtyByChunk = new Long2ObjectOpenHashMap<>();
+        for (long key : sections.keySet()) {
+            dirtyByChunk.computeIfAbsent(ChunkPos.toLong(ChunkSectionPos.unpackX(key), ChunkSectionPos.unpackZ(key)),
+                    k -> new LongOpenHashSet()).add(key);
+        }
+
+        ServerLightingProvider lighting = world.getChunkManager().getLightingProvider();
+        for (Long2ObjectMap.Entry<LongSet> entry : dirtyByChunk.long2ObjectEntrySet()) {
+            WorldChunk chunk = world.getChunk(ChunkPos.getPackedX(entry.getLongKey()),
+                    ChunkPos.getPackedZ(entry.getLongKey()));
+            LongSet chunkDirty = entry.getValue();
+            restoreChunk(chunk, chunkDirty, lighting);
+        }
+
+        int restored = sections.size();
+        sections.clear();
+        blockEntities.clear();
+        return restored;
+    }
+
+    private void restoreChunk(WorldChunk chunk, LongSet chunkDirty, ServerLightingProvider lighting) {
+        // Drop block entities of the dirty sections first, the captured ones are re-created below
+        for (BlockPos pos : new ArrayList<>(chunk.getBlockEntities().keySet())) {
+            if (chunkDirty.contains(ChunkSectionPos.toLong(pos))) {
+                chunk.removeBlockEntity(pos);
+            }
+        }
+
+        ChunkSection[] array = chunk.getSectionArray();
+        for (long key : chunkDirty) {
+            int sy = ChunkSectionPos.unpackY(key);
+            int index = world.sectionCoordToIndex(sy);
+            // The copy moves into the world, the next write after this restore takes a new one
+            ChunkSection restored = new ChunkSection(sections.get(key), array[index].getBiomeContainer());
+            array[index] = restored;
+            lighting.setSectionStatus(ChunkSectionPos.from(key), restored.isEmpty());
+
+            for (SavedBlockEntity saved : blockEntities.getOrDefault(key, List.of())) {
+                BlockEntity blockEntity = BlockEntity.createFromNbt(saved.pos(), chunk.getBlockState(saved.pos()),
+                        saved.nbt(), world.getRegistryManager());
+                if (blockEntity != null) {
+                    chunk.setBlockEntity(blockEntity);
+                }
+            }
+        }
+
+        Heightmap.populateHeightmaps(chunk, HEIGHTMAPS);
+        chunk.markNeedsSaving();
+        lighting.light(chunk, false).thenRunAsync(() -> resend(chunk), world.getServer());
+    }
+
+    private void resend(WorldChunk chunk) {
+        List<ServerPlayerEntity> players = world.getChunkManager().chunkLoadingManager
+                .getPlayersWatchingChunk(chunk.getPos(), false);
+        if (players.isEmpty()) {
+            return;
+        }
+        ChunkDataS2CPacket packet = new ChunkDataS2CPacket(chunk, world.getLightingProvider(), null, null);
+        for (ServerPlayerEntity player : players) {
+            player.networkHandler.sendPacket(packet);
+        }
+    }
+
+    private void clearTransientEntities() {
+        Box box = new Box(min.getMinX(), min.getMinY(), min.getMinZ(), max.getMaxX() + 1, max.getMaxY() + 1,
+                max.getMaxZ() + 1);
+        for (Entity entity : world.getEntitiesByClass(Entity.class, box, ArenaSnapshot::isTransient)) {
+            entity.discard();
+        }
+    }
+
+    private record SavedBlockEntity(BlockPos pos, NbtCompound nbt) {
+    }
+
+    private static boolean isTransient(Entity entity) {
+        return entity instanceof ItemEntity || entity instanceof TntEntity || entity instanceof FallingBlockEntity
+                || entity instanceof ExperienceOrbEntity;
+    }
+}
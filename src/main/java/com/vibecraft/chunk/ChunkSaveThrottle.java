@@ -0,0 +1,149 @@
+package com.vibecraft.chunk;
+
+import com.vibecraft.mixin.ServerChunkLoadingManagerAccessor;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves the chunks Vibecraft explosions damage a few per tick instead of leaving them all to the next autosave.
+ * <p>
+ * Each tick at most {@link #getChunksPerTick()} pending chunks are saved, farthest from any player first: chunks
+ * near players are the likeliest to be changed again before the save would be worth anything. Candidates are taken
+ * from the oldest {@value #CANDIDATE_WINDOW} pending chunks, so picking them stays cheap however long the backlog
+ * grows. Saving marks a chunk clean, so autosave only writes what is left.
+ */
+public final class ChunkSaveThrottle {
+
+    private static final int CANDIDATE_WINDOW = 256;
+
+    private static final Map<RegistryKey<World>, LongLinkedOpenHashSet> PENDING = new HashMap<>();
+    private static final long[] candidates = new long[CANDIDATE_WINDOW];
+    private static final double[] distances = new double[CANDIDATE_WINDOW];
+    private static boolean enabled = true;
+    private static int chunksPerTick = 4;
+    private static long saved;
+
+    private ChunkSaveThrottle() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+        if (!value) {
+            PENDING.clear();
+        }
+    }
+
+    public static int getChunksPerTick() {
+        return chunksPerTick;
+    }
+
+    public static void setChunksPerTick(int value) {
+        chunksPerTick = Math.max(1, value);
+    }
+
+    public static int getPending() {
+        int pending = 0;
+        for (LongLinkedOpenHashSet chunks : PENDING.values()) {
+            pending += chunks.size();
+        }
+        return pending;
+    }
+
+    public static long getSaved() {
+        return saved;
+    }
+
+    /**
+     * Queues the chunks containing {@code positions} for saving.
+     */
+    public static void track(ServerWorld world, List<BlockPos> positions) {
+        if (!enabled || positions.isEmpty()) {
+            return;
+        }
+        LongLinkedOpenHashSet pending = PENDING.computeIfAbsent(world.getRegistryKey(),
+                key -> new LongLinkedOpenHashSet());
+        long last = ChunkPos.MARKER;
+        for (BlockPos pos : positions) {
+            long chunk = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+            if (chunk != last) {
+                pending.add(chunk);
+                last = chunk;
+            }
+        }
+    }
+
+    public static void tick(ServerWorld world) {
+        LongLinkedOpenHashSet pending = PENDING.get(world.getRegistryKey());
+        if (pending == null || pending.isEmpty() || world.savingDisabled) {
+            return;
+        }
+
+        int count = Math.min(pending.size(), CANDIDATE_WINDOW);
+        LongIterator iterator = pending.iterator();
+        List<? extends PlayerEntity> players = world.getPlayers();
+        for (int i = 0; i < count; i++) {
+            long chunk = iterator.nextLong();
+            candidates[i] = chunk;
+            distances[i] = nearestPlayerDistanceSq(players, chunk);
+        }
+
+        // Partial selection sort: only the first few slots are needed
+        int budget = Math.min(chunksPerTick, count);
+        for (int i = 0; i < budget; i++) {
+            int farthest = i;
+            for (int j = i + 1; j < count; j++) {
+                if (distances[j] > distances[farthest]) {
+                    farthest = j;
+                }
+            }
+            long chunk = candidates[farthest];
+            candidates[farthest] = candidates[i];
+            distances[farthest] = distances[i];
+
+            pending.remove(chunk);
+            save(world, chunk);
+        }
+    }
+
+    public static void clear() {
+        PENDING.clear();
+    }
+
+    private static void save(ServerWorld world, long chunk) {
+        // Unloaded chunks were saved on unload
+        WorldChunk worldChunk = world.getChunkManager().getWorldChunk(ChunkPos.getPackedX(chunk),
+                ChunkPos.getPackedZ(chunk));
+        if (worldChunk != null
+                && ((ServerChunkLoadingManagerAccessor) world.getChunkManager().chunkLoadingManager)
+                        .vibecraft$save(worldChunk)) {
+            saved++;
+        }
+    }
+
+    private static double nearestPlayerDistanceSq(List<? extends PlayerEntity> players, long chunk) {
+        double centerX = (ChunkPos.getPackedX(chunk) << 4) + 8.0;
+        double centerZ = (ChunkPos.getPackedZ(chunk) << 4) + 8.0;
+        double nearest = Double.MAX_VALUE;
+        for (PlayerEntity player : players) {
+            double dx = player.getX() - centerX;
+            double dz = player.getZ() - centerZ;
+            nearest = Math.min(nearest, dx * dx + dz * dz);
+        }
+        return nearest;
+    }
+}
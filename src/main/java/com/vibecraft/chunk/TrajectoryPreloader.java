@@ -0,0 +1,248 @@
+package com.vibecraft.chunk;
+
+import com.vibecraft.Vibecraft;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the chunks a launched TNT will fly through before it gets there.
+ * <p>
+ * At launch the flight is projected with the TNT's own ballistics (gravity, then drag, every tick of the fuse)
+ * ignoring terrain, and a ticket is added for every chunk column the path crosses. Tickets only schedule the load,
+ * which the chunk system carries out on its worker threads, so by the time the TNT arrives its chunks are ready
+ * instead of freezing it at the border or being loaded synchronously under the impact. The tickets are removed once
+ * the TNT is gone; they also expire on their own a little after the longest possible fuse, in case a TNT is never
+ * seen removed. Launches crossing the same chunk share one ticket, counted here, since identical tickets are not
+ * stacked by the chunk manager. A shared ticket is renewed while it is still held, so a steady stream of launches
+ * through the same chunks keeps them loaded past the expiry.
+ */
+public final class TrajectoryPreloader {
+
+    private static final double GRAVITY = 0.04;
+    private static final double DRAG = 0.98;
+    // Entity ticking at the path itself, as vanilla does for ender pearls
+    private static final int TICKET_RADIUS = 2;
+    private static final long TICKET_EXPIRY = 300L;
+    private static final long TICKET_RENEWAL = TICKET_EXPIRY / 2;
+    private static final int MAX_CHUNKS = 64;
+
+    private static final Map<RegistryKey<World>, List<Preload>> PRELOADS = new HashMap<>();
+    private static final Map<RegistryKey<World>, Long2IntOpenHashMap> HOLDERS = new HashMap<>();
+    // Preloader tick at which each held chunk's ticket was last added
+    private static final Map<RegistryKey<World>, Long2LongOpenHashMap> ADDED = new HashMap<>();
+    private static final Map<RegistryKey<World>, Long> TICKS = new HashMap<>();
+    private static ChunkTicketType ticketType;
+    private static boolean enabled = true;
+    private static long launches;
+    private static long tickets;
+    private static long renewals;
+
+    private record Preload(TntEntity tnt, long[] chunks) {
+    }
+
+    private TrajectoryPreloader() {
+    }
+
+    /**
+     * Registers the ticket type. Must run during mod initialization, while registries are still open.
+     */
+    public static void register() {
+        ticketType = Registry.register(Registries.TICKET_TYPE, Identifier.of(Vibecraft.MOD_ID, "launched_tnt"),
+                new ChunkTicketType(TICKET_EXPIRY, false, ChunkTicketType.Use.LOADING_AND_SIMULATION));
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Launches whose path was preloaded so far.
+     */
+    public static long getLaunches() {
+        return launches;
+    }
+
+    /**
+     * Chunk tickets added so far, counting each shared ticket once.
+     */
+    public static long getTickets() {
+        return tickets;
+    }
+
+    /**
+     * Held tickets renewed so far because they were about to expire.
+     */
+    public static long getRenewals() {
+        return renewals;
+    }
+
+    /**
+     * Ticks since the oldest ticket still held in the world was added or renewed.
+     */
+    public static long getOldestTicketAge(ServerWorld world) {
+        Long2LongOpenHashMap added = ADDED.get(world.getRegistryKey());
+        long now = TICKS.getOrDefault(world.getRegistryKey(), 0L);
+        long oldest = 0L;
+        if (added != null) {
+            for (long tick : added.values()) {
+                oldest = Math.max(oldest, now - tick);
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Chunks currently held for TNT still in flight.
+     */
+    public static int getActiveTickets() {
+        int active = 0;
+        for (Long2IntOpenHashMap holders : HOLDERS.values()) {
+            active += holders.size();
+        }
+        return active;
+    }
+
+    /**
+     * Projects the flight of a just-spawned TNT and requests the chunks along it.
+     */
+    public static void onLaunch(ServerWorld world, TntEntity tnt, Vec3d spawn, Vec3d velocity) {
+        if (!enabled || ticketType == null) {
+            return;
+        }
+
+        long[] chunks = project(spawn, velocity, tnt.getFuse(), world.getBottomY());
+        Long2IntOpenHashMap holders = HOLDERS.computeIfAbsent(world.getRegistryKey(),
+                key -> new Long2IntOpenHashMap());
+        Long2LongOpenHashMap added = ADDED.computeIfAbsent(world.getRegistryKey(), key -> new Long2LongOpenHashMap());
+        long now = TICKS.getOrDefault(world.getRegistryKey(), 0L);
+        for (long chunk : chunks) {
+            if (holders.addTo(chunk, 1) == 0) {
+                world.getChunkManager().addTicket(ticketType, new ChunkPos(chunk), TICKET_RADIUS);
+                added.put(chunk, now);
+                tickets++;
+            }
+        }
+        PRELOADS.computeIfAbsent(world.getRegistryKey(), key -> new ArrayList<>()).add(new Preload(tnt, chunks));
+        launches++;
+    }
+
+    /**
+     * Chunk columns the flight crosses, in the order it reaches them, at most {@value #MAX_CHUNKS}. The projection
+     * stops when the fuse runs out or the TNT falls below the world.
+     */
+    public static long[] project(Vec3d spawn, Vec3d velocity, int fuse, int bottomY) {
+        LongLinkedOpenHashSet chunks = new LongLinkedOpenHashSet();
+        double x = spawn.x;
+        double y = spawn.y;
+        double z = spawn.z;
+        double vx = velocity.x;
+        double vy = velocity.y;
+        double vz = velocity.z;
+        chunks.add(ChunkPos.toLong(MathHelper.floor(x) >> 4, MathHelper.floor(z) >> 4));
+        for (int tick = 0; tick < fuse && y >= bottomY && chunks.size() < MAX_CHUNKS; tick++) {
+            vy -= GRAVITY;
+            double nextX = x + vx;
+            double nextZ = z + vz;
+            // A fast TNT can cut a chunk corner within one tick, so the chunks between both ends are added too
+            addSegment(chunks, x, z, nextX, nextZ);
+            x = nextX;
+            y += vy;
+            z = nextZ;
+            vx *= DRAG;
+            vy *= DRAG;
+            vz *= DRAG;
+        }
+        long[] path = chunks.toLongArray();
+        return path.length > MAX_CHUNKS ? Arrays.copyOf(path, MAX_CHUNKS) : path;
+    }
+
+    private static void addSegment(LongLinkedOpenHashSet chunks, double fromX, double fromZ, double toX, double toZ) {
+        int steps = (int) Math.ceil(Math.max(Math.abs(toX - fromX), Math.abs(toZ - fromZ)) / 8.0);
+        for (int i = 1; i <= steps; i++) {
+            double t = (double) i / steps;
+            chunks.add(ChunkPos.toLong(MathHelper.floor(MathHelper.lerp(t, fromX, toX)) >> 4,
+                    MathHelper.floor(MathHelper.lerp(t, fromZ, toZ)) >> 4));
+        }
+    }
+
+    /**
+     * Releases the tickets of TNT that has exploded or otherwise left the world, and renews the tickets still held
+     * that are halfway to expiring.
+     */
+    public static void tick(ServerWorld world) {
+        long now = TICKS.merge(world.getRegistryKey(), 1L, Long::sum);
+        List<Preload> preloads = PRELOADS.get(world.getRegistryKey());
+        if (preloads == null || preloads.isEmpty()) {
+            return;
+        }
+
+        Long2IntOpenHashMap holders = HOLDERS.get(world.getRegistryKey());
+        Long2LongOpenHashMap added = ADDED.get(world.getRegistryKey());
+        Iterator<Preload> it = preloads.iterator();
+        while (it.hasNext()) {
+            Preload preload = it.next();
+            if (preload.tnt().isRemoved()) {
+                release(world, holders, added, preload);
+                it.remove();
+            }
+        }
+
+        // Each ticket was added by whichever launch first crossed its chunk; later launches through the same chunk
+        // only count as holders, so without this the ticket would expire under them
+        for (Long2LongMap.Entry entry : added.long2LongEntrySet()) {
+            if (now - entry.getLongValue() >= TICKET_RENEWAL) {
+                ChunkPos pos = new ChunkPos(entry.getLongKey());
+                // Removed and added within the tick, before ticket levels are recomputed, so the chunk stays loaded
+                world.getChunkManager().removeTicket(ticketType, pos, TICKET_RADIUS);
+                world.getChunkManager().addTicket(ticketType, pos, TICKET_RADIUS);
+                entry.setValue(now);
+                renewals++;
+            }
+        }
+    }
+
+    private static void release(ServerWorld world, Long2IntOpenHashMap holders, Long2LongOpenHashMap added,
+            Preload preload) {
+        for (long chunk : preload.chunks()) {
+            if (holders.addTo(chunk, -1) == 1) {
+                holders.remove(chunk);
+                added.remove(chunk);
+                world.getChunkManager().removeTicket(ticketType, new ChunkPos(chunk), TICKET_RADIUS);
+            }
+        }
+    }
+
+    /**
+     * Forgets all preloads; the worlds, and their tickets, are going away with the server.
+     */
+    public static void clear() {
+        PRELOADS.clear();
+        HOLDERS.clear();
+        ADDED.clear();
+        TICKS.clear();
+    }
+}
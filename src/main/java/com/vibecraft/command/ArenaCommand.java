@@ -0,0 +1,69 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.vibecraft.arena.ArenaManager;
+import com.vibecraft.arena.ArenaSnapshot;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.BlockPos;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class ArenaCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("vibecraft")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("arena")
+                        .then(literal("snapshot")
+                                .then(argument("radius", IntegerArgumentType.integer(1, 256))
+                                        .executes(context -> {
+                                            int radius = IntegerArgumentType.getInteger(context, "radius");
+                                            ServerCommandSource source = context.getSource();
+                                            long start = System.nanoTime();
+                                            ArenaSnapshot snapshot = ArenaManager.capture(source.getWorld(),
+                                                    BlockPos.ofFloored(source.getPosition()), radius);
+                                            double millis = (System.nanoTime() - start) / 1_000_000.0;
+                                            source.sendFeedback(() -> Text.literal(String.format(
+                                                    "📸 Snapshot of %d chunk sections taken in %.1f ms, each is "
+                                                            + "copied on its first write",
+                                                    snapshot.getSectionCount(), millis))
+                                                    .formatted(Formatting.GREEN), true);
+                                            return snapshot.getSectionCount();
+                                        })))
+                        .then(literal("restore")
+                                .executes(context -> {
+                                    ArenaSnapshot snapshot = ArenaManager.getActive();
+                                    if (snapshot == null) {
+                                        context.getSource().sendError(Text.literal("No arena snapshot captured"));
+                                        return 0;
+                                    }
+                                    long start = System.nanoTime();
+                                    int restored = snapshot.restore();
+                                    double millis = (System.nanoTime() - start) / 1_000_000.0;
+                                    context.getSource().sendFeedback(() -> Text.literal(String.format(
+                                            "♻ Restored %d chunk sections in %.1f ms", restored, millis))
+                                            .formatted(Formatting.GREEN), true);
+                                    return restored;
+                                }))
+                        .then(literal("clear")
+                                .executes(context -> {
+                                    ArenaManager.clear();
+                                    context.getSource().sendMessage(
+                                            Text.literal("Arena snapshot discarded").formatted(Formatting.YELLOW));
+                                    return 1;
+                                }))
+                        .executes(context -> {
+                            ArenaSnapshot snapshot = ArenaManager.getActive();
+                            context.getSource().sendMessage(Text.literal(snapshot == null
+                                    ? "No arena snapshot captured"
+                                    : String.format("Arena snapshot: %d sections, %d dirty",
+                                            snapshot.getSectionCount(), snapshot.getDirtyCount()))
+                                    .formatted(Formatting.AQUA));
+                            return 1;
+                        })));
+    }
+}
@@ -1,23 +1,43 @@
 package com.vibecraft.command;
 
+import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.FloatArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
 import com.vibecraft.config.ExplosionConfig;
+import com.vibecraft.config.MultiplierPolicy;
+import com.vibecraft.explosion.VectorExplosion;
+import com.vibecraft.explosion.VibecraftExplosions;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.argument.IdentifierArgumentType;
+import net.minecraft.entity.EntityType;
 import net.minecraft.entity.TntEntity;
+import net.minecraft.registry.Registries;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.world.World;
+
+import java.util.Map;
 
 import static net.minecraft.server.command.CommandManager.argument;
 import static net.minecraft.server.command.CommandManager.literal;
 
 public class ConfigCommand {
 
+    private static final DynamicCommandExceptionType UNKNOWN_ENTITY_TYPE = new DynamicCommandExceptionType(
+            id -> Text.literal("Unknown entity type: " + id));
+    private static final DynamicCommandExceptionType INVALID_POLICY = new DynamicCommandExceptionType(
+            message -> Text.literal("Invalid multiplier distribution: " + message));
+
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
         // Simple explosion multiplier command for regular users
         dispatcher.register(literal("boom")
@@ -51,7 +71,7 @@ public class ConfigCommand {
                         return 0;
                     }
 
-                    World world = player.getWorld();
+                    ServerWorld world = player.getWorld();
                     Vec3d playerPos = player.getPos();
                     Vec3d spawnPos = playerPos.add(player.getRotationVector().multiply(3.0));
 
@@ -59,9 +79,10 @@ public class ConfigCommand {
                     float multiplier = ExplosionConfig.computeMultiplier();
                     float explosionPower = baseExplosionPower * multiplier;
 
-                    // Create explosion immediately at the target location
-                    world.createExplosion(player, spawnPos.x, spawnPos.y, spawnPos.z,
-                            explosionPower, World.ExplosionSourceType.TNT);
+                    // Create explosion immediately at the target location. Through Vibecraft, so the multiplier is
+                    // not applied a second time by the hook on vanilla explosions
+                    VibecraftExplosions.detonate(world, player, spawnPos.x, spawnPos.y, spawnPos.z,
+                            baseExplosionPower, multiplier, "Test");
 
                     context.getSource().sendFeedback(() -> Text.literal(
                             String.format("💥 Test explosion created with %.1fx power (%.2fx multiplier)",
@@ -105,12 +126,163 @@ public class ConfigCommand {
                                             .formatted(Formatting.YELLOW));
                             return 1;
                         }))
+                .then(literal("weighted")
+                        .then(argument("table", StringArgumentType.greedyString())
+                                .executes(context -> setDefaultPolicy(context.getSource(), weighted(context)))))
+                .then(literal("lognormal")
+                        .then(logNormalArguments(context -> setDefaultPolicy(context.getSource(), logNormal(context)))))
+                .then(literal("cost")
+                        .executes(context -> {
+                            MultiplierPolicy policy = ExplosionConfig.getDefaultPolicy();
+                            context.getSource().sendMessage(Text.literal(String.format(
+                                    "Default %s: mean %.2fx, expected cost %.1fx an unmultiplied blast",
+                                    policy, policy.moment(1, policy), ExplosionConfig.expectedCost(policy)))
+                                    .formatted(Formatting.AQUA));
+                            for (Map.Entry<String, MultiplierPolicy> entry : ExplosionConfig.getSourcePolicies()
+                                    .entrySet()) {
+                                MultiplierPolicy sourcePolicy = entry.getValue();
+                                context.getSource().sendMessage(Text.literal(String.format(
+                                        "  %s %s: mean %.2fx, expected cost %.1fx", entry.getKey(), sourcePolicy,
+                                        sourcePolicy.moment(1, policy), ExplosionConfig.expectedCost(sourcePolicy)))
+                                        .formatted(Formatting.AQUA));
+                            }
+                            return 1;
+                        }))
+                .then(literal("engine")
+                        .then(literal("ray")
+                                .executes(context -> setEngine(context.getSource(), ExplosionConfig.Engine.RAY)))
+                        .then(literal("voxel")
+                                .executes(context -> setEngine(context.getSource(), ExplosionConfig.Engine.VOXEL)))
+                        .then(literal("simd")
+                                .executes(context -> setEngine(context.getSource(), ExplosionConfig.Engine.SIMD))))
+                .then(literal("source")
+                        .then(sourcePolicy(literal("block"), (context, policy) -> {
+                            ExplosionConfig.setBlockPolicy(policy);
+                            return "block";
+                        }))
+                        .then(sourcePolicy(argument("entity", IdentifierArgumentType.identifier())
+                                .suggests((context, builder) -> CommandSource
+                                        .suggestIdentifiers(Registries.ENTITY_TYPE.getIds(), builder)),
+                                (context, policy) -> {
+                                    Identifier id = IdentifierArgumentType.getIdentifier(context, "entity");
+                                    EntityType<?> type = Registries.ENTITY_TYPE.getOptionalValue(id)
+                                            .orElseThrow(() -> UNKNOWN_ENTITY_TYPE.create(id));
+                                    ExplosionConfig.setPolicy(type, policy);
+                                    return id.toString();
+                                }))
+                        .then(literal("clear")
+                                .executes(context -> {
+                                    ExplosionConfig.clearSourcePolicies();
+                                    context.getSource().sendMessage(
+                                            Text.literal("All sources use the default multiplier again")
+                                                    .formatted(Formatting.YELLOW));
+                                    return 1;
+                                })))
                 .then(literal("show")
                         .executes(context -> {
                             context.getSource().sendMessage(
                                     Text.literal("Current multiplier: " + ExplosionConfig.getCurrentConfig())
                                             .formatted(Formatting.AQUA));
+                            for (Map.Entry<String, MultiplierPolicy> entry : ExplosionConfig.getSourcePolicies()
+                                    .entrySet()) {
+                                context.getSource().sendMessage(
+                                        Text.literal("  " + entry.getKey() + ": " + entry.getValue())
+                                                .formatted(Formatting.AQUA));
+                            }
+                            context.getSource().sendMessage(
+                                    Text.literal("Explosion engine: " + ExplosionConfig.getEngine())
+                                            .formatted(Formatting.AQUA));
                             return 1;
                         })));
     }
+
+    /**
+     * Applies a source's new policy ({@code null} to reset it) and returns the source's name for feedback.
+     */
+    private interface PolicySetter {
+        String apply(CommandContext<ServerCommandSource> context, MultiplierPolicy policy)
+                throws CommandSyntaxException;
+    }
+
+    private static <T extends ArgumentBuilder<ServerCommandSource, T>> T sourcePolicy(T source,
+            PolicySetter setter) {
+        return source
+                .then(literal("set")
+                        .then(argument("multiplier", FloatArgumentType.floatArg(0))
+                                .executes(context -> setSourcePolicy(context, setter, MultiplierPolicy.fixed(
+                                        FloatArgumentType.getFloat(context, "multiplier"))))))
+                .then(literal("range")
+                        .then(argument("min", IntegerArgumentType.integer(0))
+                                .then(argument("max", IntegerArgumentType.integer(0))
+                                        .executes(context -> setSourcePolicy(context, setter, MultiplierPolicy.range(
+                                                IntegerArgumentType.getInteger(context, "min"),
+                                                IntegerArgumentType.getInteger(context, "max")))))))
+                .then(literal("cap")
+                        .then(argument("multiplier", FloatArgumentType.floatArg(0))
+                                .executes(context -> setSourcePolicy(context, setter, MultiplierPolicy.cap(
+                                        FloatArgumentType.getFloat(context, "multiplier"))))))
+                .then(literal("weighted")
+                        .then(argument("table", StringArgumentType.greedyString())
+                                .executes(context -> setSourcePolicy(context, setter, weighted(context)))))
+                .then(literal("lognormal")
+                        .then(logNormalArguments(context -> setSourcePolicy(context, setter, logNormal(context)))))
+                .then(literal("reset")
+                        .executes(context -> setSourcePolicy(context, setter, null)));
+    }
+
+    private static ArgumentBuilder<ServerCommandSource, ?> logNormalArguments(
+            Command<ServerCommandSource> command) {
+        return argument("median", FloatArgumentType.floatArg(0.01f))
+                .then(argument("sigma", FloatArgumentType.floatArg(0))
+                        .then(argument("min", FloatArgumentType.floatArg(0))
+                                .then(argument("max", FloatArgumentType.floatArg(0))
+                                        .executes(command))));
+    }
+
+    private static MultiplierPolicy weighted(CommandContext<ServerCommandSource> context)
+            throws CommandSyntaxException {
+        try {
+            return MultiplierPolicy.parseWeighted(StringArgumentType.getString(context, "table"));
+        } catch (IllegalArgumentException e) {
+            throw INVALID_POLICY.create(e.getMessage());
+        }
+    }
+
+    private static MultiplierPolicy logNormal(CommandContext<ServerCommandSource> context)
+            throws CommandSyntaxException {
+        try {
+            return MultiplierPolicy.logNormal(FloatArgumentType.getFloat(context, "median"),
+                    FloatArgumentType.getFloat(context, "sigma"), FloatArgumentType.getFloat(context, "min"),
+                    FloatArgumentType.getFloat(context, "max"));
+        } catch (IllegalArgumentException e) {
+            throw INVALID_POLICY.create(e.getMessage());
+        }
+    }
+
+    private static int setDefaultPolicy(ServerCommandSource source, MultiplierPolicy policy) {
+        ExplosionConfig.setDefaultPolicy(policy);
+        source.sendMessage(Text.literal(String.format("Explosion multiplier set to %s (expected cost %.1fx)", policy,
+                ExplosionConfig.expectedCost(policy))).formatted(Formatting.GREEN));
+        return 1;
+    }
+
+    private static int setSourcePolicy(CommandContext<ServerCommandSource> context, PolicySetter setter,
+            MultiplierPolicy policy) throws CommandSyntaxException {
+        String name = setter.apply(context, policy);
+        String description = policy == null ? "default (" + ExplosionConfig.getCurrentConfig() + ")"
+                : policy.toString();
+        context.getSource().sendMessage(
+                Text.literal("Explosion multiplier for " + name + ": " + description).formatted(Formatting.GREEN));
+        return 1;
+    }
+
+    private static int setEngine(ServerCommandSource source, ExplosionConfig.Engine engine) {
+        ExplosionConfig.setEngine(engine);
+        source.sendMessage(Text.literal("Explosion engine set to " + engine).formatted(Formatting.GREEN));
+        if (engine == ExplosionConfig.Engine.SIMD && !VectorExplosion.isAvailable()) {
+            source.sendMessage(Text.literal("Vector API not enabled (--add-modules jdk.incubator.vector), "
+                    + "using the scalar ray march").formatted(Formatting.YELLOW));
+        }
+        return 1;
+    }
 }
\ No newline at end of file
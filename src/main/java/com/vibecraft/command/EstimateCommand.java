@@ -0,0 +1,91 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.vibecraft.config.ExplosionConfig;
+import com.vibecraft.config.MultiplierPolicy;
+import com.vibecraft.explosion.ExplosionBudget;
+import com.vibecraft.explosion.ExplosionEstimate;
+import com.vibecraft.explosion.ExplosionEstimator;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.Locale;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class EstimateCommand {
+
+    private static final float TNT_POWER = 4.0f;
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        LiteralArgumentBuilder<ServerCommandSource> budget = literal("budget")
+                .executes(context -> {
+                    context.getSource().sendMessage(Text.literal(String.format(
+                            "Explosion budget: %s, %.1f ms per tick",
+                            ExplosionBudget.getAction().name().toLowerCase(Locale.ROOT),
+                            ExplosionBudget.getBudgetMillis())).formatted(Formatting.AQUA));
+                    context.getSource().sendMessage(Text.literal(ExplosionBudget.getStats())
+                            .formatted(Formatting.GRAY));
+                    return 1;
+                });
+        for (ExplosionBudget.Action action : ExplosionBudget.Action.values()) {
+            budget.then(literal(action.name().toLowerCase(Locale.ROOT))
+                    .then(argument("millis", FloatArgumentType.floatArg(1.0f, 1000.0f))
+                            .executes(context -> setBudget(context.getSource(), action,
+                                    FloatArgumentType.getFloat(context, "millis"))))
+                    .executes(context -> setBudget(context.getSource(), action, ExplosionBudget.getBudgetMillis())));
+        }
+
+        dispatcher.register(literal("vibecraft")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("estimate")
+                        .then(argument("multiplier", FloatArgumentType.floatArg(0.1f, 50.0f))
+                                .executes(context -> estimate(context.getSource(),
+                                        FloatArgumentType.getFloat(context, "multiplier"))))
+                        .executes(context -> {
+                            MultiplierPolicy policy = ExplosionConfig.getDefaultPolicy();
+                            return estimate(context.getSource(), (float) policy.moment(1, policy));
+                        }))
+                .then(budget));
+    }
+
+    private static int estimate(ServerCommandSource source, float multiplier) {
+        Vec3d pos = source.getPosition();
+        ExplosionEstimate estimate = ExplosionEstimator.estimate(source.getWorld(), pos.x, pos.y, pos.z,
+                TNT_POWER * multiplier);
+        source.sendMessage(Text.literal(String.format(
+                "TNT at %.2fx here: ~%.0f blocks, %d entities, ~%.0f ray steps, ~%.1f ms (nothing exploded)",
+                multiplier, estimate.blocks(), estimate.entities(), estimate.steps(), estimate.millis()))
+                .formatted(Formatting.AQUA));
+        if (ExplosionBudget.getAction() != ExplosionBudget.Action.OFF
+                && estimate.millis() > ExplosionBudget.getBudgetMillis()) {
+            source.sendMessage(Text.literal(String.format("Over the %.1f ms budget, it would be %s",
+                    ExplosionBudget.getBudgetMillis(), describe(ExplosionBudget.getAction())))
+                    .formatted(Formatting.YELLOW));
+        }
+        return 1;
+    }
+
+    private static int setBudget(ServerCommandSource source, ExplosionBudget.Action action, float millis) {
+        ExplosionBudget.setAction(action);
+        ExplosionBudget.setBudgetMillis(millis);
+        source.sendMessage(Text.literal(action == ExplosionBudget.Action.OFF ? "Explosion budget off"
+                : String.format("Explosions over %.1f ms per tick are now %s", millis, describe(action)))
+                .formatted(Formatting.GREEN));
+        return 1;
+    }
+
+    private static String describe(ExplosionBudget.Action action) {
+        return switch (action) {
+            case OFF -> "run anyway";
+            case DEFER -> "deferred";
+            case SCALE -> "scaled down";
+            case REFUSE -> "refused";
+        };
+    }
+}
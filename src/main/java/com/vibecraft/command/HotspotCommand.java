@@ -0,0 +1,80 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.vibecraft.explosion.ExplosionHotspots;
+import com.vibecraft.sim.HotspotSketch;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.List;
+import java.util.Locale;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class HotspotCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        LiteralArgumentBuilder<ServerCommandSource> hotspots = literal("hotspots")
+                .then(literal("halflife")
+                        .then(argument("ticks", IntegerArgumentType.integer(20, 72000))
+                                .executes(context -> {
+                                    int ticks = IntegerArgumentType.getInteger(context, "ticks");
+                                    ExplosionHotspots.setHalfLifeTicks(ticks);
+                                    context.getSource().sendMessage(Text.literal(String.format(
+                                            "Hotspot heat now halves every %d ticks (tracked heat reset)", ticks))
+                                            .formatted(Formatting.GREEN));
+                                    return 1;
+                                })))
+                .executes(context -> list(context.getSource()));
+        for (ExplosionHotspots.Action action : ExplosionHotspots.Action.values()) {
+            hotspots.then(literal(action.name().toLowerCase(Locale.ROOT))
+                    .then(argument("threshold", FloatArgumentType.floatArg(1.0f, 10000.0f))
+                            .executes(context -> setAction(context.getSource(), action,
+                                    FloatArgumentType.getFloat(context, "threshold"))))
+                    .executes(context -> setAction(context.getSource(), action, ExplosionHotspots.getThreshold())));
+        }
+
+        dispatcher.register(literal("vibecraft")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(hotspots));
+    }
+
+    private static int list(ServerCommandSource source) {
+        List<HotspotSketch.Entry> top = ExplosionHotspots.top(source.getWorld());
+        source.sendMessage(Text.literal(String.format(
+                "Explosion hotspots: %s over %.1f heat, halving every %d ticks",
+                ExplosionHotspots.getAction().name().toLowerCase(Locale.ROOT), ExplosionHotspots.getThreshold(),
+                ExplosionHotspots.getHalfLifeTicks())).formatted(Formatting.AQUA));
+        source.sendMessage(Text.literal(ExplosionHotspots.getStats()).formatted(Formatting.GRAY));
+        int rank = 0;
+        for (HotspotSketch.Entry entry : top) {
+            ChunkPos chunk = new ChunkPos(entry.key());
+            boolean hot = entry.weight() > ExplosionHotspots.getThreshold();
+            source.sendMessage(Text.literal(String.format("  %d. chunk %d, %d (blocks %d %d): %.1f heat", ++rank,
+                    chunk.x, chunk.z, chunk.getCenterX(), chunk.getCenterZ(), entry.weight()))
+                    .formatted(hot ? Formatting.RED : Formatting.GRAY));
+        }
+        if (top.isEmpty()) {
+            source.sendMessage(Text.literal("  No Vibecraft explosions in this dimension yet")
+                    .formatted(Formatting.GRAY));
+        }
+        return top.size();
+    }
+
+    private static int setAction(ServerCommandSource source, ExplosionHotspots.Action action, float threshold) {
+        ExplosionHotspots.setAction(action);
+        ExplosionHotspots.setThreshold(threshold);
+        source.sendMessage(Text.literal(switch (action) {
+            case OFF -> "Hotspots are tracked only";
+            case SCALE -> String.format("Explosions in chunks over %.1f heat are now scaled down", threshold);
+            case SLOW -> String.format("Explosions in chunks over %.1f heat are now held back", threshold);
+        }).formatted(Formatting.GREEN));
+        return 1;
+    }
+}
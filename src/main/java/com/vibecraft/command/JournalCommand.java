@@ -0,0 +1,132 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.vibecraft.Vibecraft;
+import com.vibecraft.journal.CraterRegenerator;
+import com.vibecraft.journal.ExplosionJournal;
+import com.vibecraft.journal.JournalRecord;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.io.IOException;
+import java.util.List;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class JournalCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("vibecraft")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("journal")
+                        .then(literal("list")
+                                .executes(context -> {
+                                    List<ExplosionJournal.Entry> entries = ExplosionJournal.recent(10);
+                                    if (entries.isEmpty()) {
+                                        context.getSource().sendMessage(
+                                                Text.literal("No journaled explosions").formatted(Formatting.YELLOW));
+                                        return 0;
+                                    }
+                                    for (ExplosionJournal.Entry entry : entries) {
+                                        context.getSource().sendMessage(Text.literal(String.format(
+                                                "#%d %s at %d %d %d - %d blocks", entry.id(),
+                                                entry.dimension().getValue(), entry.center().getX(),
+                                                entry.center().getY(), entry.center().getZ(), entry.blockCount()))
+                                                .formatted(Formatting.AQUA));
+                                    }
+                                    return entries.size();
+                                }))
+                        .then(literal("rollback")
+                                .then(argument("id", LongArgumentType.longArg(1))
+                                        .executes(context -> {
+                                            long id = LongArgumentType.getLong(context, "id");
+                                            return rollback(context.getSource(), id);
+                                        })))
+                        .then(literal("enabled")
+                                .then(argument("enabled", BoolArgumentType.bool())
+                                        .executes(context -> {
+                                            boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                            ExplosionJournal.setEnabled(enabled);
+                                            context.getSource().sendMessage(Text.literal("Explosion journal "
+                                                    + (enabled ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                            return 1;
+                                        })))
+                        .then(literal("limit")
+                                .then(argument("megabytes", IntegerArgumentType.integer(1))
+                                        .executes(context -> {
+                                            int megabytes = IntegerArgumentType.getInteger(context, "megabytes");
+                                            ExplosionJournal.setMaxBytes((long) megabytes << 20);
+                                            context.getSource().sendMessage(Text.literal(String.format(
+                                                    "Explosion journal capped at %d MB (%d KB used), oldest region "
+                                                            + "files are pruned first", megabytes,
+                                                    ExplosionJournal.getBytes() >> 10))
+                                                    .formatted(Formatting.GREEN));
+                                            return 1;
+                                        })))
+                        .then(literal("regen")
+                                .then(literal("radius")
+                                        .then(argument("blocks", IntegerArgumentType.integer(0))
+                                                .executes(context -> {
+                                                    int radius = IntegerArgumentType.getInteger(context, "blocks");
+                                                    CraterRegenerator.setSpawnRadius(radius);
+                                                    context.getSource().sendMessage(Text.literal(radius == 0
+                                                            ? "Automatic crater regeneration disabled"
+                                                            : "Craters within " + radius
+                                                                    + " blocks of spawn will regenerate")
+                                                            .formatted(Formatting.GREEN));
+                                                    return 1;
+                                                })))
+                                .then(literal("budget")
+                                        .then(argument("blocks", IntegerArgumentType.integer(1))
+                                                .executes(context -> {
+                                                    int budget = IntegerArgumentType.getInteger(context, "blocks");
+                                                    CraterRegenerator.setBlocksPerTick(budget);
+                                                    context.getSource().sendMessage(Text.literal(
+                                                            "Crater regeneration budget set to " + budget
+                                                                    + " blocks per tick")
+                                                            .formatted(Formatting.GREEN));
+                                                    return 1;
+                                                })))
+                                .executes(context -> {
+                                    context.getSource().sendMessage(Text.literal(String.format(
+                                            "Regeneration radius: %d, budget: %d blocks/tick, pending: %d blocks",
+                                            CraterRegenerator.getSpawnRadius(), CraterRegenerator.getBlocksPerTick(),
+                                            CraterRegenerator.pendingBlocks()))
+                                            .formatted(Formatting.AQUA));
+                                    return 1;
+                                }))));
+    }
+
+    private static int rollback(ServerCommandSource source, long id) {
+        ExplosionJournal.Entry entry = ExplosionJournal.find(id);
+        if (entry == null) {
+            source.sendError(Text.literal("No journaled explosion with ID " + id));
+            return 0;
+        }
+        ServerWorld world = source.getServer().getWorld(entry.dimension());
+        if (world == null) {
+            source.sendError(Text.literal("Dimension " + entry.dimension().getValue() + " is not loaded"));
+            return 0;
+        }
+
+        try {
+            JournalRecord record = ExplosionJournal.read(entry);
+            CraterRegenerator.rollback(world, record);
+        } catch (IOException e) {
+            Vibecraft.LOGGER.error("Failed to read journaled explosion {}", id, e);
+            source.sendError(Text.literal("Failed to read explosion " + id + ": " + e.getMessage()));
+            return 0;
+        }
+
+        source.sendFeedback(() -> Text.literal("Rolling back explosion #" + id + " (" + entry.blockCount()
+                + " blocks)").formatted(Formatting.GOLD), true);
+        return 1;
+    }
+}
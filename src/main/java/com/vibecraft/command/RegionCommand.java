@@ -0,0 +1,94 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.vibecraft.region.ProtectedRegion;
+import com.vibecraft.region.ProtectedRegions;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.List;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class RegionCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("vibecraft")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("region")
+                        .then(literal("add")
+                                .then(argument("name", StringArgumentType.word())
+                                        .then(argument("from", BlockPosArgumentType.blockPos())
+                                                .then(argument("to", BlockPosArgumentType.blockPos())
+                                                        .executes(context -> {
+                                                            String name = StringArgumentType.getString(context, "name");
+                                                            BlockPos from = BlockPosArgumentType.getBlockPos(context,
+                                                                    "from");
+                                                            BlockPos to = BlockPosArgumentType.getBlockPos(context,
+                                                                    "to");
+                                                            return add(context.getSource(), name, from, to);
+                                                        })))))
+                        .then(literal("remove")
+                                .then(argument("name", StringArgumentType.word())
+                                        .suggests((context, builder) -> CommandSource.suggestMatching(
+                                                ProtectedRegions.get(context.getSource().getWorld()).getRegions()
+                                                        .stream().map(ProtectedRegion::name), builder))
+                                        .executes(context -> {
+                                            String name = StringArgumentType.getString(context, "name");
+                                            if (!ProtectedRegions.get(context.getSource().getWorld()).remove(name)) {
+                                                context.getSource().sendError(
+                                                        Text.literal("No protected region named " + name));
+                                                return 0;
+                                            }
+                                            context.getSource().sendFeedback(() -> Text.literal(
+                                                    "Removed protected region " + name).formatted(Formatting.YELLOW),
+                                                    true);
+                                            return 1;
+                                        })))
+                        .then(literal("check")
+                                .executes(context -> {
+                                    BlockPos pos = BlockPos.ofFloored(context.getSource().getPosition());
+                                    boolean inside = ProtectedRegions.get(context.getSource().getWorld())
+                                            .isProtected(pos);
+                                    context.getSource().sendMessage(Text.literal(pos.toShortString()
+                                            + (inside ? " is protected" : " is not protected"))
+                                            .formatted(inside ? Formatting.GREEN : Formatting.GRAY));
+                                    return inside ? 1 : 0;
+                                }))
+                        .executes(context -> {
+                            List<ProtectedRegion> regions = ProtectedRegions.get(context.getSource().getWorld())
+                                    .getRegions();
+                            context.getSource().sendMessage(Text.literal(String.format(
+                                    "%d protected regions in this dimension, %d blocks spared so far", regions.size(),
+                                    ProtectedRegions.getSpared())).formatted(Formatting.AQUA));
+                            for (ProtectedRegion region : regions) {
+                                BlockBox box = region.box();
+                                context.getSource().sendMessage(Text.literal(String.format(
+                                        "  %s: %d %d %d to %d %d %d (%d blocks)", region.name(), box.getMinX(),
+                                        box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ(),
+                                        region.volume())).formatted(Formatting.GRAY));
+                            }
+                            return regions.size();
+                        })));
+    }
+
+    private static int add(ServerCommandSource source, String name, BlockPos from, BlockPos to) {
+        ProtectedRegion region = new ProtectedRegion(name, BlockBox.create(from, to));
+        try {
+            ProtectedRegions.get(source.getWorld()).add(region);
+        } catch (IllegalArgumentException e) {
+            source.sendError(Text.literal(e.getMessage()));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal(String.format("🛡 Protected region %s: %d blocks", name,
+                region.volume())).formatted(Formatting.GREEN), true);
+        return 1;
+    }
+}
@@ -0,0 +1,137 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.vibecraft.Vibecraft;
+import com.vibecraft.replay.ExplosionRecorder;
+import com.vibecraft.replay.ExplosionReplay;
+import com.vibecraft.replay.Recording;
+import net.minecraft.command.CommandSource;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class ReplayCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("vibecraft")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("record")
+                        .then(literal("start")
+                                .then(argument("name", StringArgumentType.word())
+                                        .executes(context -> startRecording(context.getSource(),
+                                                StringArgumentType.getString(context, "name")))))
+                        .then(literal("stop")
+                                .executes(context -> {
+                                    String summary = ExplosionRecorder.stop();
+                                    if (summary == null) {
+                                        context.getSource().sendError(Text.literal("Not recording"));
+                                        return 0;
+                                    }
+                                    context.getSource().sendFeedback(() -> Text.literal("⏹ Recorded " + summary)
+                                            .formatted(Formatting.GREEN), true);
+                                    return 1;
+                                }))
+                        .then(literal("list")
+                                .executes(context -> {
+                                    List<String> names;
+                                    try (Stream<String> stream = ExplosionRecorder.list(
+                                            context.getSource().getServer())) {
+                                        names = stream.toList();
+                                    } catch (IOException e) {
+                                        context.getSource().sendError(Text.literal(
+                                                "Failed to list recordings: " + e.getMessage()));
+                                        return 0;
+                                    }
+                                    context.getSource().sendMessage(Text.literal(names.isEmpty()
+                                            ? "No recordings"
+                                            : "Recordings: " + String.join(", ", names))
+                                            .formatted(Formatting.AQUA));
+                                    return names.size();
+                                }))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal(ExplosionRecorder.isRecording()
+                                    ? "Recording explosions and launches"
+                                    : "Not recording").formatted(Formatting.AQUA));
+                            return 1;
+                        }))
+                .then(literal("replay")
+                        .then(literal("cancel")
+                                .executes(context -> {
+                                    ExplosionReplay.cancel();
+                                    context.getSource().sendMessage(
+                                            Text.literal("Replay cancelled").formatted(Formatting.YELLOW));
+                                    return 1;
+                                }))
+                        .then(argument("name", StringArgumentType.word())
+                                .suggests((context, builder) -> {
+                                    try (Stream<String> names = ExplosionRecorder.list(
+                                            context.getSource().getServer())) {
+                                        return CommandSource.suggestMatching(names, builder);
+                                    } catch (IOException e) {
+                                        return builder.buildFuture();
+                                    }
+                                })
+                                .then(literal("burst")
+                                        .executes(context -> replay(context.getSource(),
+                                                StringArgumentType.getString(context, "name"), true)))
+                                .executes(context -> replay(context.getSource(),
+                                        StringArgumentType.getString(context, "name"), false)))));
+    }
+
+    private static int startRecording(ServerCommandSource source, String name) {
+        if (!ExplosionRecorder.isValidName(name)) {
+            source.sendError(Text.literal("Recording names may only use a-z, 0-9, '_', '.' and '-'"));
+            return 0;
+        }
+        try {
+            ExplosionRecorder.start(source.getServer(), name);
+        } catch (IOException e) {
+            Vibecraft.LOGGER.error("Failed to start recording {}", name, e);
+            source.sendError(Text.literal("Failed to start recording: " + e.getMessage()));
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("⏺ Recording explosions and launches to " + name)
+                .formatted(Formatting.GREEN), true);
+        return 1;
+    }
+
+    private static int replay(ServerCommandSource source, String name, boolean burst) {
+        if (!ExplosionRecorder.isValidName(name)) {
+            source.sendError(Text.literal("Unknown recording " + name));
+            return 0;
+        }
+        Path file = ExplosionRecorder.file(source.getServer(), name);
+        if (!Files.isRegularFile(file)) {
+            source.sendError(Text.literal("Unknown recording " + name));
+            return 0;
+        }
+
+        Recording recording;
+        try {
+            ExplosionRecorder.awaitWrites();
+            recording = Recording.read(file);
+        } catch (IOException e) {
+            Vibecraft.LOGGER.error("Failed to read recording {}", file, e);
+            source.sendError(Text.literal("Failed to read recording: " + e.getMessage()));
+            return 0;
+        }
+
+        boolean restored = ExplosionReplay.start(source, recording, burst);
+        source.sendFeedback(() -> Text.literal(String.format(
+                "▶ Replaying %d explosions over %d ticks%s (%d launches in the recording)%s",
+                recording.explosions().size(), burst ? 0 : recording.lengthTicks(), burst ? " in one burst" : "",
+                recording.launches().size(), restored ? ", arena restored" : ", no arena snapshot to restore"))
+                .formatted(Formatting.GREEN), true);
+        return recording.explosions().size();
+    }
+}
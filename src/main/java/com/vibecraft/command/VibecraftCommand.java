@@ -0,0 +1,191 @@
+package com.vibecraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.vibecraft.chunk.ChunkSaveThrottle;
+import com.vibecraft.chunk.TrajectoryPreloader;
+import com.vibecraft.explosion.ExplosionEffectBatcher;
+import com.vibecraft.explosion.ExplosionRayMarch;
+import com.vibecraft.explosion.ExposureCache;
+import com.vibecraft.tnt.LaunchedTntBatch;
+import com.vibecraft.tnt.TntClusterMerger;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+public class VibecraftCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("vibecraft")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("tntmerge")
+                        .then(argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    TntClusterMerger.setEnabled(enabled);
+                                    context.getSource().sendMessage(
+                                            Text.literal("TNT cluster merging " + (enabled ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                    return 1;
+                                }))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal("TNT cluster merging: "
+                                    + (TntClusterMerger.isEnabled() ? "enabled" : "disabled"))
+                                    .formatted(Formatting.AQUA));
+                            return 1;
+                        }))
+                .then(literal("tntbatch")
+                        .then(argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    LaunchedTntBatch.setEnabled(enabled);
+                                    context.getSource().sendMessage(
+                                            Text.literal("Launched TNT batch simulation "
+                                                    + (enabled ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                    return 1;
+                                }))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal("Launched TNT batch simulation: "
+                                    + (LaunchedTntBatch.isEnabled() ? "enabled" : "disabled"))
+                                    .formatted(Formatting.AQUA));
+                            return 1;
+                        }))
+                .then(literal("tnttracking")
+                        .then(argument("reduced", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean reduced = BoolArgumentType.getBool(context, "reduced");
+                                    LaunchedTntBatch.setReducedTracking(reduced);
+                                    context.getSource().sendMessage(
+                                            Text.literal("Reduced launched TNT tracking "
+                                                    + (reduced ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                    return 1;
+                                }))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal(String.format(
+                                    "Reduced launched TNT tracking: %s, %d corrections sent",
+                                    LaunchedTntBatch.isReducedTracking() ? "enabled" : "disabled",
+                                    LaunchedTntBatch.getCorrections())).formatted(Formatting.AQUA));
+                            return 1;
+                        }))
+                .then(literal("raymarch")
+                        .then(argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    ExplosionRayMarch.setEnabled(enabled);
+                                    context.getSource().sendMessage(
+                                            Text.literal("Air-skipping ray march " + (enabled ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                    return 1;
+                                }))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal("Air-skipping ray march: "
+                                    + (ExplosionRayMarch.isEnabled() ? "enabled" : "disabled"))
+                                    .formatted(Formatting.AQUA));
+                            context.getSource().sendMessage(Text.literal(ExplosionRayMarch.getStats())
+                                    .formatted(Formatting.GRAY));
+                            return 1;
+                        }))
+                .then(literal("exposure")
+                        .then(literal("cache")
+                                .then(argument("enabled", BoolArgumentType.bool())
+                                        .executes(context -> {
+                                            boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                            ExposureCache.setCacheEnabled(enabled);
+                                            context.getSource().sendMessage(
+                                                    Text.literal("Exposure cache " + (enabled ? "enabled" : "disabled"))
+                                                            .formatted(Formatting.GREEN));
+                                            return 1;
+                                        })))
+                        .then(literal("error")
+                                .then(argument("max", FloatArgumentType.floatArg(0.0f, 1.0f))
+                                        .executes(context -> {
+                                            float max = FloatArgumentType.getFloat(context, "max");
+                                            ExposureCache.setMaxImpactError(max);
+                                            context.getSource().sendMessage(
+                                                    Text.literal(String.format("Max exposure impact error set to %.3f", max))
+                                                            .formatted(Formatting.GREEN));
+                                            return 1;
+                                        })))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal(String.format(
+                                    "Exposure cache: %s, max impact error: %.3f",
+                                    ExposureCache.isCacheEnabled() ? "enabled" : "disabled",
+                                    ExposureCache.getMaxImpactError())).formatted(Formatting.AQUA));
+                            context.getSource().sendMessage(Text.literal(ExposureCache.getStats())
+                                    .formatted(Formatting.GRAY));
+                            return 1;
+                        }))
+                .then(literal("effects")
+                        .then(argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    ExplosionEffectBatcher.setEnabled(enabled);
+                                    context.getSource().sendMessage(
+                                            Text.literal("Explosion effect batching "
+                                                    + (enabled ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                    return 1;
+                                }))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal("Explosion effect batching: "
+                                    + (ExplosionEffectBatcher.isEnabled() ? "enabled" : "disabled"))
+                                    .formatted(Formatting.AQUA));
+                            context.getSource().sendMessage(Text.literal(ExplosionEffectBatcher.getStats())
+                                    .formatted(Formatting.GRAY));
+                            return 1;
+                        }))
+                .then(literal("chunksave")
+                        .then(argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    ChunkSaveThrottle.setEnabled(enabled);
+                                    context.getSource().sendMessage(
+                                            Text.literal("Throttled chunk saving " + (enabled ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                    return 1;
+                                }))
+                        .then(literal("budget")
+                                .then(argument("chunks", IntegerArgumentType.integer(1, 256))
+                                        .executes(context -> {
+                                            int chunks = IntegerArgumentType.getInteger(context, "chunks");
+                                            ChunkSaveThrottle.setChunksPerTick(chunks);
+                                            context.getSource().sendMessage(
+                                                    Text.literal("Saving up to " + chunks + " damaged chunks per tick")
+                                                            .formatted(Formatting.GREEN));
+                                            return 1;
+                                        })))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal(String.format(
+                                    "Throttled chunk saving: %s, %d chunks/tick, %d pending, %d saved",
+                                    ChunkSaveThrottle.isEnabled() ? "enabled" : "disabled",
+                                    ChunkSaveThrottle.getChunksPerTick(), ChunkSaveThrottle.getPending(),
+                                    ChunkSaveThrottle.getSaved())).formatted(Formatting.AQUA));
+                            return 1;
+                        }))
+                .then(literal("preload")
+                        .then(argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    TrajectoryPreloader.setEnabled(enabled);
+                                    context.getSource().sendMessage(
+                                            Text.literal("Launch path preloading " + (enabled ? "enabled" : "disabled"))
+                                                    .formatted(Formatting.GREEN));
+                                    return 1;
+                                }))
+                        .executes(context -> {
+                            context.getSource().sendMessage(Text.literal(String.format(
+                                    "Launch path preloading: %s, %d launches, %d tickets added, %d chunks held",
+                                    TrajectoryPreloader.isEnabled() ? "enabled" : "disabled",
+                                    TrajectoryPreloader.getLaunches(), TrajectoryPreloader.getTickets(),
+                                    TrajectoryPreloader.getActiveTickets())).formatted(Formatting.AQUA));
+                            return 1;
+                        })));
+    }
+}
@@ -0,0 +1,93 @@
+package com.vibecraft.config;
+
+import java.util.Random;
+
+/**
+ * Walker/Vose alias table over a finite set of values: one {@code nextInt} and one {@code nextFloat} per sample,
+ * whatever the number of values or how skewed their weights are.
+ */
+final class AliasTable {
+
+    private final float[] values;
+    private final float[] probability;
+    private final int[] alias;
+
+    AliasTable(float[] values, double[] weights) {
+        int n = values.length;
+        if (n == 0 || weights.length != n) {
+            throw new IllegalArgumentException("Need one weight per value");
+        }
+        double total = 0.0;
+        for (double weight : weights) {
+            if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative");
+            }
+            total += weight;
+        }
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+
+        this.values = values.clone();
+        this.probability = new float[n];
+        this.alias = new int[n];
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = (float) scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is 1 up to rounding error
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1.0f;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1.0f;
+            alias[i] = i;
+        }
+    }
+
+    float sample(Random random) {
+        int i = random.nextInt(values.length);
+        return values[random.nextFloat() < probability[i] ? i : alias[i]];
+    }
+
+    /**
+     * Exact {@code E[min(X, cap)^k]} of the sampled distribution.
+     */
+    double moment(int k, float cap) {
+        double sum = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            double p = probability[i];
+            sum += p * Math.pow(Math.min(values[i], cap), k) + (1.0 - p) * Math.pow(Math.min(values[alias[i]], cap), k);
+        }
+        return sum / values.length;
+    }
+
+    int size() {
+        return values.length;
+    }
+}
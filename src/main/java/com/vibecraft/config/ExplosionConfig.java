@@ -1,49 +1,153 @@
 package com.vibecraft.config;
 
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
 
 public class ExplosionConfig {
 
-    private static float fixedMultiplier = -1;
-    private static int minMultiplier = 2;
-    private static int maxMultiplier = 20;
-    private static boolean useRandom = true;
+    /**
+     * How Vibecraft explosions work out which blocks they destroy.
+     */
+    public enum Engine {
+        /** Vanilla's ray march, skipping lookups through air */
+        RAY,
+        /** Voxel sphere with resistance attenuation, for very large explosions */
+        VOXEL,
+        /** Vanilla's rays marched in SIMD lanes; needs the Vector API module, otherwise behaves like RAY */
+        SIMD
+    }
+
+    private static MultiplierPolicy defaultPolicy = MultiplierPolicy.range(2, 20);
+    private static Engine engine = Engine.RAY;
+
+    // Per-source overrides, indexed by EntityType raw id; null falls back to the default policy
+    private static MultiplierPolicy[] entityPolicies = new MultiplierPolicy[0];
+    // Explosions without a source entity: beds, respawn anchors and other block-triggered blasts. One policy for all of
+    // them, as vanilla removes the block before it explodes and gives beds and anchors the same damage source
+    @Nullable
+    private static MultiplierPolicy blockPolicy;
 
     private static final Random random = new Random();
 
     public static void setMultiplier(float multiplier) {
-        fixedMultiplier = multiplier;
-        useRandom = false;
+        defaultPolicy = MultiplierPolicy.fixed(multiplier);
     }
 
     public static void setRandomMultiplier(int min, int max) {
-        minMultiplier = min;
-        maxMultiplier = max;
-        useRandom = true;
+        defaultPolicy = MultiplierPolicy.range(min, max);
     }
 
     public static void resetMultiplier() {
-        useRandom = true;
-        minMultiplier = 2;
-        maxMultiplier = 20;
+        defaultPolicy = MultiplierPolicy.range(2, 20);
     }
 
-    public static float computeMultiplier() {
-        if (useRandom) {
-            if (minMultiplier >= maxMultiplier) {
-                return minMultiplier;
+    /**
+     * Replaces the default policy, e.g. with a weighted or log-normal distribution.
+     */
+    public static void setDefaultPolicy(MultiplierPolicy policy) {
+        defaultPolicy = policy;
+    }
+
+    public static MultiplierPolicy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+
+    /**
+     * Expected {@code multiplier³} under {@code policy}: how much work an explosion costs on average compared to an
+     * unmultiplied one.
+     */
+    public static double expectedCost(MultiplierPolicy policy) {
+        return policy.moment(3, defaultPolicy);
+    }
+
+    /**
+     * Sets the policy for explosions caused by entities of {@code type}, or clears it with {@code null}.
+     */
+    public static void setPolicy(EntityType<?> type, @Nullable MultiplierPolicy policy) {
+        int rawId = Registries.ENTITY_TYPE.getRawId(type);
+        MultiplierPolicy[] table = entityPolicies;
+        if (rawId >= table.length) {
+            if (policy == null) {
+                return;
             }
-            return minMultiplier + random.nextInt(maxMultiplier - minMultiplier + 1);
+            table = Arrays.copyOf(table, Registries.ENTITY_TYPE.size());
         } else {
-            return fixedMultiplier;
+            table = table.clone();
         }
+        table[rawId] = policy;
+        entityPolicies = table;
     }
 
-    public static String getCurrentConfig() {
-        if (useRandom) {
-            return "Random(" + minMultiplier + "x - " + maxMultiplier + "x)";
+    /**
+     * Sets the policy for explosions without a source entity, or clears it with {@code null}. It is shared by every
+     * block that explodes; beds and respawn anchors cannot be told apart once their explosion is created.
+     */
+    public static void setBlockPolicy(@Nullable MultiplierPolicy policy) {
+        blockPolicy = policy;
+    }
+
+    public static void clearSourcePolicies() {
+        entityPolicies = new MultiplierPolicy[0];
+        blockPolicy = null;
+    }
+
+    /**
+     * The policy that applies to an explosion caused by {@code source}, {@code null} meaning a block or no source.
+     */
+    public static MultiplierPolicy policyFor(@Nullable Entity source) {
+        MultiplierPolicy policy;
+        if (source == null) {
+            policy = blockPolicy;
         } else {
-            return String.format("Fixed(%.2fx)", fixedMultiplier);
+            int rawId = Registries.ENTITY_TYPE.getRawId(source.getType());
+            MultiplierPolicy[] table = entityPolicies;
+            policy = rawId < table.length ? table[rawId] : null;
         }
+        return policy != null ? policy : defaultPolicy;
+    }
+
+    /**
+     * Source overrides by name ("block" for explosions without an entity), for display.
+     */
+    public static Map<String, MultiplierPolicy> getSourcePolicies() {
+        Map<String, MultiplierPolicy> policies = new LinkedHashMap<>();
+        if (blockPolicy != null) {
+            policies.put("block", blockPolicy);
+        }
+        MultiplierPolicy[] table = entityPolicies;
+        for (int rawId = 0; rawId < table.length; rawId++) {
+            if (table[rawId] != null) {
+                policies.put(Registries.ENTITY_TYPE.getId(Registries.ENTITY_TYPE.get(rawId)).toString(),
+                        table[rawId]);
+            }
+        }
+        return policies;
+    }
+
+    public static Engine getEngine() {
+        return engine;
+    }
+
+    public static void setEngine(Engine newEngine) {
+        engine = newEngine;
+    }
+
+    public static float computeMultiplier() {
+        return defaultPolicy.roll(random, defaultPolicy);
+    }
+
+    public static float computeMultiplier(@Nullable Entity source) {
+        return policyFor(source).roll(random, defaultPolicy);
+    }
+
+    public static String getCurrentConfig() {
+        return defaultPolicy.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package com.vibecraft.config;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * How the multiplier for one explosion source is chosen: a fixed value, a random whole-number range, a weighted
+ * table, a clamped log-normal, or whatever the default policy rolls, capped. Weighted and log-normal policies are
+ * compiled into an {@link AliasTable} up front. Policies are immutable, so rolling one never allocates and takes
+ * constant time.
+ */
+public final class MultiplierPolicy {
+
+    public enum Mode {
+        FIXED,
+        RANGE,
+        WEIGHTED,
+        LOG_NORMAL,
+        CAP
+    }
+
+    // Log-normal policies are sampled at this many equally likely quantiles
+    private static final int LOG_NORMAL_BUCKETS = 256;
+
+    private final Mode mode;
+    private final float value;
+    private final int min;
+    private final int max;
+    private final AliasTable table;
+    private final String description;
+
+    private MultiplierPolicy(Mode mode, float value, int min, int max, AliasTable table, String description) {
+        this.mode = mode;
+        this.value = value;
+        this.min = min;
+        this.max = max;
+        this.table = table;
+        this.description = description;
+    }
+
+    public static MultiplierPolicy fixed(float multiplier) {
+        return new MultiplierPolicy(Mode.FIXED, multiplier, 0, 0, null, String.format("Fixed(%.2fx)", multiplier));
+    }
+
+    public static MultiplierPolicy range(int min, int max) {
+        return new MultiplierPolicy(Mode.RANGE, 0.0f, min, max, null, "Random(" + min + "x - " + max + "x)");
+    }
+
+    /**
+     * Rolls the default policy but never goes above {@code cap}.
+     */
+    public static MultiplierPolicy cap(float cap) {
+        return new MultiplierPolicy(Mode.CAP, cap, 0, 0, null, String.format("Default capped at %.2fx", cap));
+    }
+
+    public static MultiplierPolicy weighted(float[] multipliers, double[] weights) {
+        AliasTable table = new AliasTable(multipliers, weights);
+        StringBuilder description = new StringBuilder("Weighted(");
+        double total = 0.0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        for (int i = 0; i < multipliers.length; i++) {
+            if (!(multipliers[i] >= 0.0f) || Float.isInfinite(multipliers[i])) {
+                throw new IllegalArgumentException("Multipliers must be finite and non-negative");
+            }
+            description.append(i == 0 ? "" : ", ")
+                    .append(String.format("%.2fx %.1f%%", multipliers[i], 100.0 * weights[i] / total));
+        }
+        return new MultiplierPolicy(Mode.WEIGHTED, 0.0f, 0, 0, table, description.append(')').toString());
+    }
+
+    /**
+     * Parses a weighted table written as {@code multiplier:weight} pairs, e.g. {@code "2:90, 5:9, 50:1"}.
+     */
+    public static MultiplierPolicy parseWeighted(String spec) {
+        String[] entries = spec.split("[,\\s]+");
+        int count = 0;
+        float[] multipliers = new float[entries.length];
+        double[] weights = new double[entries.length];
+        for (String entry : entries) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Expected multiplier:weight, got '" + entry + "'");
+            }
+            try {
+                multipliers[count] = Float.parseFloat(entry.substring(0, colon));
+                weights[count] = Double.parseDouble(entry.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a number in '" + entry + "'");
+            }
+            count++;
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Empty table");
+        }
+        return weighted(Arrays.copyOf(multipliers, count), Arrays.copyOf(weights, count));
+    }
+
+    /**
+     * Log-normal multiplier with the given median and shape, clamped to {@code [min, max]}. The clamped tails keep
+     * their probability mass at the bounds.
+     */
+    public static MultiplierPolicy logNormal(float median, float sigma, float min, float max) {
+        if (!(median > 0.0f) || !(sigma >= 0.0f) || !(min <= max)) {
+            throw new IllegalArgumentException("Need median > 0, sigma >= 0 and min <= max");
+        }
+        float[] quantiles = new float[LOG_NORMAL_BUCKETS];
+        double[] weights = new double[LOG_NORMAL_BUCKETS];
+        double mu = Math.log(median);
+        for (int i = 0; i < LOG_NORMAL_BUCKETS; i++) {
+            double z = inverseNormal((i + 0.5) / LOG_NORMAL_BUCKETS);
+            quantiles[i] = (float) Math.max(min, Math.min(max, Math.exp(mu + sigma * z)));
+            weights[i] = 1.0;
+        }
+        String description = String.format("LogNormal(median %.2fx, sigma %.2f, %.2fx - %.2fx)", median, sigma, min,
+                max);
+        return new MultiplierPolicy(Mode.LOG_NORMAL, 0.0f, 0, 0, new AliasTable(quantiles, weights), description);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public float roll(Random random, MultiplierPolicy fallback) {
+        return switch (mode) {
+            case FIXED -> value;
+            case RANGE -> min >= max ? min : min + random.nextInt(max - min + 1);
+            case WEIGHTED, LOG_NORMAL -> table.sample(random);
+            case CAP -> Math.min(fallback == this ? value : fallback.roll(random, fallback), value);
+        };
+    }
+
+    /**
+     * Expected value of {@code multiplier^k}. With {@code k = 3} this is the expected cost of an explosion relative
+     * to an unmultiplied one, since the work grows with the cube of the power.
+     */
+    public double moment(int k, MultiplierPolicy fallback) {
+        return mode == Mode.CAP && fallback != this ? fallback.moment(k, value) : moment(k, Float.POSITIVE_INFINITY);
+    }
+
+    private double moment(int k, float cap) {
+        return switch (mode) {
+            case FIXED, CAP -> Math.pow(Math.min(value, cap), k);
+            case RANGE -> {
+                if (min >= max) {
+                    yield Math.pow(Math.min(min, cap), k);
+                }
+                double sum = 0.0;
+                for (int m = min; m <= max; m++) {
+                    sum += Math.pow(Math.min(m, cap), k);
+                }
+                yield sum / (max - min + 1);
+            }
+            case WEIGHTED, LOG_NORMAL -> table.moment(k, cap);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    /**
+     * Acklam's rational approximation of the standard normal quantile function, accurate to about 1e-9.
+     */
+    private static double inverseNormal(double p) {
+        final double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+        final double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01 };
+        final double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+        final double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00 };
+        final double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2.0 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1.0);
+        }
+        if (p > 1.0 - low) {
+            double q = Math.sqrt(-2.0 * Math.log(1.0 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1.0);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1.0);
+    }
+}
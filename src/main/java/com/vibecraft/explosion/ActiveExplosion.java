@@ -0,0 +1,80 @@
+package com.vibecraft.explosion;
+
+import net.minecraft.server.world.ServerWorld;
+
+/**
+ * The Vibecraft explosion currently being carried out on the server thread, visible to the explosion mixins while
+ * {@link net.minecraft.server.world.ServerWorld#createExplosion} runs. The mixins report what the explosion touched
+ * back into it.
+ */
+public final class ActiveExplosion {
+
+    private final ServerWorld world;
+    private final String kind;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float basePower;
+    private final float multiplier;
+    private int blocksAffected;
+    private int entitiesHit;
+
+    public ActiveExplosion(ServerWorld world, String kind, double x, double y, double z, float basePower,
+            float multiplier) {
+        this.world = world;
+        this.kind = kind;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.basePower = basePower;
+        this.multiplier = multiplier;
+    }
+
+    public ServerWorld world() {
+        return world;
+    }
+
+    public String kind() {
+        return kind;
+    }
+
+    public double x() {
+        return x;
+    }
+
+    public double y() {
+        return y;
+    }
+
+    public double z() {
+        return z;
+    }
+
+    public float basePower() {
+        return basePower;
+    }
+
+    public float multiplier() {
+        return multiplier;
+    }
+
+    public float power() {
+        return basePower * multiplier;
+    }
+
+    public int blocksAffected() {
+        return blocksAffected;
+    }
+
+    public void addBlocksAffected(int count) {
+        blocksAffected += count;
+    }
+
+    public int entitiesHit() {
+        return entitiesHit;
+    }
+
+    public void addEntityHit() {
+        entitiesHit++;
+    }
+}
@@ -0,0 +1,55 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.net.CraterHintPayload;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.List;
+
+/**
+ * Sends a {@link CraterHintPayload} for each Vibecraft explosion big enough to be worth scheduling on the client.
+ */
+public final class CraterHints {
+
+    // Fewer sections than this rebuild within a frame or two anyway
+    private static final int MIN_SECTIONS = 8;
+
+    private CraterHints() {
+    }
+
+    public static void send(ServerWorld world, List<BlockPos> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (BlockPos pos : positions) {
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxY = Math.max(maxY, pos.getY());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+        // A block on a section edge also dirties the neighbouring section's mesh
+        CraterHintPayload hint = new CraterHintPayload((minX - 1) >> 4, (minY - 1) >> 4, (minZ - 1) >> 4,
+                (maxX + 1) >> 4, (maxY + 1) >> 4, (maxZ + 1) >> 4);
+        int sections = (hint.maxX() - hint.minX() + 1) * (hint.maxY() - hint.minY() + 1)
+                * (hint.maxZ() - hint.minZ() + 1);
+        if (sections < MIN_SECTIONS) {
+            return;
+        }
+
+        ChunkPos center = new ChunkPos((hint.minX() + hint.maxX()) >> 1, (hint.minZ() + hint.maxZ()) >> 1);
+        for (ServerPlayerEntity player : PlayerLookup.tracking(world, center)) {
+            if (ServerPlayNetworking.canSend(player, CraterHintPayload.ID)) {
+                ServerPlayNetworking.send(player, hint);
+            }
+        }
+    }
+}
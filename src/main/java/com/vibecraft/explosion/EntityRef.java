@@ -0,0 +1,32 @@
+package com.vibecraft.explosion;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.server.world.ServerWorld;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * The entity behind an explosion that waits for a later tick, kept by type and UUID rather than by reference: the
+ * entity is usually discarded right after it detonates, and must not be kept alive while the explosion waits.
+ */
+record EntityRef(EntityType<?> type, UUID uuid) {
+
+    @Nullable
+    static EntityRef of(@Nullable Entity entity) {
+        return entity == null ? null : new EntityRef(entity.getType(), entity.getUuid());
+    }
+
+    /**
+     * The entity if it is still in the world, otherwise {@code null}.
+     */
+    @Nullable
+    static Entity resolve(ServerWorld world, @Nullable EntityRef ref) {
+        if (ref == null) {
+            return null;
+        }
+        Entity entity = world.getEntity(ref.uuid);
+        return entity != null && entity.getType() == ref.type ? entity : null;
+    }
+}
@@ -0,0 +1,174 @@
+package com.vibecraft.explosion;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+
+/**
+ * Keeps Vibecraft explosions within a per-tick time budget, using {@link ExplosionEstimator} predictions.
+ * <p>
+ * An explosion whose predicted time, on top of the time Vibecraft explosions have already taken this tick, goes past
+ * {@link #getBudgetMillis()} is handled according to {@link #getAction()}:
+ * <ul>
+ * <li>{@link Action#DEFER} queues it for a later tick. Queued explosions run at the end of each tick while the budget
+ * lasts, at least one per tick so the queue always drains. They also run first whenever a new explosion comes in,
+ * which waits behind them if any are left, so explosions always run in the order they came in.</li>
+ * <li>{@link Action#SCALE} shrinks its multiplier until the prediction fits what is left, never below 1x (cost grows
+ * with the cube of the power, so the multiplier shrinks with the cube root).</li>
+ * <li>{@link Action#REFUSE} drops it.</li>
+ * </ul>
+ * With {@link Action#OFF}, the default, nothing is estimated at all. Explosions that do run feed their measured time
+ * back into the estimator. Queued explosions keep only the type and UUID of their source entity, which is looked up
+ * again when they run.
+ */
+public final class ExplosionBudget {
+
+    public enum Action {
+        OFF, DEFER, SCALE, REFUSE
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("Vibecraft");
+
+    private static final ArrayDeque<Deferred> deferred = new ArrayDeque<>();
+    private static Action action = Action.OFF;
+    private static double budgetMillis = 25.0;
+    private static double spentMillis;
+    private static long deferredCount;
+    private static long scaledCount;
+    private static long refusedCount;
+
+    private ExplosionBudget() {
+    }
+
+    public static Action getAction() {
+        return action;
+    }
+
+    public static void setAction(Action value) {
+        action = value;
+    }
+
+    public static double getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public static void setBudgetMillis(double value) {
+        budgetMillis = value;
+    }
+
+    public static int getQueued() {
+        return deferred.size();
+    }
+
+    public static String getStats() {
+        return String.format("%d deferred (%d queued), %d scaled, %d refused; %.1f ns per ray step learned from %d "
+                + "explosions", deferredCount, deferred.size(), scaledCount, refusedCount,
+                ExplosionEstimator.getNanosPerStep(), ExplosionEstimator.getCalibrations());
+    }
+
+    /**
+     * Runs, defers, scales or refuses an explosion whose multiplier has just been rolled.
+     */
+    public static void detonate(ServerWorld world, @Nullable Entity source, double x, double y, double z,
+            float basePower, float multiplier, String kind, ExplosionCreator creator) {
+        // Earlier explosions go first; a new one waits behind any that still do not fit
+        drain(false);
+        if (!deferred.isEmpty()) {
+            deferred.add(new Deferred(world, EntityRef.of(source), x, y, z, basePower, multiplier, kind, creator));
+            deferredCount++;
+            return;
+        }
+
+        if (action == Action.OFF) {
+            VibecraftExplosions.detonate(world, source, x, y, z, basePower, multiplier, kind, creator);
+            return;
+        }
+
+        ExplosionEstimate estimate = ExplosionEstimator.estimate(world, x, y, z, basePower * multiplier);
+        double remaining = budgetMillis - spentMillis;
+        if (estimate.millis() <= remaining) {
+            run(world, source, x, y, z, basePower, multiplier, kind, creator, estimate);
+            return;
+        }
+
+        switch (action) {
+            case DEFER -> {
+                deferred.add(new Deferred(world, EntityRef.of(source), x, y, z, basePower, multiplier, kind,
+                        creator));
+                deferredCount++;
+            }
+            case SCALE -> {
+                float scale = (float) Math.cbrt(Math.max(remaining, 0.0) / estimate.millis());
+                float scaled = Math.max(multiplier * scale, Math.min(multiplier, 1.0f));
+                scaledCount++;
+                LOGGER.info(String.format(Locale.ROOT, "%s explosion scaled from %.2fx to %.2fx, predicted %.1f ms",
+                        kind, multiplier, scaled, estimate.millis()));
+                // Fewer blocks and entities than predicted; only the time is wanted back for calibration
+                run(world, source, x, y, z, basePower, scaled, kind, creator, null);
+            }
+            case REFUSE -> {
+                refusedCount++;
+                String message = String.format("💥 %s explosion refused: %.1fx would take about %.1f ms", kind,
+                        multiplier, estimate.millis());
+                LOGGER.info(message);
+                world.getServer().getPlayerManager().broadcast(Text.literal(message), false);
+            }
+            default -> throw new IllegalStateException("Unhandled action " + action);
+        }
+    }
+
+    /**
+     * Runs queued explosions while the tick's budget lasts, then starts the next tick's budget.
+     */
+    public static void tick(MinecraftServer server) {
+        drain(true);
+        spentMillis = 0.0;
+    }
+
+    /**
+     * Runs queued explosions, oldest first, while they fit the budget, or all of them with {@link Action#OFF}.
+     */
+    private static void drain(boolean atLeastOne) {
+        boolean ranOne = !atLeastOne;
+        while (!deferred.isEmpty()) {
+            Deferred next = deferred.peek();
+            ExplosionEstimate estimate = ExplosionEstimator.estimate(next.world, next.x, next.y, next.z,
+                    next.basePower * next.multiplier);
+            if (action != Action.OFF && ranOne && spentMillis + estimate.millis() > budgetMillis) {
+                break;
+            }
+            deferred.poll();
+            run(next.world, EntityRef.resolve(next.world, next.source), next.x, next.y, next.z, next.basePower,
+                    next.multiplier, next.kind, next.creator, estimate);
+            ranOne = true;
+        }
+    }
+
+    public static void clear() {
+        deferred.clear();
+        spentMillis = 0.0;
+    }
+
+    private static void run(ServerWorld world, @Nullable Entity source, double x, double y, double z,
+            float basePower, float multiplier, String kind, ExplosionCreator creator,
+            @Nullable ExplosionEstimate estimate) {
+        long start = System.nanoTime();
+        VibecraftExplosions.detonate(world, source, x, y, z, basePower, multiplier, kind, creator);
+        long nanos = System.nanoTime() - start;
+        spentMillis += nanos / 1_000_000.0;
+        if (estimate != null) {
+            ExplosionEstimator.calibrate(estimate, nanos);
+        }
+    }
+
+    private record Deferred(ServerWorld world, @Nullable EntityRef source, double x, double y, double z,
+            float basePower, float multiplier, String kind, ExplosionCreator creator) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.vibecraft.explosion;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Creates the explosion once {@link ExplosionHotspots} and the {@link ExplosionBudget} have settled its power.
+ */
+@FunctionalInterface
+public interface ExplosionCreator {
+
+    /**
+     * Vibecraft's own explosions: plain TNT explosions, announced in chat.
+     */
+    ExplosionCreator TNT = (world, source, x, y, z, power) -> world.createExplosion(source, x, y, z, power,
+            World.ExplosionSourceType.TNT);
+
+    /**
+     * @param source the entity that caused the explosion, or {@code null} if there is none or it is gone by now
+     */
+    void create(ServerWorld world, @Nullable Entity source, double x, double y, double z, float power);
+
+    /**
+     * Whether the multiplied explosion is announced in chat rather than only logged at debug level.
+     */
+    default boolean announced() {
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package com.vibecraft.explosion;
+
+import net.minecraft.network.packet.s2c.play.ExplosionS2CPacket;
+import net.minecraft.network.packet.s2c.play.ParticleS2CPacket;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Folds the explosion effect packets of Vibecraft explosions into a few packets per player and tick.
+ * <p>
+ * Instead of one {@link ExplosionS2CPacket} per explosion, each player gets one per cluster of explosions within
+ * {@value #CLUSTER_RADIUS} blocks of each other, at the cluster's centroid, plus a single particle packet whose count
+ * grows with the number of explosions folded in. At most {@value #MAX_CLUSTERS} clusters are sent per player; beyond
+ * that, explosions join the nearest cluster. Explosions farther away than the player's view distance are not sent
+ * at all. Packets that knock the player back are sent as usual, since the knockback can't be folded.
+ */
+public final class ExplosionEffectBatcher {
+
+    private static final double CLUSTER_RADIUS = 8.0;
+    private static final int MAX_CLUSTERS = 8;
+    private static final int MAX_EXTRA_PARTICLES = 16;
+
+    private static final Map<ServerPlayerEntity, List<ExplosionS2CPacket>> queued = new IdentityHashMap<>();
+    private static boolean enabled = true;
+    private static long folded;
+    private static long sent;
+    private static long culled;
+
+    private ExplosionEffectBatcher() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static long getFolded() {
+        return folded;
+    }
+
+    public static long getSent() {
+        return sent;
+    }
+
+    public static long getCulled() {
+        return culled;
+    }
+
+    public static String getStats() {
+        return String.format("%d explosion effects sent as %d packets, %d beyond view distance", folded, sent,
+                culled);
+    }
+
+    /**
+     * Queues {@code packet} for {@code player} until the end of the tick. Returns {@code false} if it has to be sent
+     * right away.
+     */
+    public static boolean offer(ServerPlayerEntity player, ExplosionS2CPacket packet) {
+        if (!enabled || packet.playerKnockback().isPresent()) {
+            return false;
+        }
+        queued.computeIfAbsent(player, key -> new ArrayList<>()).add(packet);
+        return true;
+    }
+
+    public static void flush(MinecraftServer server) {
+        if (queued.isEmpty()) {
+            return;
+        }
+
+        int serverViewDistance = server.getPlayerManager().getViewDistance();
+        List<Cluster> clusters = new ArrayList<>();
+        for (Map.Entry<ServerPlayerEntity, List<ExplosionS2CPacket>> entry : queued.entrySet()) {
+            ServerPlayerEntity player = entry.getKey();
+            if (player.isDisconnected()) {
+                continue;
+            }
+
+            double viewBlocks = MathHelper.clamp(player.getViewDistance(), 2, serverViewDistance) * 16.0;
+            clusters.clear();
+            for (ExplosionS2CPacket packet : entry.getValue()) {
+                folded++;
+                Vec3d center = packet.center();
+                double dx = center.x - player.getX();
+                double dz = center.z - player.getZ();
+                if (dx * dx + dz * dz > viewBlocks * viewBlocks) {
+                    culled++;
+                    continue;
+                }
+                cluster(clusters, packet);
+            }
+
+            for (Cluster cluster : clusters) {
+                cluster.send(player);
+            }
+        }
+        queued.clear();
+    }
+
+    public static void clear() {
+        queued.clear();
+    }
+
+    private static void cluster(List<Cluster> clusters, ExplosionS2CPacket packet) {
+        Cluster nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (Cluster cluster : clusters) {
+            if (!cluster.matches(packet)) {
+                continue;
+            }
+            double distance = cluster.first.center().squaredDistanceTo(packet.center());
+            if (distance < nearestDistance) {
+                nearest = cluster;
+                nearestDistance = distance;
+            }
+        }
+
+        if (nearest != null
+                && (nearestDistance <= CLUSTER_RADIUS * CLUSTER_RADIUS || clusters.size() >= MAX_CLUSTERS)) {
+            nearest.add(packet);
+        } else {
+            clusters.add(new Cluster(packet));
+        }
+    }
+
+    private static final class Cluster {
+        private final ExplosionS2CPacket first;
+        private int count = 1;
+        private double sumX;
+        private double sumY;
+        private double sumZ;
+        private double minX;
+        private double minY;
+        private double minZ;
+        private double maxX;
+        private double maxY;
+        private double maxZ;
+
+        private Cluster(ExplosionS2CPacket first) {
+            this.first = first;
+            Vec3d center = first.center();
+            sumX = minX = maxX = center.x;
+            sumY = minY = maxY = center.y;
+            sumZ = minZ = maxZ = center.z;
+        }
+
+        // Clusters with different particles or sounds are kept apart so small and large explosions still look right
+        private boolean matches(ExplosionS2CPacket packet) {
+            return packet.explosionParticle() == first.explosionParticle()
+                    && packet.explosionSound().equals(first.explosionSound());
+        }
+
+        private void add(ExplosionS2CPacket packet) {
+            Vec3d center = packet.center();
+            count++;
+            sumX += center.x;
+            sumY += center.y;
+            sumZ += center.z;
+            minX = Math.min(minX, center.x);
+            minY = Math.min(minY, center.y);
+            minZ = Math.min(minZ, center.z);
+            maxX = Math.max(maxX, center.x);
+            maxY = Math.max(maxY, center.y);
+            maxZ = Math.max(maxZ, center.z);
+        }
+
+        private void send(ServerPlayerEntity player) {
+            if (count == 1) {
+                player.networkHandler.sendPacket(first);
+                sent++;
+                return;
+            }
+
+            double x = sumX / count;
+            double y = sumY / count;
+            double z = sumZ / count;
+            ParticleEffect particle = first.explosionParticle();
+            player.networkHandler.sendPacket(new ExplosionS2CPacket(new Vec3d(x, y, z), Optional.empty(), particle,
+                    first.explosionSound()));
+            // Extra particles spread over the cluster stand in for the explosions folded into it
+            player.networkHandler.sendPacket(new ParticleS2CPacket(particle, false, false, x, y, z,
+                    (float) (maxX - minX) / 2.0f, (float) (maxY - minY) / 2.0f, (float) (maxZ - minZ) / 2.0f,
+                    0.0f, Math.min(count - 1, MAX_EXTRA_PARTICLES)));
+            sent += 2;
+        }
+    }
+}
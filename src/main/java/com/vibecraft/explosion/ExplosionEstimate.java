@@ -0,0 +1,12 @@
+package com.vibecraft.explosion;
+
+/**
+ * Predicted cost of an explosion, from {@link ExplosionEstimator}.
+ *
+ * @param blocks   non-air blocks it would destroy
+ * @param entities entities within its damage radius
+ * @param steps    ray steps a full vanilla ray march would take
+ * @param millis   predicted server time
+ */
+public record ExplosionEstimate(double blocks, int entities, double steps, double millis) {
+}
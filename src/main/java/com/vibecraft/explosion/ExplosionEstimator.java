@@ -0,0 +1,78 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.sim.BlastEstimator;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+import net.minecraft.world.explosion.ExplosionImpl;
+
+/**
+ * Predicts what an explosion will cost before it runs.
+ * <p>
+ * Blocks and ray steps come from a {@link BlastEstimator} with {@value #SAMPLE_RAYS} rays against the live world;
+ * entities are counted within the damage radius. The time is a weighted sum of the three, with a block costing
+ * {@value #BLOCK_WEIGHT} ray steps (removal, drops, light and neighbour updates) and an entity {@value #ENTITY_WEIGHT}
+ * (exposure rays and damage). The time of a ray step is learned from the explosions that actually run, so the
+ * prediction adapts to the machine and to the engine in use.
+ */
+public final class ExplosionEstimator {
+
+    private static final int SAMPLE_RAYS = 64;
+    private static final double BLOCK_WEIGHT = 100.0;
+    private static final double ENTITY_WEIGHT = 400.0;
+    private static final double LEARNING_RATE = 0.2;
+    // A learned step time that is way off would take a long time to recover from a single outlier
+    private static final double MAX_CORRECTION = 4.0;
+
+    private static double nanosPerStep = 50.0;
+    private static long calibrations;
+
+    private ExplosionEstimator() {
+    }
+
+    public static double getNanosPerStep() {
+        return nanosPerStep;
+    }
+
+    public static long getCalibrations() {
+        return calibrations;
+    }
+
+    public static ExplosionEstimate estimate(ServerWorld world, double x, double y, double z, float power) {
+        Vec3d center = new Vec3d(x, y, z);
+        ExplosionBehavior behavior = new ExplosionBehavior();
+        Explosion explosion = new ExplosionImpl(world, null, null, behavior, center, power, false,
+                Explosion.DestructionType.DESTROY);
+        BlastEstimator.Estimate blast = new BlastEstimator(new WorldVoxelGrid(world, explosion, behavior))
+                .estimate(x, y, z, power, SAMPLE_RAYS);
+
+        // Same reach as vanilla's damageEntities
+        double radius = power * 2.0;
+        int entities = 0;
+        for (Entity entity : world.getOtherEntities(null, new Box(center, center).expand(radius))) {
+            if (entity.squaredDistanceTo(center) <= radius * radius) {
+                entities++;
+            }
+        }
+
+        double units = blast.steps() + blast.blocks() * BLOCK_WEIGHT + entities * ENTITY_WEIGHT;
+        return new ExplosionEstimate(blast.blocks(), entities, blast.steps(), units * nanosPerStep / 1_000_000.0);
+    }
+
+    /**
+     * Feeds back how long an estimated explosion actually took.
+     */
+    public static void calibrate(ExplosionEstimate estimate, long nanos) {
+        if (estimate.millis() <= 0.0) {
+            return;
+        }
+        double correction = MathHelper.clamp(nanos / (estimate.millis() * 1_000_000.0), 1.0 / MAX_CORRECTION,
+                MAX_CORRECTION);
+        nanosPerStep *= 1.0 + LEARNING_RATE * (correction - 1.0);
+        calibrations++;
+    }
+}
@@ -0,0 +1,179 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.sim.HotspotSketch;
+import net.minecraft.entity.Entity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Tracks the chunks where Vibecraft explosions keep landing and calms them down.
+ * <p>
+ * Every Vibecraft explosion that runs adds its multiplier to its chunk's heat in a per-dimension
+ * {@link HotspotSketch}, so heat is the sum of recent multipliers, halving every {@link #getHalfLifeTicks()} ticks.
+ * Memory stays the same however many chunks are hit, and the hottest {@value #TRACKED} chunks of each dimension are
+ * known at any time. A new explosion in a chunk already hotter than {@link #getThreshold()} is handled according to
+ * {@link #getAction()}:
+ * <ul>
+ * <li>{@link Action#SCALE} divides its multiplier by how far the chunk is over the threshold, never below 1x.</li>
+ * <li>{@link Action#SLOW} holds it back until the chunk's heat has decayed to the threshold, then checks again, so a
+ * hot chunk takes explosions only as fast as its heat drains. A held explosion keeps only the type and UUID of its
+ * source entity, which is looked up again when it is released.</li>
+ * </ul>
+ * With {@link Action#OFF} heat is still tracked, only nothing is done about it.
+ */
+public final class ExplosionHotspots {
+
+    public enum Action {
+        OFF, SCALE, SLOW
+    }
+
+    public static final int TRACKED = 16;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("Vibecraft");
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 1024;
+
+    private static final Map<RegistryKey<World>, HotspotSketch> SKETCHES = new HashMap<>();
+    private static final PriorityQueue<Held> held = new PriorityQueue<>(Comparator.comparingLong(Held::due));
+    private static Action action = Action.SCALE;
+    private static double threshold = 64.0;
+    private static int halfLifeTicks = 600;
+    private static long scaledCount;
+    private static long slowedCount;
+
+    private ExplosionHotspots() {
+    }
+
+    public static Action getAction() {
+        return action;
+    }
+
+    public static void setAction(Action value) {
+        action = value;
+    }
+
+    /**
+     * Heat above which a chunk is calmed down.
+     */
+    public static double getThreshold() {
+        return threshold;
+    }
+
+    public static void setThreshold(double value) {
+        threshold = value;
+    }
+
+    public static int getHalfLifeTicks() {
+        return halfLifeTicks;
+    }
+
+    /**
+     * Changes how fast heat fades. Heat tracked so far is forgotten.
+     */
+    public static void setHalfLifeTicks(int value) {
+        halfLifeTicks = value;
+        SKETCHES.clear();
+    }
+
+    public static int getHeld() {
+        return held.size();
+    }
+
+    public static String getStats() {
+        return String.format("%d scaled, %d slowed (%d held)", scaledCount, slowedCount, held.size());
+    }
+
+    /**
+     * The hottest chunks of a dimension, hottest first, as chunk position longs with their heat.
+     */
+    public static List<HotspotSketch.Entry> top(ServerWorld world) {
+        HotspotSketch sketch = SKETCHES.get(world.getRegistryKey());
+        return sketch == null ? List.of() : sketch.top(world.getServer().getTicks());
+    }
+
+    /**
+     * Heat of the chunk containing the given position.
+     */
+    public static double heat(ServerWorld world, double x, double z) {
+        HotspotSketch sketch = SKETCHES.get(world.getRegistryKey());
+        return sketch == null ? 0.0 : sketch.estimate(chunk(x, z), world.getServer().getTicks());
+    }
+
+    /**
+     * Counts an explosion that is running towards its chunk's heat.
+     */
+    public static void record(ServerWorld world, double x, double z, float multiplier) {
+        SKETCHES.computeIfAbsent(world.getRegistryKey(), key -> new HotspotSketch(DEPTH, WIDTH, TRACKED,
+                halfLifeTicks)).add(chunk(x, z), multiplier, world.getServer().getTicks());
+    }
+
+    /**
+     * Scales or holds back an explosion whose multiplier has just been rolled, then passes it on to the
+     * {@link ExplosionBudget}.
+     */
+    public static void detonate(ServerWorld world, @Nullable Entity source, double x, double y, double z,
+            float basePower, float multiplier, String kind, ExplosionCreator creator) {
+        double heat = heat(world, x, z);
+        if (action == Action.OFF || heat <= threshold) {
+            ExplosionBudget.detonate(world, source, x, y, z, basePower, multiplier, kind, creator);
+            return;
+        }
+
+        switch (action) {
+            case SCALE -> {
+                float scaled = Math.max((float) (multiplier * threshold / heat), Math.min(multiplier, 1.0f));
+                scaledCount++;
+                LOGGER.info(String.format(Locale.ROOT, "%s explosion scaled from %.2fx to %.2fx in hotspot %s, "
+                        + "heat %.1f", kind, multiplier, scaled, new ChunkPos(chunk(x, z)), heat));
+                ExplosionBudget.detonate(world, source, x, y, z, basePower, scaled, kind, creator);
+            }
+            case SLOW -> {
+                // Time for the heat to decay back to the threshold
+                long wait = Math.max(1L, (long) Math.ceil(halfLifeTicks * Math.log(heat / threshold) / Math.log(2.0)));
+                held.add(new Held(world, EntityRef.of(source), x, y, z, basePower, multiplier, kind, creator,
+                        world.getServer().getTicks() + wait));
+                slowedCount++;
+            }
+            default -> throw new IllegalStateException("Unhandled action " + action);
+        }
+    }
+
+    /**
+     * Releases held explosions whose wait is over. Each is checked again, as others may have heated its chunk
+     * meanwhile.
+     */
+    public static void tick(MinecraftServer server) {
+        while (!held.isEmpty() && held.peek().due() <= server.getTicks()) {
+            Held next = held.poll();
+            detonate(next.world(), EntityRef.resolve(next.world(), next.source()), next.x(), next.y(), next.z(),
+                    next.basePower(), next.multiplier(), next.kind(), next.creator());
+        }
+    }
+
+    public static void clear() {
+        SKETCHES.clear();
+        held.clear();
+    }
+
+    private static long chunk(double x, double z) {
+        return ChunkPos.toLong(MathHelper.floor(x) >> 4, MathHelper.floor(z) >> 4);
+    }
+
+    private record Held(ServerWorld world, @Nullable EntityRef source, double x, double y, double z, float basePower,
+            float multiplier, String kind, ExplosionCreator creator, long due) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.sim.RayMarch;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs {@link RayMarch} against the world in place of vanilla's ray march.
+ * <p>
+ * The positions are collected into a {@link HashSet} in the order the rays first reach them, as vanilla does, so
+ * the resulting list (including its order, which feeds the shuffle in {@code destroyBlocks}) is identical.
+ */
+public final class ExplosionRayMarch {
+
+    private static boolean enabled = true;
+    private static long lookups;
+    private static long skipped;
+
+    private ExplosionRayMarch() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ExplosionRayMarch.enabled = enabled;
+    }
+
+    public static String getStats() {
+        long total = lookups + skipped;
+        return String.format("block lookups: %d, skipped: %d (%.1f%%)", lookups, skipped,
+                total == 0 ? 0.0 : skipped * 100.0 / total);
+    }
+
+    public static List<BlockPos> march(Explosion explosion, ServerWorld world, ExplosionBehavior behavior,
+            Vec3d center, float power) {
+        RayMarch march = new RayMarch(new WorldVoxelGrid(world, explosion, behavior));
+        long[] visited = march.march(center.x, center.y, center.z, power, world.random::nextFloat);
+
+        Set<BlockPos> positions = new HashSet<>();
+        for (long pos : visited) {
+            positions.add(BlockPos.fromLong(pos));
+        }
+        lookups += march.lookups();
+        skipped += march.skipped();
+        return new ObjectArrayList<>(positions);
+    }
+}
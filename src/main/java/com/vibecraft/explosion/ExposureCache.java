@@ -0,0 +1,200 @@
+package com.vibecraft.explosion;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exposure (the fraction of an entity visible from an explosion center) for Vibecraft explosions.
+ * <p>
+ * Results are cached for the rest of the tick, keyed by entity, its position, the explosion center and the number of
+ * rays sampled, so explosions going off at the same spot in one tick (TNT clusters, chain reactions) cast their rays
+ * once per entity. Any explosion that destroys blocks empties the cache, since the next explosion may now see through
+ * a wall that blocked the cached rays.
+ * <p>
+ * Distant entities are sampled with fewer rays. Vanilla scales exposure by {@code 1 - distance / radius}, so
+ * sampling {@code n} of the {@code N} lattice points vanilla would use and scaling up the hit count is off by at
+ * most {@code (N - n) / N} in exposure and {@code (1 - distance / radius) * (N - n) / N} in impact. The ray count is
+ * chosen to keep that impact error below {@link #getMaxImpactError()}.
+ */
+public final class ExposureCache {
+
+    private static final double CENTER_CELL = 1.0 / 8.0;
+    private static final double ENTITY_CELL = 1.0 / 16.0;
+
+    private static final Map<Key, Float> CACHE = new HashMap<>();
+
+    private static boolean cacheEnabled = true;
+    private static float maxImpactError = 0.02f;
+    private static long hits;
+    private static long misses;
+    private static long raysCast;
+    private static long raysSkipped;
+    private static long invalidations;
+
+    private ExposureCache() {
+    }
+
+    public static boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public static void setCacheEnabled(boolean enabled) {
+        cacheEnabled = enabled;
+        CACHE.clear();
+    }
+
+    public static float getMaxImpactError() {
+        return maxImpactError;
+    }
+
+    /**
+     * Sets the largest allowed error in {@code (1 - distance / radius) * exposure}; 0 always samples every ray.
+     */
+    public static void setMaxImpactError(float error) {
+        maxImpactError = error;
+    }
+
+    public static String getStats() {
+        return String.format("cache hits: %d, misses: %d, invalidations: %d, rays cast: %d, rays skipped: %d",
+                hits, misses, invalidations, raysCast, raysSkipped);
+    }
+
+    public static void endTick() {
+        CACHE.clear();
+    }
+
+    /**
+     * Forgets every cached value after an explosion has removed blocks.
+     */
+    public static void onBlocksDestroyed() {
+        if (!CACHE.isEmpty()) {
+            CACHE.clear();
+            invalidations++;
+        }
+    }
+
+    public static float exposure(Vec3d center, Entity entity, float radius) {
+        // Larger explosions sample more rays at the same distance, so the ray count is part of the key
+        int samples = sampleCount(latticeTotal(entity.getBoundingBox()), center, entity, radius);
+        if (!cacheEnabled) {
+            return compute(center, entity, samples);
+        }
+
+        Key key = Key.of(center, entity, samples);
+        Float cached = CACHE.get(key);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+        misses++;
+        float exposure = compute(center, entity, samples);
+        CACHE.put(key, exposure);
+        return exposure;
+    }
+
+    /**
+     * Same lattice as vanilla's exposure computation, thinned out to {@code samples} rays.
+     */
+    private static float compute(Vec3d center, Entity entity, int samples) {
+        Box box = entity.getBoundingBox();
+        double stepX = step(box.maxX - box.minX);
+        double stepY = step(box.maxY - box.minY);
+        double stepZ = step(box.maxZ - box.minZ);
+        if (stepX < 0.0 || stepY < 0.0 || stepZ < 0.0) {
+            return 0.0f;
+        }
+        double offsetX = (1.0 - Math.floor(1.0 / stepX) * stepX) / 2.0;
+        double offsetZ = (1.0 - Math.floor(1.0 / stepZ) * stepZ) / 2.0;
+
+        int countX = latticeSize(stepX);
+        int countY = latticeSize(stepY);
+        int countZ = latticeSize(stepZ);
+        int total = countX * countY * countZ;
+        // Spread the samples evenly over the lattice, in the order vanilla enumerates it
+        double stride = (double) total / samples;
+
+        int visible = 0;
+        for (int s = 0; s < samples; s++) {
+            int index = (int) (stride * s + stride / 2.0);
+            int ix = index / (countY * countZ);
+            int iy = index / countZ % countY;
+            int iz = index % countZ;
+            double x = MathHelper.lerp(ix * stepX, box.minX, box.maxX) + offsetX;
+            double y = MathHelper.lerp(iy * stepY, box.minY, box.maxY);
+            double z = MathHelper.lerp(iz * stepZ, box.minZ, box.maxZ) + offsetZ;
+            RaycastContext context = new RaycastContext(new Vec3d(x, y, z), center, RaycastContext.ShapeType.COLLIDER,
+                    RaycastContext.FluidHandling.NONE, entity);
+            if (entity.getWorld().raycast(context).getType() == HitResult.Type.MISS) {
+                visible++;
+            }
+        }
+        raysCast += samples;
+        raysSkipped += total - samples;
+        return (float) visible / samples;
+    }
+
+    /**
+     * Smallest ray count {@code n} with {@code (1 - distance / radius) * (N - n) / N <= maxImpactError}.
+     */
+    private static int sampleCount(int total, Vec3d center, Entity entity, float radius) {
+        if (maxImpactError <= 0.0f || radius <= 0.0f) {
+            return total;
+        }
+        double weight = 1.0 - Math.sqrt(entity.squaredDistanceTo(center)) / radius;
+        if (weight <= maxImpactError) {
+            return 1;
+        }
+        int samples = (int) Math.ceil(total * (1.0 - maxImpactError / weight));
+        return MathHelper.clamp(samples, 1, total);
+    }
+
+    private static double step(double size) {
+        return 1.0 / (size * 2.0 + 1.0);
+    }
+
+    /**
+     * Number of lattice points vanilla casts a ray from for an entity with this bounding box.
+     */
+    private static int latticeTotal(Box box) {
+        double stepX = step(box.maxX - box.minX);
+        double stepY = step(box.maxY - box.minY);
+        double stepZ = step(box.maxZ - box.minZ);
+        if (stepX < 0.0 || stepY < 0.0 || stepZ < 0.0) {
+            return 1;
+        }
+        return latticeSize(stepX) * latticeSize(stepY) * latticeSize(stepZ);
+    }
+
+    /**
+     * Number of values {@code k = 0, step, 2 * step, ...} with {@code k <= 1}, accumulated the way vanilla's loop
+     * accumulates them so the lattice matches exactly.
+     */
+    private static int latticeSize(double step) {
+        int count = 0;
+        for (double k = 0.0; k <= 1.0; k += step) {
+            count++;
+        }
+        return count;
+    }
+
+    private record Key(int entityId, long cx, long cy, long cz, long ex, long ey, long ez, int samples) {
+
+        static Key of(Vec3d center, Entity entity, int samples) {
+            return new Key(entity.getId(),
+                    (long) Math.floor(center.x / CENTER_CELL),
+                    (long) Math.floor(center.y / CENTER_CELL),
+                    (long) Math.floor(center.z / CENTER_CELL),
+                    (long) Math.floor(entity.getX() / ENTITY_CELL),
+                    (long) Math.floor(entity.getY() / ENTITY_CELL),
+                    (long) Math.floor(entity.getZ() / ENTITY_CELL),
+                    samples);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.vibecraft.explosion;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.world.World;
+import net.minecraft.world.explosion.ExplosionBehavior;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A vanilla explosion (creeper, bed, end crystal, ...) taken over by {@link VibecraftExplosions#takeOver}, recreated
+ * with everything but its power unchanged. Only logged, as creepers and TNT would otherwise flood the chat.
+ */
+public record VanillaExplosion(@Nullable DamageSource damageSource, @Nullable ExplosionBehavior behavior,
+        boolean createFire, World.ExplosionSourceType sourceType, ParticleEffect smallParticle,
+        ParticleEffect largeParticle, RegistryEntry<SoundEvent> soundEvent) implements ExplosionCreator {
+
+    @Override
+    public void create(ServerWorld world, @Nullable Entity source, double x, double y, double z, float power) {
+        world.createExplosion(source, damageSource, behavior, x, y, z, power, createFire, sourceType, smallParticle,
+                largeParticle, soundEvent);
+    }
+
+    @Override
+    public boolean announced() {
+        return false;
+    }
+}
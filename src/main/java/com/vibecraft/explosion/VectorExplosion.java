@@ -0,0 +1,46 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.sim.VectorRayMarch;
+import com.vibecraft.sim.VectorSupport;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+
+import java.util.List;
+
+/**
+ * Runs {@link VectorRayMarch} against the world. Like the voxel engine it returns only non-air blocks, so it should
+ * not be used for fire-creating explosions. Without {@code --add-modules jdk.incubator.vector} on the JVM command
+ * line, and for powers beyond {@link VectorRayMarch#MAX_POWER}, it hands over to {@link ExplosionRayMarch}.
+ */
+public final class VectorExplosion {
+
+    private VectorExplosion() {
+    }
+
+    public static boolean isAvailable() {
+        return VectorSupport.isAvailable();
+    }
+
+    public static List<BlockPos> march(Explosion explosion, ServerWorld world, ExplosionBehavior behavior,
+            Vec3d center, float power) {
+        if (!VectorSupport.isAvailable() || power > VectorRayMarch.MAX_POWER) {
+            return ExplosionRayMarch.march(explosion, world, behavior, center, power);
+        }
+        long[] destroyed = vectorMarch(new WorldVoxelGrid(world, explosion, behavior), center, power, world);
+
+        List<BlockPos> positions = new ObjectArrayList<>(destroyed.length);
+        for (long pos : destroyed) {
+            positions.add(BlockPos.fromLong(pos));
+        }
+        return positions;
+    }
+
+    // Kept apart so the Vector API classes are only resolved once the module is known to be there
+    private static long[] vectorMarch(WorldVoxelGrid grid, Vec3d center, float power, ServerWorld world) {
+        return new VectorRayMarch(grid).march(center.x, center.y, center.z, power, world.random::nextFloat);
+    }
+}
@@ -0,0 +1,110 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.api.VibecraftEvents;
+import com.vibecraft.config.ExplosionConfig;
+import com.vibecraft.jfr.ExplosionEvent;
+import com.vibecraft.jfr.MultiplierDecisionEvent;
+import com.vibecraft.replay.ExplosionRecorder;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single entry point for explosions that Vibecraft creates itself (launched TNT impacts, TNT clusters, ...).
+ * Every caller goes through the multiplier, the log line and the chat broadcast in the same way. Vanilla explosions
+ * that roll a multiplier are taken over with {@link #takeOver} and go the same way, only without the broadcast.
+ */
+public final class VibecraftExplosions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("Vibecraft");
+
+    @Nullable
+    private static ActiveExplosion active;
+
+    private VibecraftExplosions() {
+    }
+
+    /**
+     * Returns the Vibecraft explosion being created right now, or {@code null} for vanilla explosions.
+     */
+    @Nullable
+    public static ActiveExplosion current() {
+        return active;
+    }
+
+    /**
+     * Rolls the multiplier and detonates, subject to {@link ExplosionHotspots} and the {@link ExplosionBudget}.
+     */
+    public static void detonate(ServerWorld world, @Nullable Entity source, double x, double y, double z,
+            float basePower, String kind) {
+        ExplosionHotspots.detonate(world, source, x, y, z, basePower, ExplosionConfig.computeMultiplier(source), kind,
+                ExplosionCreator.TNT);
+    }
+
+    /**
+     * Routes a vanilla explosion whose multiplier has just been rolled through {@link ExplosionHotspots} and the
+     * {@link ExplosionBudget}, in place of vanilla creating it.
+     */
+    public static void takeOver(ServerWorld world, @Nullable Entity source, double x, double y, double z,
+            float basePower, float multiplier, String kind, VanillaExplosion explosion) {
+        ExplosionHotspots.detonate(world, source, x, y, z, basePower, multiplier, kind, explosion);
+    }
+
+    /**
+     * Detonates right away with a multiplier that was already chosen, e.g. one read back from a recording.
+     */
+    public static void detonate(ServerWorld world, @Nullable Entity source, double x, double y, double z,
+            float basePower, float multiplier, String kind) {
+        detonate(world, source, x, y, z, basePower, multiplier, kind, ExplosionCreator.TNT);
+    }
+
+    /**
+     * Detonates right away with a multiplier that was already chosen, letting {@code creator} create the explosion.
+     */
+    public static void detonate(ServerWorld world, @Nullable Entity source, double x, double y, double z,
+            float basePower, float multiplier, String kind, ExplosionCreator creator) {
+        ExplosionEvent event = new ExplosionEvent();
+        event.begin();
+
+        float explosionPower = basePower * multiplier;
+        MultiplierDecisionEvent.emit(kind, basePower, multiplier);
+        VibecraftEvents.EXPLOSION_MULTIPLIED.invoker().onExplosionMultiplied(kind, basePower, multiplier);
+
+        String message = String.format("💥 %s explosion: %.1fx → %.1fx (%.2fx multiplier)", kind, basePower,
+                explosionPower, multiplier);
+        if (creator.announced()) {
+            LOGGER.info(message);
+            world.getServer().getPlayerManager().broadcast(Text.literal(message), false);
+        } else {
+            LOGGER.debug(message);
+        }
+
+        ExplosionRecorder.onExplosion(world, kind, x, y, z, basePower, multiplier);
+        ExplosionHotspots.record(world, x, z, multiplier);
+
+        ActiveExplosion previous = active;
+        ActiveExplosion explosion = new ActiveExplosion(world, kind, x, y, z, basePower, multiplier);
+        active = explosion;
+        try {
+            creator.create(world, source, x, y, z, explosionPower);
+        } finally {
+            active = previous;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.basePower = basePower;
+            event.multiplier = multiplier;
+            event.x = x;
+            event.y = y;
+            event.z = z;
+            event.blocksAffected = explosion.blocksAffected();
+            event.entitiesHit = explosion.entitiesHit();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.sim.VoxelSphere;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+
+import java.util.List;
+
+/**
+ * Runs the {@link VoxelSphere} engine against the world. Only non-air blocks are returned, so this engine should
+ * not be used for fire-creating explosions. Explosions above {@link VoxelSphere#MAX_POWER}, 100 times TNT, are left to
+ * the ray march.
+ */
+public final class VoxelSphereExplosion {
+
+    // Explosions run on the server thread one at a time, so one set of scratch grids is enough
+    private static VoxelSphere sphere;
+
+    private VoxelSphereExplosion() {
+    }
+
+    /**
+     * Radius in blocks the voxel engine covers for the given power.
+     */
+    public static int radiusFor(float power) {
+        return VoxelSphere.radiusFor(power);
+    }
+
+    public static List<BlockPos> compute(Explosion explosion, ServerWorld world, ExplosionBehavior behavior,
+            Vec3d center, float power) {
+        if (!VoxelSphere.covers(power)) {
+            return ExplosionRayMarch.march(explosion, world, behavior, center, power);
+        }
+        if (sphere == null) {
+            sphere = new VoxelSphere();
+        }
+        long[] destroyed = sphere.compute(new WorldVoxelGrid(world, explosion, behavior), center.x, center.y,
+                center.z, power);
+
+        List<BlockPos> positions = new ObjectArrayList<>(destroyed.length);
+        for (long pos : destroyed) {
+            positions.add(BlockPos.fromLong(pos));
+        }
+        return positions;
+    }
+}
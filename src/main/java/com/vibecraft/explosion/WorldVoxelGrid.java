@@ -0,0 +1,96 @@
+package com.vibecraft.explosion;
+
+import com.vibecraft.sim.VoxelGrid;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+
+import java.util.Optional;
+
+/**
+ * {@link VoxelGrid} over a live {@link ServerWorld}, so the blast engines in {@code com.vibecraft.sim} can run
+ * against real terrain.
+ * <p>
+ * Palette indices are raw block state ids, with every kind of air folded into {@link VoxelGrid#AIR} (raw id 0 is
+ * plain air). Resistance and destruction are decided by the explosion's {@link ExplosionBehavior}, exactly as in
+ * vanilla. The chunk of the last lookup is kept, since engines mostly step through neighbouring blocks.
+ */
+public final class WorldVoxelGrid implements VoxelGrid {
+
+    private final ServerWorld world;
+    private final Explosion explosion;
+    private final ExplosionBehavior behavior;
+    private final BlockPos.Mutable pos = new BlockPos.Mutable();
+    private WorldChunk chunk;
+    private int chunkX;
+    private int chunkZ;
+
+    public WorldVoxelGrid(ServerWorld world, Explosion explosion, ExplosionBehavior behavior) {
+        this.world = world;
+        this.explosion = explosion;
+        this.behavior = behavior;
+    }
+
+    @Override
+    public int bottomY() {
+        return world.getBottomY();
+    }
+
+    @Override
+    public int topY() {
+        return world.getTopYInclusive() + 1;
+    }
+
+    @Override
+    public boolean contains(int x, int y, int z) {
+        return world.isInBuildLimit(pos.set(x, y, z));
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        BlockState state = chunk(x >> 4, z >> 4).getBlockState(pos.set(x, y, z));
+        return state.isAir() ? AIR : Block.getRawIdFromState(state);
+    }
+
+    @Override
+    public float resistance(int x, int y, int z, int state) {
+        BlockState blockState = Block.getStateFromRawId(state);
+        Optional<Float> resistance = behavior.getBlastResistance(explosion, world, pos.set(x, y, z), blockState,
+                blockState.getFluidState());
+        return resistance.orElse(NO_RESISTANCE);
+    }
+
+    @Override
+    public boolean canDestroy(int x, int y, int z, int state, float intensity) {
+        return behavior.canDestroyBlock(explosion, world, pos.set(x, y, z), Block.getStateFromRawId(state),
+                intensity);
+    }
+
+    @Override
+    public boolean isSectionEmpty(int sectionX, int sectionY, int sectionZ) {
+        WorldChunk chunk = chunk(sectionX, sectionZ);
+        int index = chunk.sectionCoordToIndex(sectionY);
+        ChunkSection[] sections = chunk.getSectionArray();
+        return index < 0 || index >= sections.length || sections[index].isEmpty();
+    }
+
+    @Override
+    public int surfaceY(int x, int z) {
+        return chunk(x >> 4, z >> 4).sampleHeightmap(Heightmap.Type.WORLD_SURFACE, x & 15, z & 15);
+    }
+
+    private WorldChunk chunk(int x, int z) {
+        if (chunk == null || x != chunkX || z != chunkZ) {
+            chunk = world.getChunk(x, z);
+            chunkX = x;
+            chunkZ = z;
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,48 @@
+package com.vibecraft.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Duration of one Vibecraft explosion, from the moment it runs with its chosen multiplier to the last destroyed block.
+ * Rolling the multiplier happens earlier, possibly ticks earlier if the explosion was deferred, and is not included.
+ */
+@Name("vibecraft.Explosion")
+@Label("Vibecraft Explosion")
+@Category({ "Vibecraft", "Explosions" })
+@Description("An explosion created through Vibecraft with its multiplier and what it affected")
+@Enabled(false)
+@StackTrace(false)
+public class ExplosionEvent extends Event {
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Base Power")
+    public float basePower;
+
+    @Label("Multiplier")
+    public float multiplier;
+
+    @Label("X")
+    public double x;
+
+    @Label("Y")
+    public double y;
+
+    @Label("Z")
+    public double z;
+
+    @Label("Blocks Affected")
+    @Description("Block positions handed to block destruction, including air inside the blast")
+    public int blocksAffected;
+
+    @Label("Entities Hit")
+    @Description("Entities within the blast radius whose exposure was computed")
+    public int entitiesHit;
+}
@@ -0,0 +1,44 @@
+package com.vibecraft.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Duration of handling one TNT launch request on the server.
+ */
+@Name("vibecraft.Launch")
+@Label("Vibecraft TNT Launch")
+@Category({ "Vibecraft", "Launches" })
+@Description("A TNT launch request handled by the server")
+@Enabled(false)
+@StackTrace(false)
+public class LaunchEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Power")
+    public float power;
+
+    @Label("Count")
+    @Description("Number of TNT launched, more than one for a volley")
+    public int count;
+
+    @Label("Accepted")
+    @Description("False when the player was not allowed to launch, e.g. not holding TNT")
+    public boolean accepted;
+
+    @Label("X")
+    public double x;
+
+    @Label("Y")
+    public double y;
+
+    @Label("Z")
+    public double z;
+}
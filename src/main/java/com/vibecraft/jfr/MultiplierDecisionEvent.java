@@ -0,0 +1,47 @@
+package com.vibecraft.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The multiplier applied to one explosion, Vibecraft or vanilla, and the power it produced.
+ */
+@Name("vibecraft.MultiplierDecision")
+@Label("Vibecraft Multiplier Decision")
+@Category({ "Vibecraft", "Explosions" })
+@Description("The multiplier chosen for an explosion and the resulting power")
+@Enabled(false)
+@StackTrace(false)
+public class MultiplierDecisionEvent extends Event {
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Base Power")
+    public float basePower;
+
+    @Label("Multiplier")
+    public float multiplier;
+
+    @Label("Power")
+    public float power;
+
+    /**
+     * Commits a decision event if the event type is enabled in the running recording.
+     */
+    public static void emit(String kind, float basePower, float multiplier) {
+        MultiplierDecisionEvent event = new MultiplierDecisionEvent();
+        if (event.isEnabled()) {
+            event.kind = kind;
+            event.basePower = basePower;
+            event.multiplier = multiplier;
+            event.power = basePower * multiplier;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.vibecraft.journal;
+
+import com.vibecraft.Vibecraft;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Restores journaled craters a few blocks at a time.
+ * <p>
+ * Craters inside the spawn area are scheduled automatically after a delay; any journaled explosion can also be
+ * rolled back on demand. All pending restorations share one per-tick block budget. Blocks are restored bottom-up so
+ * supported blocks find their support, and only into air so anything built in the crater since is kept.
+ */
+public final class CraterRegenerator {
+
+    private static final Deque<Task> TASKS = new ArrayDeque<>();
+
+    private static int spawnRadius = 128;
+    private static int delayTicks = 600;
+    private static int blocksPerTick = 256;
+
+    private CraterRegenerator() {
+    }
+
+    public static int getSpawnRadius() {
+        return spawnRadius;
+    }
+
+    public static void setSpawnRadius(int radius) {
+        spawnRadius = radius;
+    }
+
+    public static int getBlocksPerTick() {
+        return blocksPerTick;
+    }
+
+    public static void setBlocksPerTick(int budget) {
+        blocksPerTick = budget;
+    }
+
+    public static int pendingBlocks() {
+        return TASKS.stream().mapToInt(task -> task.order.length - task.cursor).sum();
+    }
+
+    /**
+     * Schedules the crater for regeneration if it lies within the spawn area of its world.
+     */
+    public static void onJournaled(ServerWorld world, JournalRecord record) {
+        if (spawnRadius <= 0) {
+            return;
+        }
+        BlockPos spawn = world.getSpawnPos();
+        if (record.center().getSquaredDistance(spawn) <= (double) spawnRadius * spawnRadius) {
+            TASKS.add(new Task(world, record, world.getTime() + delayTicks));
+        }
+    }
+
+    /**
+     * Schedules a journaled explosion to be rolled back starting with the next tick.
+     */
+    public static void rollback(ServerWorld world, JournalRecord record) {
+        TASKS.addFirst(new Task(world, record, world.getTime()));
+    }
+
+    public static void tick(MinecraftServer server) {
+        int budget = blocksPerTick;
+        Iterator<Task> iterator = TASKS.iterator();
+        while (budget > 0 && iterator.hasNext()) {
+            Task task = iterator.next();
+            if (task.world.getTime() < task.startTime) {
+                continue;
+            }
+            budget -= task.restore(budget);
+            if (task.isDone()) {
+                iterator.remove();
+                Vibecraft.LOGGER.info("Regenerated crater of explosion {}", task.record.id());
+            }
+        }
+    }
+
+    public static void clear() {
+        TASKS.clear();
+    }
+
+    private static final class Task {
+        private final ServerWorld world;
+        private final JournalRecord record;
+        private final long startTime;
+        private final int[] order;
+        private int cursor;
+
+        Task(ServerWorld world, JournalRecord record, long startTime) {
+            this.world = world;
+            this.record = record;
+            this.startTime = startTime;
+            this.order = bottomUp(record);
+        }
+
+        boolean isDone() {
+            return cursor >= order.length;
+        }
+
+        /**
+         * Restores up to {@code budget} blocks and returns how many entries were consumed.
+         */
+        int restore(int budget) {
+            BlockPos.Mutable pos = new BlockPos.Mutable();
+            int end = Math.min(order.length, cursor + budget);
+            int consumed = end - cursor;
+            for (; cursor < end; cursor++) {
+                int index = order[cursor];
+                pos.set(record.position(index));
+                if (!world.isChunkLoaded(pos) || !world.getBlockState(pos).isAir()) {
+                    continue;
+                }
+
+                BlockState state = Block.getStateFromRawId(record.rawState(index));
+                world.setBlockState(pos, state, Block.NOTIFY_LISTENERS | Block.FORCE_STATE);
+
+                NbtCompound nbt = record.blockEntity(index);
+                if (nbt != null) {
+                    BlockEntity blockEntity = BlockEntity.createFromNbt(pos.toImmutable(), state, nbt,
+                            world.getRegistryManager());
+                    if (blockEntity != null) {
+                        world.addBlockEntity(blockEntity);
+                    }
+                }
+            }
+            return consumed;
+        }
+
+        private static int[] bottomUp(JournalRecord record) {
+            int[] order = new int[record.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            IntArrays.quickSort(order, (a, b) -> Integer.compare(BlockPos.unpackLongY(record.position(a)),
+                    BlockPos.unpackLongY(record.position(b))));
+            return order;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.vibecraft.journal;
+
+import com.vibecraft.Vibecraft;
+import com.vibecraft.explosion.ActiveExplosion;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of the blocks destroyed by Vibecraft explosions.
+ * <p>
+ * Records go to one file per dimension and 32×32 chunk region under {@code <world>/vibecraft/journal}. Appends run
+ * on the IO worker; reads map the region file into memory and decode just the requested record. An in-memory index
+ * from explosion ID to file offset is rebuilt from the record headers when the server starts.
+ * <p>
+ * The journal is capped at {@link #getMaxBytes()}: once an append takes it over, the least recently written region
+ * files are deleted, whole, until it fits again. The file just written to is kept, so the newest explosions can always
+ * be rolled back.
+ */
+public final class ExplosionJournal {
+
+    private static final String FILE_SUFFIX = ".vej";
+
+    private static final Map<Long, Entry> INDEX = new ConcurrentHashMap<>();
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+    private static final AtomicLong BYTES = new AtomicLong();
+    private static boolean enabled = true;
+    private static volatile long maxBytes = 256L << 20;
+    @Nullable
+    private static volatile Path root;
+    // Appends and pruning run on the IO worker one after another; closing waits for them
+    private static CompletableFuture<Void> writes = CompletableFuture.completedFuture(null);
+
+    private ExplosionJournal() {
+    }
+
+    public record Entry(long id, RegistryKey<World> dimension, Path file, long offset, int length, long gameTime,
+            BlockPos center, int blockCount) {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Sets the journal's size cap, pruning right away if it is now over it.
+     */
+    public static void setMaxBytes(long value) {
+        maxBytes = value;
+        write(() -> prune(null));
+    }
+
+    /**
+     * Size of the journal files, including appends still queued.
+     */
+    public static long getBytes() {
+        return BYTES.get();
+    }
+
+    public static void open(MinecraftServer server) {
+        awaitWrites();
+        root = server.getSavePath(WorldSavePath.ROOT).resolve(Vibecraft.MOD_ID).resolve("journal");
+        INDEX.clear();
+        NEXT_ID.set(1);
+        BYTES.set(0);
+        try {
+            for (ServerWorld world : server.getWorlds()) {
+                Path directory = directory(world.getRegistryKey());
+                if (!Files.isDirectory(directory)) {
+                    continue;
+                }
+                try (Stream<Path> files = Files.list(directory)) {
+                    for (Path file : files.filter(f -> f.toString().endsWith(FILE_SUFFIX)).toList()) {
+                        indexFile(world.getRegistryKey(), file);
+                        BYTES.addAndGet(Files.size(file));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Vibecraft.LOGGER.error("Failed to index explosion journal", e);
+        }
+        Vibecraft.LOGGER.info("Indexed {} journaled explosions", INDEX.size());
+    }
+
+    /**
+     * Waits for queued appends, so none of them lands in the index after it has been cleared.
+     */
+    public static void close() {
+        awaitWrites();
+        root = null;
+        INDEX.clear();
+    }
+
+    /**
+     * Waits for queued appends and pruning to finish.
+     */
+    public static void awaitWrites() {
+        writes.join();
+    }
+
+    /**
+     * Captures the blocks an explosion is about to destroy and appends them to the journal. Returns the captured
+     * record so callers such as the crater regenerator can use it without reading it back from disk.
+     */
+    @Nullable
+    public static JournalRecord record(ServerWorld world, ActiveExplosion explosion, List<BlockPos> positions) {
+        if (!enabled || root == null) {
+            return null;
+        }
+
+        LongArrayList packed = new LongArrayList(positions.size());
+        IntArrayList states = new IntArrayList(positions.size());
+        Int2ObjectMap<NbtCompound> blockEntities = new Int2ObjectOpenHashMap<>();
+        for (BlockPos pos : positions) {
+            BlockState state = world.getBlockState(pos);
+            if (state.isAir()) {
+                continue;
+            }
+            if (state.hasBlockEntity()) {
+                BlockEntity blockEntity = world.getBlockEntity(pos);
+                if (blockEntity != null) {
+                    blockEntities.put(packed.size(),
+                            blockEntity.createNbtWithIdentifyingData(world.getRegistryManager()));
+                }
+            }
+            packed.add(pos.asLong());
+            states.add(Block.getRawIdFromState(state));
+        }
+        if (packed.isEmpty()) {
+            return null;
+        }
+
+        BlockPos center = BlockPos.ofFloored(explosion.x(), explosion.y(), explosion.z());
+        JournalRecord record = new JournalRecord(NEXT_ID.getAndIncrement(), world.getTime(), center,
+                packed.toLongArray(), states.toIntArray(), blockEntities);
+        RegistryKey<World> dimension = world.getRegistryKey();
+        Path file = directory(dimension).resolve("r." + (center.getX() >> 9) + "." + (center.getZ() >> 9)
+                + FILE_SUFFIX);
+
+        write(() -> {
+            append(dimension, file, record);
+            if (BYTES.get() > maxBytes) {
+                prune(file);
+            }
+        });
+        return record;
+    }
+
+    @Nullable
+    public static Entry find(long id) {
+        return INDEX.get(id);
+    }
+
+    public static List<Entry> recent(int limit) {
+        return INDEX.values().stream()
+                .sorted(Comparator.comparingLong(Entry::id).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Reads a journaled explosion back through a read-only memory mapping of its region file.
+     */
+    public static JournalRecord read(Entry entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(entry.file(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, entry.offset(), entry.length());
+            return JournalRecord.decode(buffer);
+        }
+    }
+
+    private static void write(Runnable task) {
+        writes = writes.thenRunAsync(task, Util.getIoWorkerExecutor()).exceptionally(e -> {
+            Vibecraft.LOGGER.error("Explosion journal write failed", e);
+            return null;
+        });
+    }
+
+    private static void append(RegistryKey<World> dimension, Path file, JournalRecord record) {
+        try {
+            byte[] bytes = record.encode();
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                long offset = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                INDEX.put(record.id(), new Entry(record.id(), dimension, file, offset, bytes.length,
+                        record.gameTime(), record.center(), record.size()));
+                BYTES.addAndGet(bytes.length);
+            }
+        } catch (IOException e) {
+            Vibecraft.LOGGER.error("Failed to journal explosion {}", record.id(), e);
+        }
+    }
+
+    /**
+     * Deletes the least recently written region files, other than {@code keep}, until the journal fits its cap.
+     */
+    private static void prune(@Nullable Path keep) {
+        Path directory = root;
+        if (directory == null || BYTES.get() <= maxBytes || !Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(f -> f.toString().endsWith(FILE_SUFFIX) && !f.equals(keep))
+                    .sorted(Comparator.comparingLong(ExplosionJournal::lastModified))
+                    .toList();
+        } catch (IOException e) {
+            Vibecraft.LOGGER.error("Failed to list explosion journal files", e);
+            return;
+        }
+
+        int deleted = 0;
+        for (Path file : files) {
+            if (BYTES.get() <= maxBytes) {
+                break;
+            }
+            try {
+                long size = Files.size(file);
+                Files.delete(file);
+                BYTES.addAndGet(-size);
+                INDEX.values().removeIf(entry -> entry.file().equals(file));
+                deleted++;
+            } catch (IOException e) {
+                Vibecraft.LOGGER.warn("Failed to prune explosion journal file {}", file, e);
+            }
+        }
+        Vibecraft.LOGGER.info("Pruned {} explosion journal files, {} KB left", deleted, BYTES.get() >> 10);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Walks the record headers of a region file, skipping record bodies by their stored length.
+     */
+    private static void indexFile(RegistryKey<World> dimension, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= JournalRecord.HEADER_BYTES) {
+                int offset = buffer.position();
+                if (buffer.getInt() != JournalRecord.MAGIC) {
+                    Vibecraft.LOGGER.warn("Truncating explosion journal index of {} at corrupt offset {}", file,
+                            offset);
+                    return;
+                }
+                int length = buffer.getInt();
+                if (length < 8 + 8 + 12 + 4 || length > buffer.remaining()) {
+                    // Torn write at the tail of the file
+                    return;
+                }
+                long id = buffer.getLong();
+                long gameTime = buffer.getLong();
+                BlockPos center = new BlockPos(buffer.getInt(), buffer.getInt(), buffer.getInt());
+                int paletteSize = buffer.getInt();
+                buffer.position(buffer.position() + paletteSize * 4);
+                int blockCount = buffer.getInt();
+
+                INDEX.put(id, new Entry(id, dimension, file, offset, length + 8, gameTime, center, blockCount));
+                NEXT_ID.accumulateAndGet(id + 1, Math::max);
+                buffer.position(offset + 8 + length);
+            }
+        }
+    }
+
+    private static Path directory(RegistryKey<World> dimension) {
+        Identifier id = dimension.getValue();
+        return root.resolve(id.getNamespace()).resolve(id.getPath());
+    }
+}
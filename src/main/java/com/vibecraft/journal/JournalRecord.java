@@ -0,0 +1,162 @@
+package com.vibecraft.journal;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.util.math.BlockPos;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * One journaled explosion: the blocks it destroyed, stored as packed positions plus indices into a palette of raw
+ * block state IDs, and the NBT of any block entities among them.
+ * <p>
+ * On disk a record is {@code MAGIC, length, id, gameTime, center, palette, blocks, block entities}; the length
+ * covers everything after itself so readers can skip records without decoding them. Palette indices are written as
+ * unsigned shorts, which bounds a single record to 65536 distinct states.
+ */
+public final class JournalRecord {
+
+    static final int MAGIC = 0x56454A31; // "VEJ1"
+    static final int HEADER_BYTES = 4 + 4 + 8;
+    private static final int MAX_PALETTE = 0xFFFF;
+
+    private final long id;
+    private final long gameTime;
+    private final BlockPos center;
+    private final long[] positions;
+    private final int[] rawStates;
+    private final Int2ObjectMap<NbtCompound> blockEntities;
+
+    public JournalRecord(long id, long gameTime, BlockPos center, long[] positions, int[] rawStates,
+            Int2ObjectMap<NbtCompound> blockEntities) {
+        this.id = id;
+        this.gameTime = gameTime;
+        this.center = center;
+        this.positions = positions;
+        this.rawStates = rawStates;
+        this.blockEntities = blockEntities;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public long gameTime() {
+        return gameTime;
+    }
+
+    public BlockPos center() {
+        return center;
+    }
+
+    public int size() {
+        return positions.length;
+    }
+
+    public long position(int index) {
+        return positions[index];
+    }
+
+    public int rawState(int index) {
+        return rawStates[index];
+    }
+
+    public NbtCompound blockEntity(int index) {
+        return blockEntities.get(index);
+    }
+
+    byte[] encode() throws IOException {
+        Int2IntOpenHashMap paletteIndex = new Int2IntOpenHashMap();
+        paletteIndex.defaultReturnValue(-1);
+        IntArrayList palette = new IntArrayList();
+        for (int rawState : rawStates) {
+            if (paletteIndex.putIfAbsent(rawState, palette.size()) == -1) {
+                palette.add(rawState);
+            }
+        }
+        if (palette.size() > MAX_PALETTE) {
+            throw new IOException("Explosion " + id + " touched too many distinct block states: " + palette.size());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + positions.length * 10);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(0); // length, patched below
+        out.writeLong(id);
+        out.writeLong(gameTime);
+        out.writeInt(center.getX());
+        out.writeInt(center.getY());
+        out.writeInt(center.getZ());
+
+        out.writeInt(palette.size());
+        for (int i = 0; i < palette.size(); i++) {
+            out.writeInt(palette.getInt(i));
+        }
+
+        out.writeInt(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            out.writeLong(positions[i]);
+            out.writeShort(paletteIndex.get(rawStates[i]));
+        }
+
+        out.writeInt(blockEntities.size());
+        for (Int2ObjectMap.Entry<NbtCompound> entry : blockEntities.int2ObjectEntrySet()) {
+            ByteArrayOutputStream nbt = new ByteArrayOutputStream();
+            NbtIo.write(entry.getValue(), new DataOutputStream(nbt));
+            out.writeInt(entry.getIntKey());
+            out.writeInt(nbt.size());
+            nbt.writeTo(out);
+        }
+        out.flush();
+
+        byte[] encoded = bytes.toByteArray();
+        ByteBuffer.wrap(encoded).putInt(4, encoded.length - 8);
+        return encoded;
+    }
+
+    /**
+     * Decodes the record starting at the buffer's position and leaves the position right after it.
+     */
+    static JournalRecord decode(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Corrupt explosion journal record at " + (buffer.position() - 4));
+        }
+        buffer.getInt(); // length
+        long id = buffer.getLong();
+        long gameTime = buffer.getLong();
+        BlockPos center = new BlockPos(buffer.getInt(), buffer.getInt(), buffer.getInt());
+
+        int[] palette = new int[buffer.getInt()];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = buffer.getInt();
+        }
+
+        int count = buffer.getInt();
+        long[] positions = new long[count];
+        int[] rawStates = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = buffer.getLong();
+            rawStates[i] = palette[Short.toUnsignedInt(buffer.getShort())];
+        }
+
+        int blockEntityCount = buffer.getInt();
+        Int2ObjectMap<NbtCompound> blockEntities = new Int2ObjectOpenHashMap<>(blockEntityCount);
+        for (int i = 0; i < blockEntityCount; i++) {
+            int index = buffer.getInt();
+            byte[] nbt = new byte[buffer.getInt()];
+            buffer.get(nbt);
+            blockEntities.put(index, NbtIo.readCompound(new DataInputStream(new ByteArrayInputStream(nbt))));
+        }
+
+        return new JournalRecord(id, gameTime, center, positions, rawStates, blockEntities);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vibecraft.mixin;
+
+import com.vibecraft.tnt.BatchedTnt;
+import com.vibecraft.tnt.LaunchedTntBatch;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.EntityTrackerEntry;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(EntityTrackerEntry.class)
+public abstract class EntityTrackerEntryMixin {
+
+    @Shadow
+    @Final
+    private Entity entity;
+
+    @Shadow
+    protected abstract void syncEntityData();
+
+    @Inject(method = "tick", at = @At("HEAD"), cancellable = true)
+    private void onTick(CallbackInfo ci) {
+        if (LaunchedTntBatch.isReducedTracking() && entity instanceof BatchedTnt tnt && tnt.vibecraft$isBatched()) {
+            // Clients extrapolate batched TNT themselves, the batch sends corrections when needed. Only the movement
+            // updates are skipped: data tracker changes such as the fuse still go out
+            syncEntityData();
+            ci.cancel();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.vibecraft.mixin;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.explosion.ExplosionImpl;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+import java.util.List;
+
+/**
+ * Exposes vanilla's ray march so alternative explosion engines can be checked against it.
+ */
+@Mixin(ExplosionImpl.class)
+public interface ExplosionImplAccessor {
+
+    @Invoker("getBlocksToDestroy")
+    List<BlockPos> vibecraft$getBlocksToDestroy();
+}
@@ -0,0 +1,122 @@
+package com.vibecraft.mixin;
+
+import com.vibecraft.chunk.ChunkSaveThrottle;
+import com.vibecraft.config.ExplosionConfig;
+import com.vibecraft.explosion.ActiveExplosion;
+import com.vibecraft.explosion.CraterHints;
+import com.vibecraft.explosion.ExplosionRayMarch;
+import com.vibecraft.explosion.ExposureCache;
+import com.vibecraft.explosion.VectorExplosion;
+import com.vibecraft.explosion.VibecraftExplosions;
+import com.vibecraft.explosion.VoxelSphereExplosion;
+import com.vibecraft.journal.CraterRegenerator;
+import com.vibecraft.journal.ExplosionJournal;
+import com.vibecraft.journal.JournalRecord;
+import com.vibecraft.region.ProtectedRegions;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+import net.minecraft.world.explosion.ExplosionImpl;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.List;
+
+@Mixin(ExplosionImpl.class)
+public abstract class ExplosionImplMixin {
+
+    @Shadow
+    @Final
+    private ServerWorld world;
+
+    @Shadow
+    @Final
+    private float power;
+
+    @Shadow
+    @Final
+    private Vec3d pos;
+
+    @Shadow
+    @Final
+    private ExplosionBehavior behavior;
+
+    @Inject(method = "getBlocksToDestroy", at = @At("HEAD"), cancellable = true)
+    private void onGetBlocksToDestroy(CallbackInfoReturnable<List<BlockPos>> cir) {
+        ActiveExplosion explosion = VibecraftExplosions.current();
+        if (explosion == null || explosion.world() != world) {
+            return;
+        }
+
+        List<BlockPos> positions;
+        if (ExplosionConfig.getEngine() == ExplosionConfig.Engine.VOXEL) {
+            positions = VoxelSphereExplosion.compute((Explosion) (Object) this, world, behavior, pos, power);
+        } else if (ExplosionConfig.getEngine() == ExplosionConfig.Engine.SIMD) {
+            positions = VectorExplosion.march((Explosion) (Object) this, world, behavior, pos, power);
+        } else if (ExplosionRayMarch.isEnabled()) {
+            positions = ExplosionRayMarch.march((Explosion) (Object) this, world, behavior, pos, power);
+        } else {
+            return;
+        }
+        // Returning here skips the RETURN injection below
+        ProtectedRegions.get(world).filter(positions);
+        cir.setReturnValue(positions);
+    }
+
+    @Inject(method = "getBlocksToDestroy", at = @At("RETURN"))
+    private void onBlocksToDestroy(CallbackInfoReturnable<List<BlockPos>> cir) {
+        // Every explosion spares protected regions. Filtered here rather than in destroyBlocks, since createFire gets
+        // the same list even when the explosion destroys no blocks (mobGriefing off)
+        ProtectedRegions.get(world).filter(cir.getReturnValue());
+    }
+
+    @Inject(method = "destroyBlocks", at = @At("HEAD"))
+    private void onDestroyBlocks(List<BlockPos> positions, CallbackInfo ci) {
+        ActiveExplosion explosion = VibecraftExplosions.current();
+        if (explosion == null || explosion.world() != world) {
+            return;
+        }
+
+        explosion.addBlocksAffected(positions.size());
+        ChunkSaveThrottle.track(world, positions);
+        CraterHints.send(world, positions);
+        JournalRecord record = ExplosionJournal.record(world, explosion, positions);
+        if (record != null) {
+            CraterRegenerator.onJournaled(world, record);
+        }
+    }
+
+    @Inject(method = "destroyBlocks", at = @At("TAIL"))
+    private void afterDestroyBlocks(List<BlockPos> positions, CallbackInfo ci) {
+        // Cached exposure was computed against the blocks that are now gone, whichever explosion removed them
+        if (!positions.isEmpty()) {
+            ExposureCache.onBlocksDestroyed();
+        }
+    }
+
+    @Inject(method = "damageEntities", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/explosion/ExplosionImpl;calculateReceivedDamage(Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/entity/Entity;)F"))
+    private void onCalculateReceivedDamage(CallbackInfo ci) {
+        ActiveExplosion explosion = VibecraftExplosions.current();
+        if (explosion != null && explosion.world() == world) {
+            explosion.addEntityHit();
+        }
+    }
+
+    @Inject(method = "calculateReceivedDamage", at = @At("HEAD"), cancellable = true)
+    private static void onExposure(Vec3d center, Entity entity, CallbackInfoReturnable<Float> cir) {
+        ActiveExplosion explosion = VibecraftExplosions.current();
+        if (explosion != null && explosion.world() == entity.getWorld()) {
+            // Vanilla's damage radius is twice the explosion power
+            cir.setReturnValue(ExposureCache.exposure(center, entity, explosion.power() * 2.0f));
+        }
+    }
+}
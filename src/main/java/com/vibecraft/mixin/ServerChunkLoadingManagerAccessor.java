@@ -0,0 +1,17 @@
+package com.vibecraft.mixin;
+
+import net.minecraft.server.world.ServerChunkLoadingManager;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+/**
+ * Exposes vanilla's single-chunk save, which serializes on the calling thread and hands the write to the region IO
+ * worker. It marks the chunk saved, so the next autosave skips it.
+ */
+@Mixin(ServerChunkLoadingManager.class)
+public interface ServerChunkLoadingManagerAccessor {
+
+    @Invoker("save")
+    boolean vibecraft$save(Chunk chunk);
+}
@@ -0,0 +1,70 @@
+package com.vibecraft.mixin;
+
+import com.vibecraft.config.ExplosionConfig;
+import com.vibecraft.explosion.ExplosionEffectBatcher;
+import com.vibecraft.explosion.VanillaExplosion;
+import com.vibecraft.explosion.VibecraftExplosions;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.ExplosionS2CPacket;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.world.World;
+import net.minecraft.world.explosion.ExplosionBehavior;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin {
+
+    /**
+     * Multiplies every explosion that does not come through {@link VibecraftExplosions} (creepers, beds, end
+     * crystals, withers, respawn anchors, plain TNT), using the policy for its source. One that rolls anything but 1x
+     * is cancelled here and handed to {@link VibecraftExplosions#takeOver}, which creates it again with the new power
+     * once hotspots and the budget allow.
+     */
+    @Inject(method = "createExplosion", at = @At("HEAD"), cancellable = true)
+    private void multiplyPower(@Nullable Entity entity, @Nullable DamageSource damageSource,
+            @Nullable ExplosionBehavior behavior, double x, double y, double z, float power, boolean createFire,
+            World.ExplosionSourceType sourceType, ParticleEffect smallParticle, ParticleEffect largeParticle,
+            RegistryEntry<SoundEvent> soundEvent, CallbackInfo ci) {
+        // Vibecraft's own explosions have had their multiplier applied already
+        if (VibecraftExplosions.current() != null) {
+            return;
+        }
+
+        // One array lookup by entity type raw id
+        float multiplier = ExplosionConfig.computeMultiplier(entity);
+        if (multiplier == 1.0f) {
+            return;
+        }
+
+        ci.cancel();
+        String kind = entity == null ? "Block" : Registries.ENTITY_TYPE.getId(entity.getType()).getPath();
+        // A damage source made from the entity itself is made again from it when the explosion runs, so a deferred
+        // explosion does not keep the entity alive through it
+        DamageSource keptDamageSource = damageSource != null && entity != null && damageSource.getSource() == entity
+                ? null : damageSource;
+        VibecraftExplosions.takeOver((ServerWorld) (Object) this, entity, x, y, z, power, multiplier, kind,
+                new VanillaExplosion(keptDamageSource, behavior, createFire, sourceType, smallParticle, largeParticle,
+                        soundEvent));
+    }
+
+    @Redirect(method = "createExplosion", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/server/network/ServerPlayNetworkHandler;sendPacket(Lnet/minecraft/network/packet/Packet;)V"))
+    private void onSendExplosionPacket(ServerPlayNetworkHandler handler, Packet<?> packet) {
+        if (VibecraftExplosions.current() == null || !(packet instanceof ExplosionS2CPacket explosion)
+                || !ExplosionEffectBatcher.offer(handler.player, explosion)) {
+            handler.sendPacket(packet);
+        }
+    }
+}
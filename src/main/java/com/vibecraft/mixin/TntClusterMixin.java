@@ -0,0 +1,66 @@
+package com.vibecraft.mixin;
+
+import com.vibecraft.explosion.VibecraftExplosions;
+import com.vibecraft.tnt.ClusteredTnt;
+import com.vibecraft.tnt.TntClusterMerger;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.storage.ReadView;
+import net.minecraft.storage.WriteView;
+import net.minecraft.world.GameRules;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(TntEntity.class)
+public abstract class TntClusterMixin implements ClusteredTnt {
+
+    @Unique
+    private static final String CLUSTER_COUNT_KEY = "vibecraft:cluster_count";
+
+    @Shadow
+    private float explosionPower;
+
+    @Unique
+    private int clusterCount = 1;
+
+    @Override
+    public int vibecraft$getClusterCount() {
+        return clusterCount;
+    }
+
+    @Override
+    public void vibecraft$setClusterCount(int count) {
+        clusterCount = Math.max(1, count);
+    }
+
+    @Inject(method = "writeCustomData", at = @At("TAIL"))
+    private void onWriteCustomData(WriteView view, CallbackInfo ci) {
+        if (clusterCount > 1) {
+            view.putInt(CLUSTER_COUNT_KEY, clusterCount);
+        }
+    }
+
+    @Inject(method = "readCustomData", at = @At("TAIL"))
+    private void onReadCustomData(ReadView view, CallbackInfo ci) {
+        clusterCount = Math.max(1, view.getInt(CLUSTER_COUNT_KEY, 1));
+    }
+
+    @Inject(method = "explode", at = @At("HEAD"), cancellable = true)
+    private void onExplode(CallbackInfo ci) {
+        if (clusterCount <= 1) {
+            return;
+        }
+
+        TntEntity self = (TntEntity) (Object) this;
+        if (self.getWorld() instanceof ServerWorld world && world.getGameRules().getBoolean(GameRules.TNT_EXPLODES)) {
+            float basePower = TntClusterMerger.combinedPower(explosionPower, clusterCount);
+            VibecraftExplosions.detonate(world, self, self.getX(), self.getBodyY(0.0625), self.getZ(), basePower,
+                    "TNT cluster x" + clusterCount);
+        }
+        ci.cancel();
+    }
+}
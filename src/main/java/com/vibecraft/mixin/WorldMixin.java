@@ -0,0 +1,23 @@
+package com.vibecraft.mixin;
+
+import com.vibecraft.arena.ArenaManager;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(World.class)
+public abstract class WorldMixin {
+
+    @Inject(method = "setBlockState(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;II)Z",
+            at = @At("HEAD"))
+    private void onSetBlockState(BlockPos pos, BlockState state, int flags, int maxUpdateDepth,
+            CallbackInfoReturnable<Boolean> cir) {
+        if (ArenaManager.getActive() != null) {
+            ArenaManager.onBlockChanged((World) (Object) this, pos);
+        }
+    }
+}
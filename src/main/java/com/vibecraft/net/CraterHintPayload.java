@@ -0,0 +1,38 @@
+package com.vibecraft.net;
+
+import com.vibecraft.Vibecraft;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Tells clients that a Vibecraft explosion is about to change every chunk section in the given box (inclusive, in
+ * section coordinates), so they can spread the mesh rebuilds out instead of doing them all in one frame. Sent before
+ * the block updates themselves, which go out with the chunk deltas at the end of the tick.
+ */
+public record CraterHintPayload(int minX, int minY, int minZ, int maxX, int maxY, int maxZ)
+        implements CustomPayload {
+    public static final CustomPayload.Id<CraterHintPayload> ID = new CustomPayload.Id<>(
+            Identifier.of(Vibecraft.MOD_ID, "crater_hint"));
+    public static final PacketCodec<RegistryByteBuf, CraterHintPayload> CODEC = PacketCodec.of(
+            (value, buf) -> {
+                buf.writeVarInt(value.minX);
+                buf.writeVarInt(value.minY);
+                buf.writeVarInt(value.minZ);
+                buf.writeVarInt(value.maxX);
+                buf.writeVarInt(value.maxY);
+                buf.writeVarInt(value.maxZ);
+            },
+            buf -> new CraterHintPayload(buf.readVarInt(), buf.readVarInt(), buf.readVarInt(), buf.readVarInt(),
+                    buf.readVarInt(), buf.readVarInt()));
+
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,46 @@
+package com.vibecraft.net;
+
+import com.vibecraft.Vibecraft;
+import com.vibecraft.tnt.LaunchMath;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Server's answer to a {@link LaunchTntPayload} or {@link LaunchVolleyPayload}: the ids of the real TNT entities,
+ * in launch order, whose spawn packets have already been sent. No ids means the launch was rejected.
+ */
+public record LaunchAckPayload(int sequence, int[] entityIds) implements CustomPayload {
+    public static final CustomPayload.Id<LaunchAckPayload> ID = new CustomPayload.Id<>(
+            Identifier.of(Vibecraft.MOD_ID, "launch_ack"));
+    public static final PacketCodec<RegistryByteBuf, LaunchAckPayload> CODEC = PacketCodec.of(
+            (value, buf) -> {
+                buf.writeVarInt(value.sequence);
+                buf.writeVarInt(value.entityIds.length);
+                for (int entityId : value.entityIds) {
+                    buf.writeVarInt(entityId);
+                }
+            },
+            buf -> {
+                int sequence = buf.readVarInt();
+                int count = buf.readVarInt();
+                if (count < 0 || count > LaunchMath.MAX_VOLLEY) {
+                    throw new IllegalArgumentException("Launch ack with " + count + " entities");
+                }
+                int[] entityIds = new int[count];
+                for (int i = 0; i < count; i++) {
+                    entityIds[i] = buf.readVarInt();
+                }
+                return new LaunchAckPayload(sequence, entityIds);
+            });
+
+    public boolean accepted() {
+        return entityIds.length > 0;
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -6,15 +6,22 @@ import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.util.Identifier;
 
-public record LaunchTntPayload(float power) implements CustomPayload {
+/**
+ * Client asks to launch TNT. {@code sequence} identifies the client's predicted copy and is echoed back in
+ * {@link LaunchAckPayload}.
+ */
+public record LaunchTntPayload(int sequence, float power) implements CustomPayload {
     public static final CustomPayload.Id<LaunchTntPayload> ID = new CustomPayload.Id<>(
             Identifier.of(Vibecraft.MOD_ID, "launch_tnt"));
     public static final PacketCodec<RegistryByteBuf, LaunchTntPayload> CODEC = PacketCodec.of(
-            (value, buf) -> buf.writeFloat(value.power),
-            buf -> new LaunchTntPayload(buf.readFloat()));
+            (value, buf) -> {
+                buf.writeVarInt(value.sequence);
+                buf.writeFloat(value.power);
+            },
+            buf -> new LaunchTntPayload(buf.readVarInt(), buf.readFloat()));
 
     @Override
     public Id<? extends CustomPayload> getId() {
         return ID;
     }
-}
\ No newline at end of file
+}
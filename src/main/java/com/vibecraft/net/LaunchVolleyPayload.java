@@ -0,0 +1,33 @@
+package com.vibecraft.net;
+
+import com.vibecraft.Vibecraft;
+import com.vibecraft.tnt.VolleyPattern;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Client asks to launch {@code count} TNT at once, spread by {@code pattern} over {@code spread} degrees. Answered
+ * with one {@link LaunchAckPayload} for the whole volley.
+ */
+public record LaunchVolleyPayload(int sequence, float power, int count, VolleyPattern pattern, float spread)
+        implements CustomPayload {
+    public static final CustomPayload.Id<LaunchVolleyPayload> ID = new CustomPayload.Id<>(
+            Identifier.of(Vibecraft.MOD_ID, "launch_volley"));
+    public static final PacketCodec<RegistryByteBuf, LaunchVolleyPayload> CODEC = PacketCodec.of(
+            (value, buf) -> {
+                buf.writeVarInt(value.sequence);
+                buf.writeFloat(value.power);
+                buf.writeVarInt(value.count);
+                buf.writeEnumConstant(value.pattern);
+                buf.writeFloat(value.spread);
+            },
+            buf -> new LaunchVolleyPayload(buf.readVarInt(), buf.readFloat(), buf.readVarInt(),
+                    buf.readEnumConstant(VolleyPattern.class), buf.readFloat()));
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
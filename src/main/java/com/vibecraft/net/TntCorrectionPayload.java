@@ -0,0 +1,36 @@
+package com.vibecraft.net;
+
+import com.vibecraft.Vibecraft;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Puts a launched TNT back on the server's trajectory. Launched TNT gets no regular movement updates while the
+ * server simulates it in a batch, since clients fly the same ballistic arc from the spawn packet on their own; this
+ * is only sent once the two drift apart, e.g. after a push or explosion knockback.
+ */
+public record TntCorrectionPayload(int entityId, double x, double y, double z, double velocityX, double velocityY,
+        double velocityZ, int fuse) implements CustomPayload {
+    public static final CustomPayload.Id<TntCorrectionPayload> ID = new CustomPayload.Id<>(
+            Identifier.of(Vibecraft.MOD_ID, "tnt_correction"));
+    public static final PacketCodec<RegistryByteBuf, TntCorrectionPayload> CODEC = PacketCodec.of(
+            (value, buf) -> {
+                buf.writeVarInt(value.entityId);
+                buf.writeDouble(value.x);
+                buf.writeDouble(value.y);
+                buf.writeDouble(value.z);
+                buf.writeDouble(value.velocityX);
+                buf.writeDouble(value.velocityY);
+                buf.writeDouble(value.velocityZ);
+                buf.writeVarInt(value.fuse);
+            },
+            buf -> new TntCorrectionPayload(buf.readVarInt(), buf.readDouble(), buf.readDouble(), buf.readDouble(),
+                    buf.readDouble(), buf.readDouble(), buf.readDouble(), buf.readVarInt()));
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,20 @@
+package com.vibecraft.region;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.util.math.BlockBox;
+
+/**
+ * A named box of blocks, inclusive on both ends, that explosions do not destroy.
+ */
+public record ProtectedRegion(String name, BlockBox box) {
+
+    public static final Codec<ProtectedRegion> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.STRING.fieldOf("name").forGetter(ProtectedRegion::name),
+            BlockBox.CODEC.fieldOf("box").forGetter(ProtectedRegion::box))
+            .apply(instance, ProtectedRegion::new));
+
+    public long volume() {
+        return (long) box.getBlockCountX() * box.getBlockCountY() * box.getBlockCountZ();
+    }
+}
@@ -0,0 +1,129 @@
+package com.vibecraft.region;
+
+import com.mojang.serialization.Codec;
+import com.vibecraft.sim.RegionIndex;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.PersistentStateType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The protected regions of one dimension, saved with it as {@code data/vibecraft_regions.dat}.
+ * <p>
+ * Explosions hand their block lists to {@link #filter} before destroying anything. When the explosion's blocks lie
+ * clear of every region, which is nearly always, that costs one box test per region. Otherwise a
+ * {@link RegionIndex} answers a whole section at a time and only tests single blocks in sections a region boundary
+ * runs through.
+ */
+public final class ProtectedRegions extends PersistentState {
+
+    private static final Codec<ProtectedRegions> CODEC = ProtectedRegion.CODEC.listOf()
+            .xmap(ProtectedRegions::new, state -> state.regions);
+
+    private static final PersistentStateType<ProtectedRegions> TYPE = new PersistentStateType<>("vibecraft_regions",
+            ProtectedRegions::new, CODEC, null);
+
+    private static long spared;
+
+    private final List<ProtectedRegion> regions;
+    private RegionIndex index = new RegionIndex();
+
+    private ProtectedRegions() {
+        this(List.of());
+    }
+
+    private ProtectedRegions(List<ProtectedRegion> regions) {
+        this.regions = new ArrayList<>(regions);
+        rebuild();
+    }
+
+    public static ProtectedRegions get(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(TYPE);
+    }
+
+    /**
+     * Blocks kept from explosions so far, across all dimensions.
+     */
+    public static long getSpared() {
+        return spared;
+    }
+
+    public List<ProtectedRegion> getRegions() {
+        return Collections.unmodifiableList(regions);
+    }
+
+    @Nullable
+    public ProtectedRegion find(String name) {
+        for (ProtectedRegion region : regions) {
+            if (region.name().equals(name)) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a region, replacing any with the same name.
+     *
+     * @throws IllegalArgumentException if the region is too large to index
+     */
+    public void add(ProtectedRegion region) {
+        BlockBox box = region.box();
+        // Validate against a scratch index first, so a rejected region leaves everything as it was
+        new RegionIndex().add(box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(),
+                box.getMaxZ());
+        regions.removeIf(existing -> existing.name().equals(region.name()));
+        regions.add(region);
+        rebuild();
+        markDirty();
+    }
+
+    public boolean remove(String name) {
+        if (!regions.removeIf(region -> region.name().equals(name))) {
+            return false;
+        }
+        rebuild();
+        markDirty();
+        return true;
+    }
+
+    public boolean isProtected(BlockPos pos) {
+        return index.contains(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Removes the protected positions from an explosion's block list and returns how many were removed.
+     */
+    public int filter(List<BlockPos> positions) {
+        if (index.isEmpty() || positions.isEmpty()) {
+            return 0;
+        }
+
+        BlockBox bounds = BlockBox.encompassPositions(positions).orElseThrow();
+        if (!index.intersects(bounds.getMinX(), bounds.getMinY(), bounds.getMinZ(), bounds.getMaxX(),
+                bounds.getMaxY(), bounds.getMaxZ())) {
+            return 0;
+        }
+
+        int before = positions.size();
+        positions.removeIf(pos -> index.contains(pos.getX(), pos.getY(), pos.getZ()));
+        int removed = before - positions.size();
+        spared += removed;
+        return removed;
+    }
+
+    private void rebuild() {
+        RegionIndex rebuilt = new RegionIndex();
+        for (ProtectedRegion region : regions) {
+            BlockBox box = region.box();
+            rebuilt.add(box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ());
+        }
+        index = rebuilt;
+    }
+}
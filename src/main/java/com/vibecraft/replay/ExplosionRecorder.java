@@ -0,0 +1,229 @@
+package com.vibecraft.replay;
+
+import com.vibecraft.Vibecraft;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Util;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Records every Vibecraft explosion and TNT launch to a {@link Recording} file under
+ * {@code <world>/vibecraft/recordings}, so an incident can be replayed later with {@link ExplosionReplay}.
+ * <p>
+ * Records are encoded into a memory buffer on the server thread and appended to the file on the IO worker in 64 KiB
+ * chunks, one after another. While recording, each explosion reseeds the world's random number generator with a
+ * fresh seed that goes into the record, which makes the ray jitter and the drop order repeatable on replay.
+ */
+public final class ExplosionRecorder {
+
+    public static final String FILE_SUFFIX = ".vrec";
+    private static final Pattern NAME = Pattern.compile("[a-z0-9_.-]+");
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    @Nullable
+    private static Session session;
+    private static CompletableFuture<Void> writes = CompletableFuture.completedFuture(null);
+
+    private ExplosionRecorder() {
+    }
+
+    private static final class Session {
+        final Path file;
+        final int startTick;
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_BYTES + 1024);
+        final DataOutputStream out = new DataOutputStream(buffer);
+        final Object2IntMap<String> strings = new Object2IntOpenHashMap<>();
+        int lastTick;
+        int explosions;
+        int launches;
+
+        Session(Path file, int startTick) {
+            this.file = file;
+            this.startTick = startTick;
+            this.lastTick = startTick;
+        }
+    }
+
+    public static boolean isValidName(String name) {
+        return NAME.matcher(name).matches();
+    }
+
+    public static Path directory(MinecraftServer server) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve(Vibecraft.MOD_ID).resolve("recordings");
+    }
+
+    public static Path file(MinecraftServer server, String name) {
+        return directory(server).resolve(name + FILE_SUFFIX);
+    }
+
+    public static Stream<String> list(MinecraftServer server) throws IOException {
+        Path directory = directory(server);
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        return Files.list(directory)
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(FILE_SUFFIX))
+                .map(name -> name.substring(0, name.length() - FILE_SUFFIX.length()))
+                .sorted();
+    }
+
+    public static boolean isRecording() {
+        return session != null;
+    }
+
+    /**
+     * Starts a new recording, replacing any file of the same name. A recording already running is stopped first.
+     */
+    public static void start(MinecraftServer server, String name) throws IOException {
+        stop();
+        awaitWrites();
+        Path file = file(server, name);
+        Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(Recording.MAGIC);
+            out.writeByte(Recording.VERSION);
+        }
+        session = new Session(file, server.getTicks());
+    }
+
+    /**
+     * Stops recording and returns a one-line summary, or {@code null} if nothing was being recorded.
+     */
+    @Nullable
+    public static String stop() {
+        Session current = session;
+        if (current == null) {
+            return null;
+        }
+        session = null;
+        flush(current);
+        return String.format("%d explosions and %d launches over %d ticks in %s", current.explosions,
+                current.launches, current.lastTick - current.startTick, current.file.getFileName());
+    }
+
+    /**
+     * Called on the server thread right before a Vibecraft explosion is created.
+     */
+    public static void onExplosion(ServerWorld world, String kind, double x, double y, double z, float basePower,
+            float multiplier) {
+        Session current = session;
+        if (current == null || ExplosionReplay.isReplaying()) {
+            return;
+        }
+
+        long seed = ThreadLocalRandom.current().nextLong();
+        world.getRandom().setSeed(seed);
+        try {
+            int dimension = string(current, world.getRegistryKey().getValue().toString());
+            int kindIndex = string(current, kind);
+            DataOutputStream out = current.out;
+            out.writeByte(Recording.EXPLOSION);
+            Recording.writeVarInt(out, tickDelta(current, world));
+            Recording.writeVarInt(out, dimension);
+            Recording.writeVarInt(out, kindIndex);
+            out.writeDouble(x);
+            out.writeDouble(y);
+            out.writeDouble(z);
+            out.writeFloat(basePower);
+            out.writeFloat(multiplier);
+            out.writeLong(seed);
+        } catch (IOException e) {
+            // Writes go to a memory buffer and cannot fail
+            throw new IllegalStateException(e);
+        }
+        current.explosions++;
+        flushIfFull(current);
+    }
+
+    /**
+     * Called on the server thread for every launched TNT.
+     */
+    public static void onLaunch(ServerWorld world, Vec3d pos, Vec3d velocity) {
+        Session current = session;
+        if (current == null || ExplosionReplay.isReplaying()) {
+            return;
+        }
+
+        try {
+            int dimension = string(current, world.getRegistryKey().getValue().toString());
+            DataOutputStream out = current.out;
+            out.writeByte(Recording.LAUNCH);
+            Recording.writeVarInt(out, tickDelta(current, world));
+            Recording.writeVarInt(out, dimension);
+            out.writeDouble(pos.x);
+            out.writeDouble(pos.y);
+            out.writeDouble(pos.z);
+            out.writeFloat((float) velocity.x);
+            out.writeFloat((float) velocity.y);
+            out.writeFloat((float) velocity.z);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        current.launches++;
+        flushIfFull(current);
+    }
+
+    private static int tickDelta(Session current, ServerWorld world) {
+        int tick = world.getServer().getTicks();
+        int delta = Math.max(0, tick - current.lastTick);
+        current.lastTick = Math.max(tick, current.lastTick);
+        return delta;
+    }
+
+    private static int string(Session current, String value) throws IOException {
+        int index = current.strings.getOrDefault(value, -1);
+        if (index < 0) {
+            index = current.strings.size();
+            current.strings.put(value, index);
+            current.out.writeByte(Recording.STRING);
+            current.out.writeUTF(value);
+        }
+        return index;
+    }
+
+    private static void flushIfFull(Session current) {
+        if (current.buffer.size() >= FLUSH_BYTES) {
+            flush(current);
+        }
+    }
+
+    private static void flush(Session current) {
+        if (current.buffer.size() == 0) {
+            return;
+        }
+        byte[] chunk = current.buffer.toByteArray();
+        current.buffer.reset();
+        Path file = current.file;
+        // Chained so chunks land in the file in the order they were recorded
+        writes = writes.thenRunAsync(() -> {
+            try {
+                Files.write(file, chunk, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                Vibecraft.LOGGER.error("Failed to write explosion recording {}", file, e);
+            }
+        }, Util.getIoWorkerExecutor());
+    }
+
+    /**
+     * Waits for pending writes, so a recording that was just stopped can be read back.
+     */
+    public static void awaitWrites() {
+        writes.join();
+    }
+}
@@ -0,0 +1,134 @@
+package com.vibecraft.replay;
+
+import com.vibecraft.arena.ArenaManager;
+import com.vibecraft.arena.ArenaSnapshot;
+import com.vibecraft.explosion.VibecraftExplosions;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Re-injects the explosions of a {@link Recording} in their recorded order and tick spacing, each with its recorded
+ * multiplier and random seed, and reports how long they took.
+ * <p>
+ * If an arena snapshot is active, it is restored first so the replay starts from the same blocks every time.
+ * Launches are not re-spawned: the explosions they caused are already part of the recording.
+ */
+public final class ExplosionReplay {
+
+    @Nullable
+    private static Run active;
+
+    private ExplosionReplay() {
+    }
+
+    private static final class Run {
+        final ServerCommandSource source;
+        final List<Recording.Explosion> explosions;
+        final boolean burst;
+        final int startTick;
+        final LongArrayList nanos = new LongArrayList();
+        int next;
+        int skipped;
+        long worstTickNanos;
+        int worstTick;
+
+        Run(ServerCommandSource source, Recording recording, boolean burst, int startTick) {
+            this.source = source;
+            this.explosions = recording.explosions();
+            this.burst = burst;
+            this.startTick = startTick;
+        }
+    }
+
+    public static boolean isReplaying() {
+        return active != null;
+    }
+
+    /**
+     * Starts replaying {@code recording}. With {@code burst} every explosion runs in the next tick instead of at its
+     * recorded spacing. Returns whether an arena snapshot was restored first.
+     */
+    public static boolean start(ServerCommandSource source, Recording recording, boolean burst) {
+        cancel();
+        ArenaSnapshot arena = ArenaManager.getActive();
+        if (arena != null) {
+            arena.restore();
+        }
+        active = new Run(source, recording, burst, source.getServer().getTicks());
+        return arena != null;
+    }
+
+    public static void cancel() {
+        active = null;
+    }
+
+    public static void tick(MinecraftServer server) {
+        Run run = active;
+        if (run == null) {
+            return;
+        }
+
+        int elapsed = server.getTicks() - run.startTick;
+        long tickNanos = 0;
+        while (run.next < run.explosions.size()) {
+            Recording.Explosion explosion = run.explosions.get(run.next);
+            if (!run.burst && explosion.tick() > elapsed) {
+                break;
+            }
+            run.next++;
+
+            ServerWorld world = server.getWorld(RegistryKey.of(RegistryKeys.WORLD,
+                    Identifier.of(explosion.dimension())));
+            if (world == null) {
+                run.skipped++;
+                continue;
+            }
+            world.getRandom().setSeed(explosion.seed());
+            long start = System.nanoTime();
+            VibecraftExplosions.detonate(world, null, explosion.x(), explosion.y(), explosion.z(),
+                    explosion.basePower(), explosion.multiplier(), explosion.kind());
+            long took = System.nanoTime() - start;
+            run.nanos.add(took);
+            tickNanos += took;
+        }
+        if (tickNanos > run.worstTickNanos) {
+            run.worstTickNanos = tickNanos;
+            run.worstTick = elapsed;
+        }
+
+        if (run.next >= run.explosions.size()) {
+            active = null;
+            report(run);
+        }
+    }
+
+    private static void report(Run run) {
+        long[] sorted = run.nanos.toLongArray();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long nanos : sorted) {
+            total += nanos;
+        }
+        int count = sorted.length;
+        double mean = count == 0 ? 0 : total / (double) count / 1_000_000.0;
+        double p95 = count == 0 ? 0 : sorted[Math.min(count - 1, (int) Math.ceil(count * 0.95) - 1)] / 1_000_000.0;
+        double max = count == 0 ? 0 : sorted[count - 1] / 1_000_000.0;
+        String summary = String.format(
+                "▶ Replayed %d explosions (%d skipped): total %.1f ms, mean %.2f ms, p95 %.2f ms, max %.2f ms, "
+                        + "worst tick %.1f ms at +%d",
+                count, run.skipped, total / 1_000_000.0, mean, p95, max, run.worstTickNanos / 1_000_000.0,
+                run.worstTick);
+        run.source.sendFeedback(() -> Text.literal(summary).formatted(Formatting.GREEN), true);
+    }
+}
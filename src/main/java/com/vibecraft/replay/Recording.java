@@ -0,0 +1,129 @@
+package com.vibecraft.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded sequence of Vibecraft explosions and TNT launches.
+ * <p>
+ * File layout: a {@link #MAGIC} and {@link #VERSION} header, then tagged records. Ticks are stored as varint deltas
+ * from the previous record. Dimension ids and explosion kinds go into a string table the first time they appear,
+ * and records refer to them by index. A torn tail, e.g. after a crash, ends the recording at the last complete
+ * record.
+ */
+public final class Recording {
+
+    static final int MAGIC = 0x56524543; // "VREC"
+    static final int VERSION = 1;
+    static final byte STRING = 1;
+    static final byte EXPLOSION = 2;
+    static final byte LAUNCH = 3;
+
+    public record Explosion(int tick, String dimension, String kind, double x, double y, double z, float basePower,
+            float multiplier, long seed) {
+    }
+
+    public record Launch(int tick, String dimension, double x, double y, double z, double velocityX,
+            double velocityY, double velocityZ) {
+    }
+
+    private final List<Explosion> explosions;
+    private final List<Launch> launches;
+    private final int lengthTicks;
+
+    private Recording(List<Explosion> explosions, List<Launch> launches, int lengthTicks) {
+        this.explosions = explosions;
+        this.launches = launches;
+        this.lengthTicks = lengthTicks;
+    }
+
+    public List<Explosion> explosions() {
+        return explosions;
+    }
+
+    public List<Launch> launches() {
+        return launches;
+    }
+
+    public int lengthTicks() {
+        return lengthTicks;
+    }
+
+    public static Recording read(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return read(stream);
+        }
+    }
+
+    public static Recording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a Vibecraft recording");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported recording version " + version);
+        }
+
+        List<String> strings = new ArrayList<>();
+        List<Explosion> explosions = new ArrayList<>();
+        List<Launch> launches = new ArrayList<>();
+        int tick = 0;
+        try {
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    break;
+                }
+                switch (type) {
+                    case STRING -> strings.add(in.readUTF());
+                    case EXPLOSION -> {
+                        tick += readVarInt(in);
+                        String dimension = strings.get(readVarInt(in));
+                        String kind = strings.get(readVarInt(in));
+                        explosions.add(new Explosion(tick, dimension, kind, in.readDouble(), in.readDouble(),
+                                in.readDouble(), in.readFloat(), in.readFloat(), in.readLong()));
+                    }
+                    case LAUNCH -> {
+                        tick += readVarInt(in);
+                        String dimension = strings.get(readVarInt(in));
+                        launches.add(new Launch(tick, dimension, in.readDouble(), in.readDouble(), in.readDouble(),
+                                in.readFloat(), in.readFloat(), in.readFloat()));
+                    }
+                    default -> throw new IOException("Unknown record type " + type);
+                }
+            }
+        } catch (EOFException e) {
+            // Torn final record; keep everything before it
+        }
+        return new Recording(explosions, launches, tick);
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt too long");
+    }
+}
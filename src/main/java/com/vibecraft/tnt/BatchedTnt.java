@@ -0,0 +1,12 @@
+package com.vibecraft.tnt;
+
+/**
+ * Implemented by {@link net.minecraft.entity.TntEntity} through a mixin. While batched, the entity skips its own tick
+ * and only mirrors the state simulated by its world's {@link LaunchedTntBatch}.
+ */
+public interface BatchedTnt {
+
+    boolean vibecraft$isBatched();
+
+    void vibecraft$setBatched(boolean batched);
+}
@@ -0,0 +1,12 @@
+package com.vibecraft.tnt;
+
+/**
+ * Implemented by {@link net.minecraft.entity.TntEntity} through a mixin. A cluster is a single primed TNT entity
+ * standing in for {@code count} TNT that shared its fuse, position and velocity.
+ */
+public interface ClusteredTnt {
+
+    int vibecraft$getClusterCount();
+
+    void vibecraft$setClusterCount(int count);
+}
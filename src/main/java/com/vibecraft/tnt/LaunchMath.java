@@ -0,0 +1,72 @@
+package com.vibecraft.tnt;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Launch rules shared by the server, which spawns the real TNT, and the client, which spawns a predicted copy
+ * right away. Both sides must use these so the prediction lands where the real TNT will.
+ */
+public final class LaunchMath {
+
+    public static final int FUSE = 200;
+    public static final float MIN_POWER = 1.0f;
+    public static final float MAX_POWER = 5.0f;
+    public static final int MAX_VOLLEY = 64;
+    public static final float MAX_SPREAD = 90.0f;
+
+    private LaunchMath() {
+    }
+
+    /**
+     * Power for holding the attack button this long: 1x plus 1x per second, up to 5x.
+     */
+    public static float powerForHold(long millis) {
+        return Math.min(MIN_POWER + millis / 1000.0f, MAX_POWER);
+    }
+
+    public static boolean canLaunch(PlayerEntity player) {
+        return player != null && !player.isSpectator() && player.getMainHandStack().isOf(Items.TNT);
+    }
+
+    public static Vec3d spawnPos(PlayerEntity player) {
+        return player.getEyePos().add(player.getRotationVector().multiply(0.8));
+    }
+
+    public static Vec3d velocity(PlayerEntity player, float power) {
+        return velocity(player.getRotationVector(), power);
+    }
+
+    public static Vec3d velocity(Vec3d dir, float power) {
+        return new Vec3d(dir.x, Math.max(dir.y + 0.6, 0.35), dir.z).multiply(1.2 * power);
+    }
+
+    /**
+     * Launch velocities of a volley, one per TNT, spread around where the player is looking.
+     */
+    public static Vec3d[] volleyVelocities(PlayerEntity player, float power, int count, VolleyPattern pattern,
+            float spread) {
+        Vec3d[] directions = pattern.directions(player.getRotationVector(), count, spread);
+        for (int i = 0; i < directions.length; i++) {
+            directions[i] = velocity(directions[i], power);
+        }
+        return directions;
+    }
+
+    public static int clampVolley(int count) {
+        return Math.max(1, Math.min(count, MAX_VOLLEY));
+    }
+
+    /**
+     * Power a client asked for, limited to what holding the button can give. NaN stays NaN, for the caller to reject.
+     */
+    public static float clampPower(float power) {
+        return Float.isNaN(power) ? power : MathHelper.clamp(power, MIN_POWER, MAX_POWER);
+    }
+
+    public static float clampSpread(float spread) {
+        return Float.isNaN(spread) ? 0.0f : Math.max(0.0f, Math.min(spread, MAX_SPREAD));
+    }
+}
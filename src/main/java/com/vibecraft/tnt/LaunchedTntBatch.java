@@ -0,0 +1,444 @@
+package com.vibecraft.tnt;
+
+import com.vibecraft.explosion.VibecraftExplosions;
+import com.vibecraft.net.TntCorrectionPayload;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulates every launched TNT of one world in a single pass per tick.
+ * <p>
+ * Position, velocity and fuse live in parallel primitive arrays. Each tick all projectiles are integrated with the
+ * same ballistics as vanilla TNT, the blocks their bounding boxes sweep are checked ordered by chunk column so each
+ * column is looked up once, and finally the results are copied back onto the (otherwise idle) entities. The batch
+ * only flies TNT through air: a projectile whose sweep touches anything but air is handed back to the per-entity path
+ * for that tick, so it slides along walls, lands and splashes with vanilla collision and then detonates by the same
+ * on ground, in water or stalled rule as unbatched launched TNT.
+ * <p>
+ * With reduced tracking on, batched TNT gets no regular movement updates: clients fly the arc from the spawn packet
+ * with the same ballistics. The batch keeps a copy of what clients believe and sends a {@link TntCorrectionPayload}
+ * when the real state strays further than {@value #CORRECTION_DISTANCE} blocks or {@value #CORRECTION_SPEED}
+ * blocks/tick from it. That copy starts from the velocity as the spawn packet carries it, clamped to
+ * ±{@value #SPAWN_VELOCITY_LIMIT} blocks/tick and quantized to 1/8000, so fast launches are corrected on their first
+ * tick rather than never.
+ */
+public final class LaunchedTntBatch {
+
+    private static final double GRAVITY = 0.04;
+    private static final double DRAG = 0.98;
+    // TNT bounding box, 0.98 blocks wide and high
+    private static final double HALF_WIDTH = 0.49;
+    private static final double HEIGHT = 0.98;
+    private static final int FUSE_SYNC_INTERVAL = 20;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double CORRECTION_DISTANCE = 0.25;
+    private static final double CORRECTION_SPEED = 0.05;
+    // Velocity encoding of EntitySpawnS2CPacket
+    private static final double SPAWN_VELOCITY_LIMIT = 3.9;
+    private static final double SPAWN_VELOCITY_SCALE = 8000.0;
+
+    private static final Map<RegistryKey<World>, LaunchedTntBatch> BATCHES = new HashMap<>();
+    private static boolean enabled = true;
+    private static boolean reducedTracking = true;
+    private static long corrections;
+
+    private final ServerWorld world;
+    private int size;
+    private TntEntity[] entities = new TntEntity[INITIAL_CAPACITY];
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] z = new double[INITIAL_CAPACITY];
+    private double[] vx = new double[INITIAL_CAPACITY];
+    private double[] vy = new double[INITIAL_CAPACITY];
+    private double[] vz = new double[INITIAL_CAPACITY];
+    private int[] fuse = new int[INITIAL_CAPACITY];
+    // Client-side view of each projectile: the last state sent, flown forward without collisions
+    private double[] clientX = new double[INITIAL_CAPACITY];
+    private double[] clientY = new double[INITIAL_CAPACITY];
+    private double[] clientZ = new double[INITIAL_CAPACITY];
+    private double[] clientVx = new double[INITIAL_CAPACITY];
+    private double[] clientVy = new double[INITIAL_CAPACITY];
+    private double[] clientVz = new double[INITIAL_CAPACITY];
+    private long[] column = new long[INITIAL_CAPACITY];
+    private int[] order = new int[INITIAL_CAPACITY];
+    // Marks projectiles that leave the batch this tick, either by stalling or by being handed back to vanilla
+    private byte[] outcome = new byte[INITIAL_CAPACITY];
+
+    private static final byte FLYING = 0;
+    private static final byte IMPACT = 1;
+    private static final byte RELEASE = 2;
+    private static final byte CONTACT = 3;
+
+    private LaunchedTntBatch(ServerWorld world) {
+        this.world = world;
+    }
+
+    public static LaunchedTntBatch get(ServerWorld world) {
+        return BATCHES.computeIfAbsent(world.getRegistryKey(), key -> new LaunchedTntBatch(world));
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+        if (!enabled) {
+            BATCHES.values().forEach(LaunchedTntBatch::releaseAll);
+        }
+    }
+
+    public static boolean isReducedTracking() {
+        return reducedTracking;
+    }
+
+    public static void setReducedTracking(boolean value) {
+        reducedTracking = value;
+    }
+
+    public static long getCorrections() {
+        return corrections;
+    }
+
+    public static void tick(ServerWorld world) {
+        LaunchedTntBatch batch = BATCHES.get(world.getRegistryKey());
+        if (batch != null && batch.size > 0) {
+            batch.step();
+        }
+    }
+
+    public static void clear() {
+        BATCHES.values().forEach(LaunchedTntBatch::releaseAll);
+        BATCHES.clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Takes over the simulation of a freshly spawned launched TNT.
+     */
+    public void add(TntEntity tnt) {
+        if (size == entities.length) {
+            grow();
+        }
+        int i = size++;
+        entities[i] = tnt;
+        load(i, tnt);
+        fuse[i] = tnt.getFuse();
+        syncSpawn(i);
+        ((BatchedTnt) tnt).vibecraft$setBatched(true);
+    }
+
+    private void step() {
+        int count = size;
+
+        // Pick up external changes such as explosion knockback before integrating
+        for (int i = 0; i < count; i++) {
+            TntEntity tnt = entities[i];
+            if (tnt.isRemoved()) {
+                outcome[i] = RELEASE;
+                continue;
+            }
+            outcome[i] = FLYING;
+            Vec3d velocity = tnt.getVelocity();
+            if (tnt.getX() != x[i] || tnt.getY() != y[i] || tnt.getZ() != z[i] || velocity.x != vx[i]
+                    || velocity.y != vy[i] || velocity.z != vz[i]) {
+                load(i, tnt);
+            }
+            if (vx[i] * vx[i] + vy[i] * vy[i] + vz[i] * vz[i] < 0.01) {
+                // Same stall rule as the per-entity impact check, which runs before the move
+                outcome[i] = IMPACT;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            column[i] = ChunkPos.toLong(MathHelper.floor(x[i]) >> 4, MathHelper.floor(z[i]) >> 4);
+            order[i] = i;
+        }
+
+        // Integrate and check the move, ordered by chunk column so consecutive lookups reuse the same chunk
+        IntArrays.quickSort(order, 0, count, (a, b) -> Long.compare(column[a], column[b]));
+        long cachedColumn = Long.MIN_VALUE;
+        WorldChunk chunk = null;
+        for (int n = 0; n < count; n++) {
+            int i = order[n];
+            if (outcome[i] != FLYING) {
+                continue;
+            }
+            if (column[i] != cachedColumn) {
+                cachedColumn = column[i];
+                chunk = world.getChunkManager().getWorldChunk(ChunkPos.getPackedX(cachedColumn),
+                        ChunkPos.getPackedZ(cachedColumn));
+            }
+            byte swept = chunk == null ? RELEASE
+                    : sweep(chunk, x[i], y[i], z[i], vx[i], vy[i] - GRAVITY, vz[i]);
+            if (swept != FLYING) {
+                // Unloaded chunks keep projectiles frozen until they load, contacts slide, land or splash like
+                // vanilla TNT; both are left to the per-entity path, which still holds the state before this tick
+                outcome[i] = swept;
+                continue;
+            }
+            vy[i] -= GRAVITY;
+            x[i] += vx[i];
+            y[i] += vy[i];
+            z[i] += vz[i];
+            vx[i] *= DRAG;
+            vy[i] *= DRAG;
+            vz[i] *= DRAG;
+            if (--fuse[i] <= 1) {
+                // Let vanilla finish the fuse so it explodes exactly like before
+                outcome[i] = RELEASE;
+            }
+        }
+
+        // Sync back and collect the projectiles leaving the batch
+        List<TntEntity> impacts = new ArrayList<>();
+        List<TntEntity> contacts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TntEntity tnt = entities[i];
+            if (outcome[i] == RELEASE || outcome[i] == CONTACT) {
+                if (!tnt.isRemoved()) {
+                    release(tnt, fuse[i]);
+                    if (outcome[i] == CONTACT) {
+                        contacts.add(tnt);
+                    }
+                }
+                continue;
+            }
+            tnt.setPosition(x[i], y[i], z[i]);
+            tnt.setVelocity(vx[i], vy[i], vz[i]);
+            if (outcome[i] == IMPACT) {
+                impacts.add(tnt);
+                continue;
+            }
+            if (fuse[i] % FUSE_SYNC_INTERVAL == 0) {
+                tnt.setFuse(fuse[i]);
+            }
+            if (reducedTracking && advanceClient(i)) {
+                sendCorrection(i);
+            }
+        }
+        compact();
+
+        // The batch skipped this tick for contacts, vanilla resolves the move with its own collision
+        for (TntEntity tnt : contacts) {
+            world.tickEntity(tnt);
+        }
+
+        // Explode after the batch is consistent again, explosions push the remaining projectiles around
+        for (TntEntity tnt : impacts) {
+            ((BatchedTnt) tnt).vibecraft$setBatched(false);
+            VibecraftExplosions.detonate(world, tnt, tnt.getX(), tnt.getY() + (double) (tnt.getHeight() / 16.0F),
+                    tnt.getZ(), 4.0f, "Launched TNT");
+            tnt.discard();
+        }
+    }
+
+    /**
+     * Checks the blocks swept by the projectile's bounding box as it moves by {@code (dx, dy, dz)}. Returns
+     * {@link #FLYING} when they are all air, {@link #CONTACT} when the move may touch a block or fluid and
+     * {@link #RELEASE} when the sweep reaches into an unloaded chunk. Chunk sections that hold only air are skipped
+     * whole, so flight through open sky costs a handful of lookups. Outside the world's height everything is air, so
+     * TNT below it falls out as it would in vanilla.
+     */
+    private byte sweep(WorldChunk chunk, double px, double py, double pz, double dx, double dy, double dz) {
+        int minX = MathHelper.floor(Math.min(px, px + dx) - HALF_WIDTH);
+        int maxX = MathHelper.floor(Math.max(px, px + dx) + HALF_WIDTH);
+        int minZ = MathHelper.floor(Math.min(pz, pz + dz) - HALF_WIDTH);
+        int maxZ = MathHelper.floor(Math.max(pz, pz + dz) + HALF_WIDTH);
+        // Fences and walls reach into the cell above them
+        int minY = Math.max(MathHelper.floor(Math.min(py, py + dy)) - 1, world.getBottomY());
+        int maxY = Math.min(MathHelper.floor(Math.max(py, py + dy) + HEIGHT), world.getTopYInclusive());
+        if (minY > maxY) {
+            return FLYING;
+        }
+
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                WorldChunk current = chunkX == chunk.getPos().x && chunkZ == chunk.getPos().z ? chunk
+                        : world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+                if (current == null) {
+                    return RELEASE;
+                }
+                ChunkSection[] sections = current.getSectionArray();
+                for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                    ChunkSection section = sections[current.sectionCoordToIndex(sectionY)];
+                    if (section.isEmpty()) {
+                        continue;
+                    }
+                    for (int bx = Math.max(minX, chunkX << 4); bx <= Math.min(maxX, chunkX << 4 | 15); bx++) {
+                        for (int by = Math.max(minY, sectionY << 4); by <= Math.min(maxY, sectionY << 4 | 15); by++) {
+                            for (int bz = Math.max(minZ, chunkZ << 4); bz <= Math.min(maxZ, chunkZ << 4 | 15); bz++) {
+                                if (!section.getBlockState(bx & 15, by & 15, bz & 15).isAir()) {
+                                    return CONTACT;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return FLYING;
+    }
+
+    private void load(int i, TntEntity tnt) {
+        Vec3d velocity = tnt.getVelocity();
+        x[i] = tnt.getX();
+        y[i] = tnt.getY();
+        z[i] = tnt.getZ();
+        vx[i] = velocity.x;
+        vy[i] = velocity.y;
+        vz[i] = velocity.z;
+    }
+
+    /**
+     * Flies the client's copy of projectile {@code i} one tick forward, exactly like a client-side TNT tick, and
+     * returns whether it has strayed too far from the real state.
+     */
+    private boolean advanceClient(int i) {
+        clientVy[i] -= GRAVITY;
+        clientX[i] += clientVx[i];
+        clientY[i] += clientVy[i];
+        clientZ[i] += clientVz[i];
+        clientVx[i] *= DRAG;
+        clientVy[i] *= DRAG;
+        clientVz[i] *= DRAG;
+
+        double dx = x[i] - clientX[i];
+        double dy = y[i] - clientY[i];
+        double dz = z[i] - clientZ[i];
+        double dvx = vx[i] - clientVx[i];
+        double dvy = vy[i] - clientVy[i];
+        double dvz = vz[i] - clientVz[i];
+        return dx * dx + dy * dy + dz * dz > CORRECTION_DISTANCE * CORRECTION_DISTANCE
+                || dvx * dvx + dvy * dvy + dvz * dvz > CORRECTION_SPEED * CORRECTION_SPEED;
+    }
+
+    private void sendCorrection(int i) {
+        TntEntity tnt = entities[i];
+        TntCorrectionPayload payload = new TntCorrectionPayload(tnt.getId(), x[i], y[i], z[i], vx[i], vy[i], vz[i],
+                fuse[i]);
+        boolean sent = false;
+        for (ServerPlayerEntity player : PlayerLookup.tracking(tnt)) {
+            if (ServerPlayNetworking.canSend(player, TntCorrectionPayload.ID)) {
+                ServerPlayNetworking.send(player, payload);
+                sent = true;
+            }
+        }
+        // Nobody tracks it yet: whoever starts to will get a spawn packet of the current state instead
+        if (sent) {
+            syncClient(i);
+        } else {
+            syncSpawn(i);
+        }
+        corrections++;
+    }
+
+    private void syncClient(int i) {
+        clientX[i] = x[i];
+        clientY[i] = y[i];
+        clientZ[i] = z[i];
+        clientVx[i] = vx[i];
+        clientVy[i] = vy[i];
+        clientVz[i] = vz[i];
+    }
+
+    /**
+     * Resets the client's copy of projectile {@code i} to what a spawn packet of its current state carries.
+     */
+    private void syncSpawn(int i) {
+        syncClient(i);
+        clientVx[i] = spawnVelocity(vx[i]);
+        clientVy[i] = spawnVelocity(vy[i]);
+        clientVz[i] = spawnVelocity(vz[i]);
+    }
+
+    private static double spawnVelocity(double velocity) {
+        return (int) (MathHelper.clamp(velocity, -SPAWN_VELOCITY_LIMIT, SPAWN_VELOCITY_LIMIT) * SPAWN_VELOCITY_SCALE)
+                / SPAWN_VELOCITY_SCALE;
+    }
+
+    private static void release(TntEntity tnt, int fuse) {
+        tnt.setFuse(fuse);
+        ((BatchedTnt) tnt).vibecraft$setBatched(false);
+    }
+
+    private void releaseAll() {
+        for (int i = 0; i < size; i++) {
+            release(entities[i], fuse[i]);
+            entities[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Drops every projectile whose outcome is not {@link #FLYING}, keeping the arrays dense.
+     */
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (outcome[i] != FLYING) {
+                continue;
+            }
+            if (kept != i) {
+                entities[kept] = entities[i];
+                x[kept] = x[i];
+                y[kept] = y[i];
+                z[kept] = z[i];
+                vx[kept] = vx[i];
+                vy[kept] = vy[i];
+                vz[kept] = vz[i];
+                fuse[kept] = fuse[i];
+                clientX[kept] = clientX[i];
+                clientY[kept] = clientY[i];
+                clientZ[kept] = clientZ[i];
+                clientVx[kept] = clientVx[i];
+                clientVy[kept] = clientVy[i];
+                clientVz[kept] = clientVz[i];
+            }
+            kept++;
+        }
+        Arrays.fill(entities, kept, size, null);
+        size = kept;
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        vz = Arrays.copyOf(vz, capacity);
+        fuse = Arrays.copyOf(fuse, capacity);
+        clientX = Arrays.copyOf(clientX, capacity);
+        clientY = Arrays.copyOf(clientY, capacity);
+        clientZ = Arrays.copyOf(clientZ, capacity);
+        clientVx = Arrays.copyOf(clientVx, capacity);
+        clientVy = Arrays.copyOf(clientVy, capacity);
+        clientVz = Arrays.copyOf(clientVz, capacity);
+        column = new long[capacity];
+        order = new int[capacity];
+        outcome = new byte[capacity];
+    }
+}
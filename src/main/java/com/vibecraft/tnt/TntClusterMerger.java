@@ -0,0 +1,103 @@
+package com.vibecraft.tnt;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses primed TNT that would explode at the same place and time into one cluster entity.
+ * <p>
+ * Runs once per world tick when enabled. TNT is bucketed by fuse and by position and velocity snapped to a small
+ * grid; every bucket keeps its first entity and folds the others into its cluster count.
+ */
+public final class TntClusterMerger {
+
+    private static final double POSITION_CELL = 0.1;
+    private static final double VELOCITY_CELL = 0.02;
+    private static final int MAX_CLUSTER_SIZE = 4096;
+
+    private static boolean enabled = false;
+
+    private TntClusterMerger() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static void tick(ServerWorld world) {
+        if (enabled) {
+            mergeAll(world);
+        }
+    }
+
+    /**
+     * Merges all eligible TNT in the world and returns how many entities were removed.
+     */
+    public static int mergeAll(ServerWorld world) {
+        List<? extends TntEntity> tnts = world.getEntitiesByType(EntityType.TNT, TntClusterMerger::canMerge);
+        if (tnts.size() < 2) {
+            return 0;
+        }
+
+        int removed = 0;
+        Map<ClusterKey, TntEntity> survivors = new HashMap<>();
+        for (TntEntity tnt : tnts) {
+            TntEntity survivor = survivors.putIfAbsent(ClusterKey.of(tnt), tnt);
+            if (survivor == null) {
+                continue;
+            }
+
+            ClusteredTnt into = (ClusteredTnt) survivor;
+            ClusteredTnt from = (ClusteredTnt) tnt;
+            int combined = into.vibecraft$getClusterCount() + from.vibecraft$getClusterCount();
+            if (combined > MAX_CLUSTER_SIZE) {
+                // Start a fresh cluster instead of growing one without bound
+                survivors.put(ClusterKey.of(tnt), tnt);
+                continue;
+            }
+
+            into.vibecraft$setClusterCount(combined);
+            tnt.discard();
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Power of a single explosion carving about the same volume as {@code count} explosions of {@code power}.
+     * The blast volume grows with the cube of the power, so the power grows with the cube root of the count.
+     */
+    public static float combinedPower(float power, int count) {
+        return power * (float) Math.cbrt(count);
+    }
+
+    private static boolean canMerge(TntEntity tnt) {
+        // Launched TNT explodes on impact rather than on its fuse, so it never shares a detonation with others
+        return tnt.isAlive() && tnt.getFuse() > 1 && !tnt.getCommandTags().contains("mod:launched_tnt");
+    }
+
+    private record ClusterKey(int fuse, int x, int y, int z, int vx, int vy, int vz) {
+
+        static ClusterKey of(TntEntity tnt) {
+            Vec3d velocity = tnt.getVelocity();
+            return new ClusterKey(tnt.getFuse(),
+                    MathHelper.floor(tnt.getX() / POSITION_CELL),
+                    MathHelper.floor(tnt.getY() / POSITION_CELL),
+                    MathHelper.floor(tnt.getZ() / POSITION_CELL),
+                    MathHelper.floor(velocity.x / VELOCITY_CELL),
+                    MathHelper.floor(velocity.y / VELOCITY_CELL),
+                    MathHelper.floor(velocity.z / VELOCITY_CELL));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.vibecraft.tnt;
+
+import net.minecraft.util.math.Vec3d;
+
+import java.util.Arrays;
+
+/**
+ * How the TNT of a volley fans out around the aim direction. Patterns are deterministic so the client can predict
+ * a volley exactly.
+ */
+public enum VolleyPattern {
+    /** A horizontal line, evenly spread across {@code spread} degrees. */
+    FAN,
+    /** Filled cone of {@code spread} degrees, points on a golden-angle spiral. */
+    CONE,
+    /** Evenly spaced around the edge of a cone of {@code spread} degrees. */
+    RING;
+
+    private static final double GOLDEN_ANGLE = Math.PI * (3.0 - Math.sqrt(5.0));
+
+    /**
+     * Unit directions for {@code count} TNT around {@code aim}. A single TNT always flies straight along {@code aim}.
+     */
+    public Vec3d[] directions(Vec3d aim, int count, float spread) {
+        Vec3d[] directions = new Vec3d[count];
+        if (count == 1 || spread <= 0.0f) {
+            Arrays.fill(directions, aim);
+            return directions;
+        }
+
+        // Basis around the aim; looking straight up or down falls back to +X as "right"
+        Vec3d right = aim.crossProduct(new Vec3d(0, 1, 0));
+        right = right.lengthSquared() < 1.0e-6 ? new Vec3d(1, 0, 0) : right.normalize();
+        Vec3d up = right.crossProduct(aim).normalize();
+        double halfAngle = Math.toRadians(spread) / 2.0;
+
+        for (int i = 0; i < count; i++) {
+            double theta;
+            double phi;
+            switch (this) {
+                case FAN -> {
+                    theta = halfAngle * (2.0 * i / (count - 1) - 1.0);
+                    phi = 0.0;
+                }
+                case CONE -> {
+                    theta = halfAngle * Math.sqrt((i + 0.5) / count);
+                    phi = i * GOLDEN_ANGLE;
+                }
+                default -> {
+                    theta = halfAngle;
+                    phi = 2.0 * Math.PI * i / count;
+                }
+            }
+            Vec3d offset = right.multiply(Math.cos(phi)).add(up.multiply(Math.sin(phi)));
+            directions[i] = aim.multiply(Math.cos(theta)).add(offset.multiply(Math.sin(theta)));
+        }
+        return directions;
+    }
+}
@@ -0,0 +1,176 @@
+package com.vibecraft.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory {@link VoxelGrid} for tests and benchmarks: a square of {@code 2 * radiusSections} sections on each
+ * horizontal axis around the origin, with palette-indexed storage allocated per section on first write and a
+ * surface heightmap kept up to date. Everything outside the square is air.
+ */
+public final class ArrayVoxelGrid implements VoxelGrid {
+
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+
+    private final int radiusSections;
+    private final int bottomY;
+    private final int topY;
+    private final int sectionsXZ;
+    private final int sectionsY;
+    private final short[][] sections;
+    private final int[] nonAirCounts;
+    private final int[] surface;
+    private final List<String> names = new ArrayList<>();
+    private float[] resistances = new float[8];
+
+    public ArrayVoxelGrid(int radiusSections, int bottomY, int topY) {
+        if ((bottomY & 15) != 0 || (topY & 15) != 0) {
+            throw new IllegalArgumentException("Grid height must be section aligned: " + bottomY + ".." + topY);
+        }
+        this.radiusSections = radiusSections;
+        this.bottomY = bottomY;
+        this.topY = topY;
+        this.sectionsXZ = radiusSections * 2;
+        this.sectionsY = (topY - bottomY) >> 4;
+        this.sections = new short[sectionsXZ * sectionsXZ * sectionsY][];
+        this.nonAirCounts = new int[sections.length];
+        this.surface = new int[sectionsXZ * 16 * sectionsXZ * 16];
+        Arrays.fill(surface, bottomY - 1);
+        register("air", NO_RESISTANCE);
+    }
+
+    /**
+     * Adds a block type to the palette and returns its index.
+     */
+    public int register(String name, float resistance) {
+        int index = names.size();
+        names.add(name);
+        if (index == resistances.length) {
+            resistances = Arrays.copyOf(resistances, index * 2);
+        }
+        resistances[index] = resistance;
+        return index;
+    }
+
+    public String name(int state) {
+        return names.get(state);
+    }
+
+    /**
+     * Lowest and highest block x (and z) stored, inclusive.
+     */
+    public int minXZ() {
+        return -radiusSections * 16;
+    }
+
+    public int maxXZ() {
+        return radiusSections * 16 - 1;
+    }
+
+    @Override
+    public int bottomY() {
+        return bottomY;
+    }
+
+    @Override
+    public int topY() {
+        return topY;
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        int section = sectionIndex(x >> 4, (y - bottomY) >> 4, z >> 4);
+        if (section < 0 || sections[section] == null) {
+            return AIR;
+        }
+        return sections[section][localIndex(x, y, z)];
+    }
+
+    @Override
+    public float resistance(int x, int y, int z, int state) {
+        return resistances[state];
+    }
+
+    @Override
+    public boolean isSectionEmpty(int sectionX, int sectionY, int sectionZ) {
+        int section = sectionIndex(sectionX, sectionY - (bottomY >> 4), sectionZ);
+        return section < 0 || nonAirCounts[section] == 0;
+    }
+
+    @Override
+    public int surfaceY(int x, int z) {
+        int column = columnIndex(x, z);
+        return column < 0 ? bottomY - 1 : surface[column];
+    }
+
+    public void set(int x, int y, int z, int state) {
+        int section = sectionIndex(x >> 4, (y - bottomY) >> 4, z >> 4);
+        if (section < 0 || y < bottomY || y >= topY) {
+            throw new IllegalArgumentException("Position outside the grid: " + x + ", " + y + ", " + z);
+        }
+        if (sections[section] == null) {
+            if (state == AIR) {
+                return;
+            }
+            sections[section] = new short[SECTION_VOLUME];
+        }
+
+        int local = localIndex(x, y, z);
+        int previous = sections[section][local];
+        sections[section][local] = (short) state;
+        if (previous == AIR && state != AIR) {
+            nonAirCounts[section]++;
+        } else if (previous != AIR && state == AIR) {
+            nonAirCounts[section]--;
+        }
+
+        int column = columnIndex(x, z);
+        if (state != AIR && y > surface[column]) {
+            surface[column] = y;
+        } else if (state == AIR && y == surface[column]) {
+            int top = y - 1;
+            while (top >= bottomY && get(x, top, z) == AIR) {
+                top--;
+            }
+            surface[column] = top;
+        }
+    }
+
+    /**
+     * Sets every block in the box, corners inclusive.
+     */
+    public void fill(int x0, int y0, int z0, int x1, int y1, int z1, int state) {
+        for (int x = Math.min(x0, x1); x <= Math.max(x0, x1); x++) {
+            for (int z = Math.min(z0, z1); z <= Math.max(z0, z1); z++) {
+                for (int y = Math.min(y0, y1); y <= Math.max(y0, y1); y++) {
+                    set(x, y, z, state);
+                }
+            }
+        }
+    }
+
+    private int sectionIndex(int sectionX, int relativeSectionY, int sectionZ) {
+        int sx = sectionX + radiusSections;
+        int sz = sectionZ + radiusSections;
+        if (sx < 0 || sx >= sectionsXZ || sz < 0 || sz >= sectionsXZ || relativeSectionY < 0
+                || relativeSectionY >= sectionsY) {
+            return -1;
+        }
+        return (relativeSectionY * sectionsXZ + sz) * sectionsXZ + sx;
+    }
+
+    private int columnIndex(int x, int z) {
+        int cx = x + radiusSections * 16;
+        int cz = z + radiusSections * 16;
+        int width = sectionsXZ * 16;
+        if (cx < 0 || cx >= width || cz < 0 || cz >= width) {
+            return -1;
+        }
+        return cz * width + cx;
+    }
+
+    private static int localIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+}
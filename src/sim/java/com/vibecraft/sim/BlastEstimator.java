@@ -0,0 +1,88 @@
+package com.vibecraft.sim;
+
+/**
+ * Predicts what a full {@link RayMarch} would do from a sparse set of rays.
+ * <p>
+ * The sample rays are spread evenly over the sphere (a Fibonacci lattice) and their intensities evenly over
+ * vanilla's random spread, so the same blast always gets the same estimate. Every solid block a sample ray destroys
+ * stands for its share of the spherical shell at that distance, up to the one block per ray that vanilla's rays take
+ * once they stop touching far from the center. The number of steps the full march would take is the sampled mean
+ * scaled up to vanilla's ray count. With 64 rays the block count lands within about a third of the real one, at
+ * under 5% of the cost.
+ */
+public final class BlastEstimator {
+
+    /**
+     * Number of rays in a full vanilla march: the surface of a 16×16×16 cube.
+     */
+    public static final int FULL_RAYS = 16 * 16 * 16 - 14 * 14 * 14;
+
+    private static final float STEP_DECAY = 0.22500001F;
+    private static final float STEP_LENGTH = 0.3F;
+    private static final double GOLDEN_RATIO_CONJUGATE = (Math.sqrt(5.0) - 1.0) / 2.0;
+    private static final double SHELL_OFFSET = 0.7;
+    private static final double GOLDEN_ANGLE = Math.PI * (3.0 - Math.sqrt(5.0));
+
+    /**
+     * Predicted outcome of a full march.
+     *
+     * @param blocks non-air blocks destroyed
+     * @param steps  ray steps taken
+     */
+    public record Estimate(double blocks, double steps) {
+    }
+
+    private final VoxelGrid grid;
+
+    public BlastEstimator(VoxelGrid grid) {
+        this.grid = grid;
+    }
+
+    public Estimate estimate(double centerX, double centerY, double centerZ, float power, int rays) {
+        double steps = 0.0;
+        double solidVolume = 0.0;
+
+        for (int i = 0; i < rays; i++) {
+            double dy = 1.0 - (i + 0.5) * 2.0 / rays;
+            double ring = Math.sqrt(1.0 - dy * dy);
+            double dx = Math.cos(GOLDEN_ANGLE * i) * ring;
+            double dz = Math.sin(GOLDEN_ANGLE * i) * ring;
+
+            // Vanilla's 0.7 + random * 0.6 intensity spread, drawn from a low-discrepancy sequence instead
+            float intensity = power * (0.7F + (float) ((i * GOLDEN_RATIO_CONJUGATE) % 1.0) * 0.6F);
+            double x = centerX;
+            double y = centerY;
+            double z = centerZ;
+            int step = 0;
+            for (; intensity > 0.0F; intensity -= STEP_DECAY, step++) {
+                int bx = RayMarch.floor(x);
+                int by = RayMarch.floor(y);
+                int bz = RayMarch.floor(z);
+                if (!grid.contains(bx, by, bz)) {
+                    break;
+                }
+
+                int state = by > grid.surfaceY(bx, bz) ? VoxelGrid.AIR : grid.get(bx, by, bz);
+                if (state != VoxelGrid.AIR) {
+                    float resistance = grid.resistance(bx, by, bz, state);
+                    if (!Float.isNaN(resistance)) {
+                        intensity -= (resistance + 0.3F) * 0.3F;
+                    }
+                }
+                if (intensity > 0.0F && state != VoxelGrid.AIR && grid.canDestroy(bx, by, bz, state, intensity)) {
+                    // This ray's share of the spherical shell the step stands for, with r pushed out to the block it
+                    // takes. Far out vanilla's rays no longer touch, and each only takes the blocks it passes through
+                    double r = step * STEP_LENGTH + SHELL_OFFSET;
+                    solidVolume += Math.min(4.0 * Math.PI * r * r / FULL_RAYS, 1.0) * STEP_LENGTH;
+                }
+
+                x += dx * STEP_LENGTH;
+                y += dy * STEP_LENGTH;
+                z += dz * STEP_LENGTH;
+            }
+            steps += step;
+        }
+
+        return new Estimate(solidVolume * FULL_RAYS / rays, steps * FULL_RAYS / rays);
+    }
+}
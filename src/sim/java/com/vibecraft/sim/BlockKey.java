@@ -0,0 +1,34 @@
+package com.vibecraft.sim;
+
+/**
+ * Packs block positions into a {@code long} with the same layout as Minecraft's {@code BlockPos#asLong}: 26 bits of
+ * x, 26 bits of z and 12 bits of y.
+ */
+public final class BlockKey {
+
+    private static final int BITS_XZ = 26;
+    private static final int BITS_Y = 12;
+    private static final int SHIFT_Z = BITS_Y;
+    private static final int SHIFT_X = BITS_Y + BITS_XZ;
+    private static final long MASK_XZ = (1L << BITS_XZ) - 1L;
+    private static final long MASK_Y = (1L << BITS_Y) - 1L;
+
+    private BlockKey() {
+    }
+
+    public static long pack(int x, int y, int z) {
+        return (x & MASK_XZ) << SHIFT_X | (y & MASK_Y) | (z & MASK_XZ) << SHIFT_Z;
+    }
+
+    public static int x(long key) {
+        return (int) (key >> SHIFT_X);
+    }
+
+    public static int y(long key) {
+        return (int) (key << 64 - BITS_Y >> 64 - BITS_Y);
+    }
+
+    public static int z(long key) {
+        return (int) (key << 64 - SHIFT_X >> 64 - BITS_XZ);
+    }
+}
@@ -0,0 +1,82 @@
+package com.vibecraft.sim;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic worlds for exploding without a server. All fixtures span Minecraft's overworld height (-64 to 320) and
+ * use vanilla blast resistances.
+ */
+public final class Fixtures {
+
+    public static final int BOTTOM_Y = -64;
+    public static final int TOP_Y = 320;
+    public static final float STONE_RESISTANCE = 6.0F;
+    public static final float DIRT_RESISTANCE = 0.5F;
+    public static final float OBSIDIAN_RESISTANCE = 1200.0F;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Stone from the bottom of the world up to {@code surfaceY}, with three layers of dirt on top.
+     */
+    public static ArrayVoxelGrid flatStone(int radiusSections, int surfaceY) {
+        ArrayVoxelGrid grid = new ArrayVoxelGrid(radiusSections, BOTTOM_Y, TOP_Y);
+        int stone = grid.register("stone", STONE_RESISTANCE);
+        int dirt = grid.register("dirt", DIRT_RESISTANCE);
+        int min = grid.minXZ();
+        int max = grid.maxXZ();
+        grid.fill(min, BOTTOM_Y, min, max, surfaceY - 3, max, stone);
+        grid.fill(min, surfaceY - 2, min, max, surfaceY, max, dirt);
+        return grid;
+    }
+
+    /**
+     * {@link #flatStone} riddled with {@code caves} random spherical caves below the surface.
+     */
+    public static ArrayVoxelGrid caves(int radiusSections, int surfaceY, int caves, long seed) {
+        ArrayVoxelGrid grid = flatStone(radiusSections, surfaceY);
+        SplittableRandom random = new SplittableRandom(seed);
+        int min = grid.minXZ();
+        int max = grid.maxXZ();
+        for (int i = 0; i < caves; i++) {
+            int radius = random.nextInt(2, 7);
+            int cx = random.nextInt(min + radius, max - radius + 1);
+            int cy = random.nextInt(BOTTOM_Y + radius + 1, surfaceY - radius - 3);
+            int cz = random.nextInt(min + radius, max - radius + 1);
+            for (int x = -radius; x <= radius; x++) {
+                for (int y = -radius; y <= radius; y++) {
+                    for (int z = -radius; z <= radius; z++) {
+                        if (x * x + y * y + z * z <= radius * radius) {
+                            grid.set(cx + x, cy + y, cz + z, VoxelGrid.AIR);
+                        }
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * A hollow obsidian sphere floating in air around {@code (0, centerY, 0)}, filled with stone.
+     */
+    public static ArrayVoxelGrid obsidianShell(int radiusSections, int centerY, int innerRadius, int thickness) {
+        ArrayVoxelGrid grid = new ArrayVoxelGrid(radiusSections, BOTTOM_Y, TOP_Y);
+        int stone = grid.register("stone", STONE_RESISTANCE);
+        int obsidian = grid.register("obsidian", OBSIDIAN_RESISTANCE);
+        int outer = innerRadius + thickness;
+        for (int x = -outer; x <= outer; x++) {
+            for (int y = -outer; y <= outer; y++) {
+                for (int z = -outer; z <= outer; z++) {
+                    int squared = x * x + y * y + z * z;
+                    if (squared <= innerRadius * innerRadius) {
+                        grid.set(x, centerY + y, z, stone);
+                    } else if (squared <= outer * outer) {
+                        grid.set(x, centerY + y, z, obsidian);
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,175 @@
+package com.vibecraft.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Time-decayed count-min sketch over long keys, keeping the heaviest keys seen, in memory that does not grow with the
+ * number of keys.
+ * <p>
+ * Every weight added halves in value every {@code halfLife} ticks. Rather than decaying all counters each tick, a
+ * weight added at tick {@code t} is stored scaled up by {@code 2^((t - landmark) / halfLife)} and estimates are scaled
+ * back down at read time (forward decay), so an add touches one counter per row. The landmark moves up, dividing all
+ * counters down, before the scale can overflow. Like any count-min sketch, an estimate is never below the key's true
+ * decayed weight and only over it by what hash collisions add, which for width {@code w} is within {@code e / w} of
+ * the total weight with high probability.
+ * <p>
+ * The heaviest keys are kept in a small candidate list: a key added while the list is full replaces the lightest
+ * candidate if its estimate is higher. Since all weights decay at the same rate, decay never reorders the candidates.
+ * Ticks must not go backwards. Instances are not thread-safe.
+ */
+public final class HotspotSketch {
+
+    /**
+     * A key and its decayed weight.
+     */
+    public record Entry(long key, double weight) {
+    }
+
+    // Move the landmark once stored weights are scaled up by 2^64
+    private static final double RENORMALIZE_HALF_LIVES = 64.0;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final double[][] counters;
+    private final int mask;
+    private final double halfLife;
+    private final long[] candidates;
+    private int candidateCount;
+    private long landmark;
+    private double total;
+
+    /**
+     * @param depth    rows, each an independent hash, 1 to 8
+     * @param width    counters per row, rounded up to a power of two
+     * @param capacity heaviest keys kept
+     * @param halfLife ticks for a weight to halve
+     */
+    public HotspotSketch(int depth, int width, int capacity, double halfLife) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + SEEDS.length + ", got " + depth);
+        }
+        if (width < 1 || capacity < 1 || !(halfLife > 0.0)) {
+            throw new IllegalArgumentException("Width, capacity and half-life must be positive");
+        }
+        int size = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.counters = new double[depth][size];
+        this.mask = size - 1;
+        this.halfLife = halfLife;
+        this.candidates = new long[capacity];
+    }
+
+    public double getHalfLife() {
+        return halfLife;
+    }
+
+    public int getCapacity() {
+        return candidates.length;
+    }
+
+    /**
+     * Adds weight to a key at the given tick.
+     */
+    public void add(long key, double weight, long tick) {
+        if ((tick - landmark) / halfLife > RENORMALIZE_HALF_LIVES) {
+            renormalize(tick);
+        }
+        double scaled = weight * Math.pow(2.0, (tick - landmark) / halfLife);
+        double stored = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            int slot = slot(key, row);
+            counters[row][slot] += scaled;
+            stored = Math.min(stored, counters[row][slot]);
+        }
+        total += scaled;
+        offer(key, stored);
+    }
+
+    /**
+     * Decayed weight of a key at the given tick, never below the true one.
+     */
+    public double estimate(long key, long tick) {
+        return stored(key) * decay(tick);
+    }
+
+    /**
+     * Decayed weight of all keys together at the given tick.
+     */
+    public double total(long tick) {
+        return total * decay(tick);
+    }
+
+    /**
+     * The heaviest keys at the given tick, heaviest first.
+     */
+    public List<Entry> top(long tick) {
+        double decay = decay(tick);
+        List<Entry> entries = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; i++) {
+            entries.add(new Entry(candidates[i], stored(candidates[i]) * decay));
+        }
+        entries.sort((a, b) -> Double.compare(b.weight(), a.weight()));
+        return entries;
+    }
+
+    public void clear() {
+        for (double[] row : counters) {
+            Arrays.fill(row, 0.0);
+        }
+        candidateCount = 0;
+        landmark = 0L;
+        total = 0.0;
+    }
+
+    private void offer(long key, double stored) {
+        int lightest = -1;
+        double lightestWeight = Double.MAX_VALUE;
+        for (int i = 0; i < candidateCount; i++) {
+            if (candidates[i] == key) {
+                return;
+            }
+            double weight = stored(candidates[i]);
+            if (weight < lightestWeight) {
+                lightest = i;
+                lightestWeight = weight;
+            }
+        }
+        if (candidateCount < candidates.length) {
+            candidates[candidateCount++] = key;
+        } else if (stored > lightestWeight) {
+            candidates[lightest] = key;
+        }
+    }
+
+    private double stored(long key) {
+        double stored = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            stored = Math.min(stored, counters[row][slot(key, row)]);
+        }
+        return stored;
+    }
+
+    private double decay(long tick) {
+        return Math.pow(2.0, -(tick - landmark) / halfLife);
+    }
+
+    private void renormalize(long tick) {
+        double factor = decay(tick);
+        for (double[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+        total *= factor;
+        landmark = tick;
+    }
+
+    private int slot(long key, int row) {
+        long h = (key ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ h >>> 31) * 0x94D049BB133111EBL;
+        return (int) (h ^ h >>> 29) & mask;
+    }
+}
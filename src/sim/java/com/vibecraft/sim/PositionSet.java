@@ -0,0 +1,83 @@
+package com.vibecraft.sim;
+
+import java.util.Arrays;
+
+/**
+ * Set of packed block positions that remembers insertion order, without boxing.
+ */
+public final class PositionSet {
+
+    // Packs to x = -2^25, outside any world, so it never collides with a real position
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] table = newTable(64);
+    private long[] order = new long[32];
+    private int size;
+
+    public boolean add(long key) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return false;
+            }
+            slot = slot + 1 & mask;
+        }
+        table[slot] = key;
+
+        if (size == order.length) {
+            order = Arrays.copyOf(order, size * 2);
+        }
+        order[size++] = key;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return true;
+            }
+            slot = slot + 1 & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The positions in the order they were first added.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(order, size);
+    }
+
+    private void rehash() {
+        table = newTable(table.length * 2);
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = mix(order[i]) & mask;
+            while (table[slot] != EMPTY) {
+                slot = slot + 1 & mask;
+            }
+            table[slot] = order[i];
+        }
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+}
@@ -0,0 +1,142 @@
+package com.vibecraft.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index over axis-aligned block boxes, answering "is this block inside any box" for the blocks of an
+ * explosion.
+ * <p>
+ * Boxes are indexed by the chunk columns they overlap. A lookup first classifies the block's section: no box reaches
+ * it ({@link #NONE}), one box covers all of it ({@link #FULL}), or it is cut by box boundaries ({@link #PARTIAL}).
+ * Only in the last case are the column's boxes tested one by one, and the section's class is remembered until a
+ * lookup leaves it, so a crater's blocks are mostly answered a whole section at a time. Coordinates are block
+ * coordinates, box bounds are inclusive. Instances are not thread-safe.
+ */
+public final class RegionIndex {
+
+    public static final int NONE = 0;
+    public static final int PARTIAL = 1;
+    public static final int FULL = 2;
+
+    /**
+     * Most chunk columns a single box may span, 4096 × 4096 blocks.
+     */
+    public static final int MAX_COLUMNS = 256 * 256;
+
+    private static final int[] NO_BOXES = new int[0];
+
+    private final List<int[]> boxes = new ArrayList<>();
+    private final Map<Long, int[]> columns = new HashMap<>();
+    private long cachedSection = Long.MIN_VALUE;
+    private int cachedState;
+    private int[] cachedColumn = NO_BOXES;
+
+    /**
+     * Adds a box.
+     *
+     * @throws IllegalArgumentException if the box spans more than {@link #MAX_COLUMNS} chunk columns
+     */
+    public void add(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int x0 = Math.min(minX, maxX);
+        int y0 = Math.min(minY, maxY);
+        int z0 = Math.min(minZ, maxZ);
+        int x1 = Math.max(minX, maxX);
+        int y1 = Math.max(minY, maxY);
+        int z1 = Math.max(minZ, maxZ);
+        long spanned = ((long) (x1 >> 4) - (x0 >> 4) + 1) * ((long) (z1 >> 4) - (z0 >> 4) + 1);
+        if (spanned > MAX_COLUMNS) {
+            throw new IllegalArgumentException("Box spans " + spanned + " chunk columns, at most " + MAX_COLUMNS
+                    + " are allowed");
+        }
+
+        int id = boxes.size();
+        boxes.add(new int[] { x0, y0, z0, x1, y1, z1 });
+        for (int cx = x0 >> 4; cx <= x1 >> 4; cx++) {
+            for (int cz = z0 >> 4; cz <= z1 >> 4; cz++) {
+                columns.merge(columnKey(cx, cz), new int[] { id }, RegionIndex::append);
+            }
+        }
+        cachedSection = Long.MIN_VALUE;
+    }
+
+    public boolean isEmpty() {
+        return boxes.isEmpty();
+    }
+
+    public int size() {
+        return boxes.size();
+    }
+
+    /**
+     * Whether any box overlaps the given box, without touching the column index.
+     */
+    public boolean intersects(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        for (int[] box : boxes) {
+            if (box[0] <= maxX && box[3] >= minX && box[1] <= maxY && box[4] >= minY && box[2] <= maxZ
+                    && box[5] >= minZ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@link #NONE}, {@link #PARTIAL} or {@link #FULL} for the section at the given section coordinates.
+     */
+    public int sectionState(int sectionX, int sectionY, int sectionZ) {
+        int[] column = columns.getOrDefault(columnKey(sectionX, sectionZ), NO_BOXES);
+        return classify(column, sectionX << 4, sectionY << 4, sectionZ << 4);
+    }
+
+    /**
+     * Whether the block is inside any box.
+     */
+    public boolean contains(int x, int y, int z) {
+        long section = BlockKey.pack(x >> 4, y >> 4, z >> 4);
+        if (section != cachedSection) {
+            cachedSection = section;
+            cachedColumn = columns.getOrDefault(columnKey(x >> 4, z >> 4), NO_BOXES);
+            cachedState = classify(cachedColumn, x & ~15, y & ~15, z & ~15);
+        }
+        if (cachedState != PARTIAL) {
+            return cachedState == FULL;
+        }
+        for (int id : cachedColumn) {
+            int[] box = boxes.get(id);
+            if (x >= box[0] && x <= box[3] && y >= box[1] && y <= box[4] && z >= box[2] && z <= box[5]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int classify(int[] column, int baseX, int baseY, int baseZ) {
+        int state = NONE;
+        for (int id : column) {
+            int[] box = boxes.get(id);
+            if (box[1] > baseY + 15 || box[4] < baseY) {
+                continue;
+            }
+            if (box[0] <= baseX && box[3] >= baseX + 15 && box[1] <= baseY && box[4] >= baseY + 15
+                    && box[2] <= baseZ && box[5] >= baseZ + 15) {
+                return FULL;
+            }
+            state = PARTIAL;
+        }
+        return state;
+    }
+
+    private static long columnKey(int chunkX, int chunkZ) {
+        return (long) chunkX & 0xFFFFFFFFL | ((long) chunkZ & 0xFFFFFFFFL) << 32;
+    }
+
+    private static int[] append(int[] ids, int[] added) {
+        int[] merged = Arrays.copyOf(ids, ids.length + added.length);
+        System.arraycopy(added, 0, merged, ids.length, added.length);
+        return merged;
+    }
+}
@@ -0,0 +1,18 @@
+package com.vibecraft.sim;
+
+/**
+ * Whether {@link VectorRayMarch} can run: it needs the incubating Vector API, which the JVM only resolves when
+ * started with {@code --add-modules jdk.incubator.vector}. This class must not touch the API itself, so callers can
+ * ask before anything from {@code jdk.incubator.vector} is loaded.
+ */
+public final class VectorSupport {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private VectorSupport() {
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+}
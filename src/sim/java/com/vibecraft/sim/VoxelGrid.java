@@ -0,0 +1,68 @@
+package com.vibecraft.sim;
+
+/**
+ * Block storage the blast engines run against.
+ * <p>
+ * Blocks are identified by palette index, and {@link #AIR} is always 0. Everything an engine needs to know about a
+ * block beyond "air or not" is asked through {@link #resistance} and {@link #canDestroy}, so an implementation can
+ * answer from a static table (synthetic fixtures) or from a game's explosion rules (the Minecraft adapter).
+ * Coordinates are block coordinates; sections are 16×16×16 blocks, as in Minecraft.
+ */
+public interface VoxelGrid {
+
+    int AIR = 0;
+
+    /**
+     * Returned by {@link #resistance} for blocks that do not slow a blast down at all.
+     */
+    float NO_RESISTANCE = Float.NaN;
+
+    /**
+     * Lowest block y, inclusive.
+     */
+    int bottomY();
+
+    /**
+     * Highest block y, exclusive.
+     */
+    int topY();
+
+    /**
+     * Whether a blast can reach the position at all. A ray stops at the first position outside.
+     */
+    default boolean contains(int x, int y, int z) {
+        return y >= bottomY() && y < topY();
+    }
+
+    /**
+     * Palette index of the block at the position, {@link #AIR} for any kind of air.
+     */
+    int get(int x, int y, int z);
+
+    /**
+     * Blast resistance of a non-air block, or {@link #NO_RESISTANCE}.
+     */
+    float resistance(int x, int y, int z, int state);
+
+    /**
+     * Whether a blast with the given remaining intensity destroys the block. Also asked for air.
+     */
+    default boolean canDestroy(int x, int y, int z, int state, float intensity) {
+        return true;
+    }
+
+    /**
+     * Whether the section is known to hold nothing but air. Returning {@code false} is always safe.
+     */
+    default boolean isSectionEmpty(int sectionX, int sectionY, int sectionZ) {
+        return false;
+    }
+
+    /**
+     * Y of the highest non-air block in the column; everything above is known to be air. Returning
+     * {@code topY() - 1} is always safe.
+     */
+    default int surfaceY(int x, int z) {
+        return topY() - 1;
+    }
+}
@@ -0,0 +1,308 @@
+package com.vibecraft.sim;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Minecraft's explosion ray march with one ray per SIMD lane, on the incubating Vector API.
+ * <p>
+ * Rays are marched in groups of {@link #lanes()}: every step turns the group's positions into block coordinates,
+ * subtracts the blocks' attenuation from the intensities and advances, all as vector operations. Positions and
+ * intensities are fixed point with {@value #FRACTION_BITS} fractional bits, which keeps every lane an {@code int}
+ * and makes flooring a shift. Blocks come from a flat per-section table that is filled from the {@link VoxelGrid}
+ * the first time a ray enters a section, with every empty section sharing one all-air entry, so the loop never
+ * calls back into the grid.
+ * <p>
+ * Rays, step length, decay and the random intensity spread (drawn in vanilla's ray order) are vanilla's, but the
+ * fixed point rounding can make a ray grazing a block corner come out differently. Air is not reported, and
+ * {@link VoxelGrid#canDestroy} is asked once per position with the explosion's full power rather than the ray's
+ * remaining intensity.
+ * <p>
+ * The Vector API only compiles to SIMD instructions when the vector shape is a constant, so the lane count is
+ * fixed per JVM: the widest the CPU supports, or 2, 4, 8 or 16 from the {@code vibecraft.simd.lanes} system
+ * property. Check {@link VectorSupport#isAvailable()} before loading this class.
+ */
+public final class VectorRayMarch {
+
+    /**
+     * Powers above this reach too far for the fixed point positions; callers fall back to {@link RayMarch}.
+     */
+    public static final float MAX_POWER = 400.0F;
+
+    private static final VectorSpecies<Integer> SPECIES = species(Integer.getInteger("vibecraft.simd.lanes",
+            IntVector.SPECIES_PREFERRED.length()));
+    private static final int LANES = SPECIES.length();
+
+    private static final int FRACTION_BITS = 20;
+    private static final float ONE = 1 << FRACTION_BITS;
+    private static final int STEP_DECAY = fixed(0.22500001F);
+    private static final float STEP_LENGTH = 0.3F;
+    private static final int SECTION_VOLUME = 16 * 16 * 16;
+    private static final int AIR = -1;
+    private static final int UNLOADED = -1;
+    private static final int EMPTY_SLOT = 0;
+
+    // Ray steps in vanilla's order, padded with zero-length rays to a whole number of vectors
+    private static final int RAYS;
+    private static final int[] STEP_X;
+    private static final int[] STEP_Y;
+    private static final int[] STEP_Z;
+
+    static {
+        int padded = (1352 + LANES - 1) / LANES * LANES;
+        int[] x = new int[padded];
+        int[] y = new int[padded];
+        int[] z = new int[padded];
+        int rays = 0;
+        for (int j = 0; j < 16; j++) {
+            for (int k = 0; k < 16; k++) {
+                for (int l = 0; l < 16; l++) {
+                    if (j != 0 && j != 15 && k != 0 && k != 15 && l != 0 && l != 15) {
+                        continue;
+                    }
+                    double dx = j / 15.0F * 2.0F - 1.0F;
+                    double dy = k / 15.0F * 2.0F - 1.0F;
+                    double dz = l / 15.0F * 2.0F - 1.0F;
+                    double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+                    x[rays] = (int) Math.round(dx / length * STEP_LENGTH * ONE);
+                    y[rays] = (int) Math.round(dy / length * STEP_LENGTH * ONE);
+                    z[rays] = (int) Math.round(dz / length * STEP_LENGTH * ONE);
+                    rays++;
+                }
+            }
+        }
+        RAYS = rays;
+        STEP_X = x;
+        STEP_Y = y;
+        STEP_Z = z;
+    }
+
+    private final VoxelGrid grid;
+    private final int[] intensities = new int[STEP_X.length];
+    private final int[] sectionBuffer = new int[LANES];
+    private final int[] blockBuffer = new int[LANES];
+    private final int[] valueBuffer = new int[LANES];
+    private final int[] destroyedBuffer = new int[LANES];
+    private final int[] xBuffer = new int[LANES];
+    private final int[] yBuffer = new int[LANES];
+    private final int[] zBuffer = new int[LANES];
+
+    // Per-march section table: slot of each section in the box around the center, and the slots' blocks
+    private int[] slots;
+    private int[] attenuation = new int[SECTION_VOLUME * 8];
+    private int usedSlots;
+    private int minSectionX;
+    private int minSectionY;
+    private int minSectionZ;
+    private int sectionsX;
+    private int sectionsY;
+
+    public VectorRayMarch(VoxelGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Rays marched per vector in this JVM.
+     */
+    public static int lanes() {
+        return LANES;
+    }
+
+    /**
+     * Marches all rays and returns the packed positions of the non-air blocks they would destroy, in first-visit
+     * order.
+     */
+    public long[] march(double centerX, double centerY, double centerZ, float power, RayMarch.RandomSource random) {
+        if (power > MAX_POWER) {
+            throw new IllegalArgumentException("Power " + power + " is above " + MAX_POWER);
+        }
+
+        int originX = RayMarch.floor(centerX);
+        int originY = RayMarch.floor(centerY);
+        int originZ = RayMarch.floor(centerZ);
+        if (!grid.contains(originX, originY, originZ)) {
+            // Every ray starts outside the world and stops at once, like in the scalar march
+            return new long[0];
+        }
+        prepareSections(originX, originY, originZ, power);
+        for (int i = 0; i < RAYS; i++) {
+            intensities[i] = fixed(power * (0.7F + random.nextFloat() * 0.6F));
+        }
+
+        // Positions are relative to the corner of the section box, so shifting them right floors to a block index
+        PositionSet positions = new PositionSet();
+        int startX = fixed((float) (centerX - originX)) + (originX - (minSectionX << 4) << FRACTION_BITS);
+        int startY = fixed((float) (centerY - originY)) + (originY - (minSectionY << 4) << FRACTION_BITS);
+        int startZ = fixed((float) (centerZ - originZ)) + (originZ - (minSectionZ << 4) << FRACTION_BITS);
+        for (int base = 0; base < RAYS; base += LANES) {
+            marchGroup(base, startX, startY, startZ, positions);
+        }
+
+        long[] visited = positions.toArray();
+        int kept = 0;
+        for (long pos : visited) {
+            int bx = BlockKey.x(pos);
+            int by = BlockKey.y(pos);
+            int bz = BlockKey.z(pos);
+            if (grid.canDestroy(bx, by, bz, grid.get(bx, by, bz), power)) {
+                visited[kept++] = pos;
+            }
+        }
+        return kept == visited.length ? visited : Arrays.copyOf(visited, kept);
+    }
+
+    // Kept small and free of vector parameters and returns: C2 only compiles vector code to SIMD instructions when
+    // it can see every vector's species, and gives up on methods as large as march
+    private void marchGroup(int base, int startX, int startY, int startZ, PositionSet positions) {
+        int bottomY = grid.bottomY() - (minSectionY << 4);
+        int topY = grid.topY() - (minSectionY << 4);
+        // JDK 17 only compiles shifts to SIMD instructions when the shift count is itself a vector
+        IntVector toBlock = IntVector.broadcast(SPECIES, FRACTION_BITS);
+        IntVector toSection = IntVector.broadcast(SPECIES, 4);
+        IntVector stepX = IntVector.fromArray(SPECIES, STEP_X, base);
+        IntVector stepY = IntVector.fromArray(SPECIES, STEP_Y, base);
+        IntVector stepZ = IntVector.fromArray(SPECIES, STEP_Z, base);
+        IntVector intensity = IntVector.fromArray(SPECIES, intensities, base);
+        IntVector x = IntVector.broadcast(SPECIES, startX);
+        IntVector y = IntVector.broadcast(SPECIES, startY);
+        IntVector z = IntVector.broadcast(SPECIES, startZ);
+        VectorMask<Integer> active = intensity.compare(VectorOperators.GT, 0);
+
+        while (active.anyTrue()) {
+            IntVector bx = x.lanewise(VectorOperators.ASHR, toBlock);
+            IntVector by = y.lanewise(VectorOperators.ASHR, toBlock);
+            IntVector bz = z.lanewise(VectorOperators.ASHR, toBlock);
+
+            // A ray leaving the world stops, like vanilla's contains check
+            active = active.and(by.compare(VectorOperators.GE, bottomY)).and(by.compare(VectorOperators.LT, topY));
+            if (!active.anyTrue()) {
+                break;
+            }
+
+            IntVector section = bx.lanewise(VectorOperators.ASHR, toSection)
+                    .add(by.lanewise(VectorOperators.ASHR, toSection)
+                            .add(bz.lanewise(VectorOperators.ASHR, toSection).mul(sectionsY)).mul(sectionsX));
+            IntVector block = by.and(15).mul(256).or(bz.and(15).mul(16)).or(bx.and(15));
+            section.blend(0, active.not()).intoArray(sectionBuffer, 0);
+            block.intoArray(blockBuffer, 0);
+            IntVector value = IntVector.fromArray(SPECIES, lookup(), 0);
+
+            intensity = intensity.sub(value.max(0), active);
+            VectorMask<Integer> destroyed = active.and(intensity.compare(VectorOperators.GT, 0))
+                    .and(value.compare(VectorOperators.GE, 0));
+            if (destroyed.anyTrue()) {
+                // Reading single lanes or mask bits allocates on JDK 17, so the lanes go through arrays
+                IntVector.zero(SPECIES).blend(1, destroyed).intoArray(destroyedBuffer, 0);
+                bx.intoArray(xBuffer, 0);
+                by.intoArray(yBuffer, 0);
+                bz.intoArray(zBuffer, 0);
+                record(positions);
+            }
+
+            x = x.add(stepX);
+            y = y.add(stepY);
+            z = z.add(stepZ);
+            intensity = intensity.sub(STEP_DECAY);
+            active = active.and(intensity.compare(VectorOperators.GT, 0));
+        }
+    }
+
+    // Gathers lane by lane: JDK 17 does not compile gathers to SIMD instructions, and a plain loop over a few lanes
+    // beats the boxed fallback
+    private int[] lookup() {
+        for (int lane = 0; lane < LANES; lane++) {
+            int index = sectionBuffer[lane];
+            int slot = slots[index];
+            if (slot == UNLOADED) {
+                slot = loadSection(index);
+            }
+            valueBuffer[lane] = attenuation[slot * SECTION_VOLUME + blockBuffer[lane]];
+        }
+        return valueBuffer;
+    }
+
+    private void prepareSections(int originX, int originY, int originZ, float power) {
+        // Furthest a ray can get: full intensity, losing only the per-step decay
+        int reach = (int) Math.ceil(power * 1.3F / 0.22500001F * STEP_LENGTH) + 1;
+        minSectionX = (originX - reach) >> 4;
+        minSectionY = Math.max(originY - reach, grid.bottomY()) >> 4;
+        minSectionZ = (originZ - reach) >> 4;
+        sectionsX = ((originX + reach) >> 4) - minSectionX + 1;
+        sectionsY = (Math.min(originY + reach, grid.topY() - 1) >> 4) - minSectionY + 1;
+        int sectionsZ = ((originZ + reach) >> 4) - minSectionZ + 1;
+
+        slots = new int[sectionsX * sectionsY * sectionsZ];
+        Arrays.fill(slots, UNLOADED);
+        // Section 0 of the box doubles as the target of inactive lanes, so it is resolved up front
+        Arrays.fill(attenuation, 0, SECTION_VOLUME, AIR);
+        usedSlots = 1;
+        loadSection(0);
+    }
+
+    private int loadSection(int index) {
+        int sectionX = minSectionX + index % sectionsX;
+        int sectionY = minSectionY + index / sectionsX % sectionsY;
+        int sectionZ = minSectionZ + index / sectionsX / sectionsY;
+        int slot = grid.isSectionEmpty(sectionX, sectionY, sectionZ) ? EMPTY_SLOT
+                : fillSection(sectionX, sectionY, sectionZ);
+        slots[index] = slot;
+        return slot;
+    }
+
+    private int fillSection(int sectionX, int sectionY, int sectionZ) {
+        int slot = usedSlots++;
+        if (usedSlots * SECTION_VOLUME > attenuation.length) {
+            attenuation = Arrays.copyOf(attenuation, attenuation.length * 2);
+        }
+        int offset = slot * SECTION_VOLUME;
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    int bx = (sectionX << 4) + x;
+                    int by = (sectionY << 4) + y;
+                    int bz = (sectionZ << 4) + z;
+                    int value = AIR;
+                    if (grid.contains(bx, by, bz)) {
+                        int state = grid.get(bx, by, bz);
+                        if (state != VoxelGrid.AIR) {
+                            float resistance = grid.resistance(bx, by, bz, state);
+                            value = Float.isNaN(resistance) ? 0 : fixed((resistance + 0.3F) * 0.3F);
+                        }
+                    }
+                    attenuation[offset + (y << 8 | z << 4 | x)] = value;
+                }
+            }
+        }
+        return slot;
+    }
+
+    private void record(PositionSet positions) {
+        int baseX = minSectionX << 4;
+        int baseY = minSectionY << 4;
+        int baseZ = minSectionZ << 4;
+        for (int lane = 0; lane < LANES; lane++) {
+            if (destroyedBuffer[lane] != 0) {
+                positions.add(BlockKey.pack(baseX + xBuffer[lane], baseY + yBuffer[lane], baseZ + zBuffer[lane]));
+            }
+        }
+    }
+
+    // Every value converted is non-negative, which Math.round does not know and is slow for
+    private static int fixed(float value) {
+        return (int) (value * ONE + 0.5F);
+    }
+
+    private static VectorSpecies<Integer> species(int lanes) {
+        return switch (lanes) {
+            case 2 -> IntVector.SPECIES_64;
+            case 4 -> IntVector.SPECIES_128;
+            case 8 -> IntVector.SPECIES_256;
+            case 16 -> IntVector.SPECIES_512;
+            default -> throw new IllegalArgumentException("Unsupported lane count " + lanes);
+        };
+    }
+}
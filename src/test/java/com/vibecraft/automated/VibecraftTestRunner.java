@@ -156,7 +156,8 @@ public class VibecraftTestRunner {
     private static Process launchMinecraft() throws IOException {
         System.out.println("🚀 Launching Minecraft...");
 
-        ProcessBuilder builder = new ProcessBuilder("./gradlew", "runClient");
+        // The in-game tests live in the separate test harness mod, which only the testmod run loads
+        ProcessBuilder builder = new ProcessBuilder("./gradlew", "runTestmodClient");
         // Hint the client JVM to behave like a background UI element on macOS to avoid
         // stealing focus
         builder.environment().putIfAbsent("ORG_GRADLE_PROJECT_JVM_ARGS",
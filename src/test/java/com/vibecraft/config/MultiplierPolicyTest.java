@@ -0,0 +1,67 @@
+package com.vibecraft.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiplierPolicyTest {
+
+    private static final int SAMPLES = 1_000_000;
+
+    @Test
+    void aliasTableFollowsTheWeights() {
+        MultiplierPolicy policy = MultiplierPolicy.parseWeighted("2:90, 5:9, 50:1");
+        Random random = new Random(1);
+        int[] counts = new int[3];
+        for (int i = 0; i < SAMPLES; i++) {
+            float multiplier = policy.roll(random, policy);
+            counts[multiplier == 2.0f ? 0 : multiplier == 5.0f ? 1 : 2]++;
+        }
+
+        assertEquals(0.90, counts[0] / (double) SAMPLES, 0.002);
+        assertEquals(0.09, counts[1] / (double) SAMPLES, 0.002);
+        assertEquals(0.01, counts[2] / (double) SAMPLES, 0.001);
+    }
+
+    @Test
+    void expectedCostIsTheMeanOfTheCube() {
+        MultiplierPolicy weighted = MultiplierPolicy.parseWeighted("2:90 5:9 50:1");
+        assertEquals(0.9 * 8 + 0.09 * 125 + 0.01 * 125_000, weighted.moment(3, weighted), 1e-2);
+
+        MultiplierPolicy range = MultiplierPolicy.range(2, 4);
+        assertEquals((8 + 27 + 64) / 3.0, range.moment(3, range), 1e-9);
+
+        MultiplierPolicy cap = MultiplierPolicy.cap(3.0f);
+        assertEquals((8 + 27 + 27) / 3.0, cap.moment(3, range), 1e-9);
+    }
+
+    @Test
+    void logNormalIsClampedAndCentredOnTheMedian() {
+        MultiplierPolicy policy = MultiplierPolicy.logNormal(3.0f, 0.8f, 1.0f, 50.0f);
+        Random random = new Random(2);
+        int below = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            float multiplier = policy.roll(random, policy);
+            assertTrue(multiplier >= 1.0f && multiplier <= 50.0f);
+            if (multiplier < 3.0f) {
+                below++;
+            }
+        }
+
+        assertEquals(0.5, below / (double) SAMPLES, 0.005);
+        // Unclamped mean is median * exp(sigma² / 2); clamping to [1, 50] barely moves it
+        assertEquals(3.0 * Math.exp(0.32), policy.moment(1, policy), 0.05);
+    }
+
+    @Test
+    void badTablesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MultiplierPolicy.parseWeighted("2:0, 5:0"));
+        assertThrows(IllegalArgumentException.class, () -> MultiplierPolicy.parseWeighted("2-90"));
+        assertThrows(IllegalArgumentException.class, () -> MultiplierPolicy.parseWeighted("x:1"));
+        assertThrows(IllegalArgumentException.class, () -> MultiplierPolicy.parseWeighted(" "));
+    }
+}
@@ -0,0 +1,99 @@
+package com.vibecraft.replay;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordingTest {
+
+    @Test
+    void readsExplosionsAndLaunchesWithAbsoluteTicks() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = header(bytes);
+        string(out, "minecraft:overworld");
+        string(out, "Launched TNT");
+        launch(out, 3, 0, 1.0, 70.0, 2.0, 0.5f, 0.9f, 0.5f);
+        explosion(out, 40, 0, 1, 10.5, 64.0, -3.5, 4.0f, 12.0f, 42L);
+        explosion(out, 0, 0, 1, 11.5, 64.0, -3.5, 4.0f, 2.0f, -7L);
+
+        Recording recording = Recording.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(1, recording.launches().size());
+        assertEquals(3, recording.launches().get(0).tick());
+        assertEquals(2, recording.explosions().size());
+        Recording.Explosion first = recording.explosions().get(0);
+        assertEquals(new Recording.Explosion(43, "minecraft:overworld", "Launched TNT", 10.5, 64.0, -3.5, 4.0f, 12.0f,
+                42L), first);
+        assertEquals(43, recording.explosions().get(1).tick());
+        assertEquals(-7L, recording.explosions().get(1).seed());
+        assertEquals(43, recording.lengthTicks());
+    }
+
+    @Test
+    void tornTailKeepsCompleteRecords() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = header(bytes);
+        string(out, "minecraft:the_nether");
+        string(out, "TNT cluster x4");
+        explosion(out, 1, 0, 1, 0.0, 0.0, 0.0, 4.0f, 3.0f, 1L);
+        explosion(out, 1_000_000, 0, 1, 0.0, 0.0, 0.0, 4.0f, 3.0f, 2L);
+        byte[] torn = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 5);
+
+        Recording recording = Recording.read(new ByteArrayInputStream(torn));
+
+        assertEquals(1, recording.explosions().size());
+        assertEquals("minecraft:the_nether", recording.explosions().get(0).dimension());
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        assertThrows(IOException.class,
+                () -> Recording.read(new ByteArrayInputStream(new byte[] { 'P', 'K', 3, 4, 0 })));
+    }
+
+    private static DataOutputStream header(ByteArrayOutputStream bytes) throws IOException {
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(Recording.MAGIC);
+        out.writeByte(Recording.VERSION);
+        return out;
+    }
+
+    private static void string(DataOutputStream out, String value) throws IOException {
+        out.writeByte(Recording.STRING);
+        out.writeUTF(value);
+    }
+
+    private static void explosion(DataOutputStream out, int tickDelta, int dimension, int kind, double x, double y,
+            double z, float basePower, float multiplier, long seed) throws IOException {
+        out.writeByte(Recording.EXPLOSION);
+        Recording.writeVarInt(out, tickDelta);
+        Recording.writeVarInt(out, dimension);
+        Recording.writeVarInt(out, kind);
+        out.writeDouble(x);
+        out.writeDouble(y);
+        out.writeDouble(z);
+        out.writeFloat(basePower);
+        out.writeFloat(multiplier);
+        out.writeLong(seed);
+    }
+
+    private static void launch(DataOutputStream out, int tickDelta, int dimension, double x, double y, double z,
+            float velocityX, float velocityY, float velocityZ) throws IOException {
+        out.writeByte(Recording.LAUNCH);
+        Recording.writeVarInt(out, tickDelta);
+        Recording.writeVarInt(out, dimension);
+        out.writeDouble(x);
+        out.writeDouble(y);
+        out.writeDouble(z);
+        out.writeFloat(velocityX);
+        out.writeFloat(velocityY);
+        out.writeFloat(velocityZ);
+    }
+}
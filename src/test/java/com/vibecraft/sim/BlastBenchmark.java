@@ -0,0 +1,56 @@
+package com.vibecraft.sim;
+
+import java.util.Random;
+
+/**
+ * Times the blast engines on synthetic worlds at 2x, 20x and 50x TNT ({@code ./gradlew simBenchmark}). The SIMD
+ * march is timed too when the Vector API module is enabled, at the lane count the JVM was started with
+ * ({@code ./gradlew simdBenchmark} runs every lane count).
+ */
+public final class BlastBenchmark {
+
+    private static final float TNT_POWER = 4.0F;
+    private static final float[] MULTIPLIERS = { 2.0F, 20.0F, 50.0F };
+    private static final int ITERATIONS = 10;
+
+    private BlastBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        String[] names = { "flat stone", "caves", "obsidian shell" };
+        ArrayVoxelGrid[] fixtures = { Fixtures.flatStone(8, 64), Fixtures.caves(8, 64, 200, 1L),
+                Fixtures.obsidianShell(8, 64, 24, 3) };
+        VoxelSphere sphere = new VoxelSphere();
+
+        for (int f = 0; f < fixtures.length; f++) {
+            ArrayVoxelGrid grid = fixtures[f];
+            VoxelGrid plain = Grids.withoutHints(grid);
+            System.out.println(names[f] + ":");
+            for (float multiplier : MULTIPLIERS) {
+                float power = TNT_POWER * multiplier;
+                double rays = time(() -> new RayMarch(plain).march(0.5, 64.5, 0.5, power, new Random(1)::nextFloat));
+                double skipping = time(() -> new RayMarch(grid).march(0.5, 64.5, 0.5, power,
+                        new Random(1)::nextFloat));
+                double voxel = time(() -> sphere.compute(grid, 0.5, 64.5, 0.5, power));
+                System.out.printf("  %4.0fx: rays %8.3f ms, air-skipping rays %8.3f ms, voxel %8.3f ms%n", multiplier,
+                        rays, skipping, voxel);
+                if (VectorSupport.isAvailable()) {
+                    double simd = time(() -> new VectorRayMarch(grid).march(0.5, 64.5, 0.5, power,
+                            new Random(1)::nextFloat));
+                    System.out.printf("         simd (%d lanes) %8.3f ms%n", VectorRayMarch.lanes(), simd);
+                }
+            }
+        }
+    }
+
+    private static double time(Runnable engine) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            engine.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            engine.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+}
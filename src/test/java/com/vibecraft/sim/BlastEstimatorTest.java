@@ -0,0 +1,63 @@
+package com.vibecraft.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlastEstimatorTest {
+
+    private static final int RAYS = 64;
+
+    @Test
+    void estimateTracksTheFullMarch() {
+        ArrayVoxelGrid[] fixtures = { Fixtures.flatStone(4, 64), Fixtures.caves(4, 64, 40, 1L) };
+        double[][] centers = { { 0.5, 40.5, 0.5 }, { 0.5, 64.5, 0.5 } };
+        float[] powers = { 4.0F, 20.0F, 80.0F };
+        for (ArrayVoxelGrid grid : fixtures) {
+            for (double[] center : centers) {
+                for (float power : powers) {
+                    RayMarch march = new RayMarch(Grids.withoutHints(grid));
+                    long[] positions = march.march(center[0], center[1], center[2], power, new Random(3)::nextFloat);
+                    long blocks = countSolid(grid, positions);
+
+                    BlastEstimator.Estimate estimate = new BlastEstimator(grid).estimate(center[0], center[1],
+                            center[2], power, RAYS);
+                    String label = "power " + power + " at y " + center[1];
+                    assertEquals(blocks, estimate.blocks(), Math.max(8.0, blocks * 0.35), label);
+                    assertEquals(march.lookups(), estimate.steps(), march.lookups() * 0.2, label);
+                }
+            }
+        }
+    }
+
+    @Test
+    void blastInOpenAirDestroysNothing() {
+        BlastEstimator.Estimate estimate = new BlastEstimator(Fixtures.flatStone(4, 64)).estimate(0.5, 200.5, 0.5,
+                8.0F, RAYS);
+
+        assertEquals(0.0, estimate.blocks(), 0.0);
+        assertTrue(estimate.steps() > 0.0);
+    }
+
+    @Test
+    void obsidianShellBoundsTheEstimate() {
+        int inner = 8;
+        ArrayVoxelGrid grid = Fixtures.obsidianShell(4, 64, inner, 2);
+        BlastEstimator.Estimate estimate = new BlastEstimator(grid).estimate(0.5, 64.5, 0.5, 80.0F, RAYS);
+
+        assertTrue(estimate.blocks() <= 4.0 / 3.0 * Math.PI * Math.pow(inner + 1, 3), "" + estimate.blocks());
+    }
+
+    private static long countSolid(VoxelGrid grid, long[] positions) {
+        long solid = 0;
+        for (long pos : positions) {
+            if (grid.get(BlockKey.x(pos), BlockKey.y(pos), BlockKey.z(pos)) != VoxelGrid.AIR) {
+                solid++;
+            }
+        }
+        return solid;
+    }
+}
@@ -0,0 +1,44 @@
+package com.vibecraft.sim;
+
+/**
+ * Helpers shared by the sim tests and benchmark.
+ */
+final class Grids {
+
+    private Grids() {
+    }
+
+    /**
+     * The same blocks, but without the empty-section and surface hints, so every step is a lookup.
+     */
+    static VoxelGrid withoutHints(VoxelGrid grid) {
+        return new VoxelGrid() {
+            @Override
+            public int bottomY() {
+                return grid.bottomY();
+            }
+
+            @Override
+            public int topY() {
+                return grid.topY();
+            }
+
+            @Override
+            public int get(int x, int y, int z) {
+                return grid.get(x, y, z);
+            }
+
+            @Override
+            public float resistance(int x, int y, int z, int state) {
+                return grid.resistance(x, y, z, state);
+            }
+        };
+    }
+
+    static double distance(long key, double x, double y, double z) {
+        double dx = BlockKey.x(key) + 0.5 - x;
+        double dy = BlockKey.y(key) + 0.5 - y;
+        double dz = BlockKey.z(key) + 0.5 - z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,76 @@
+package com.vibecraft.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotspotSketchTest {
+
+    @Test
+    void findsHeavyKeysAmongBackground() {
+        Random random = new Random(11);
+        HotspotSketch sketch = new HotspotSketch(4, 256, 8, 1000.0);
+        long tick = 0;
+        for (int i = 0; i < 20000; i++) {
+            // Three hot keys get a quarter of the weight, thousands of cold ones the rest
+            long key = random.nextInt(4) == 0 ? 1_000_000L + random.nextInt(3) : random.nextInt(5000);
+            sketch.add(key, 1.0, tick);
+            if (i % 20 == 0) {
+                tick++;
+            }
+        }
+
+        List<HotspotSketch.Entry> top = sketch.top(tick);
+        assertEquals(8, top.size());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(top.get(i).key() >= 1_000_000L, "Hot key expected at rank " + i + ", got " + top.get(i));
+        }
+    }
+
+    @Test
+    void neverUnderestimates() {
+        Random random = new Random(3);
+        HotspotSketch sketch = new HotspotSketch(4, 64, 4, 50.0);
+        Map<Long, Double> exact = new HashMap<>();
+        for (long tick = 0; tick < 2000; tick++) {
+            long key = random.nextInt(500);
+            double weight = 1.0 + random.nextInt(4);
+            sketch.add(key, weight, tick);
+            // Decay the exact weights one tick at a time, independently of the sketch's forward decay
+            exact.replaceAll((k, v) -> v * Math.pow(2.0, -1.0 / 50.0));
+            exact.merge(key, weight, Double::sum);
+        }
+        for (Map.Entry<Long, Double> entry : exact.entrySet()) {
+            double estimate = sketch.estimate(entry.getKey(), 1999);
+            assertTrue(estimate >= entry.getValue() * (1.0 - 1e-9),
+                    entry.getKey() + ": " + estimate + " < " + entry.getValue());
+        }
+    }
+
+    @Test
+    void halvesEveryHalfLifeAcrossRenormalizing() {
+        HotspotSketch sketch = new HotspotSketch(2, 16, 2, 10.0);
+        sketch.add(7L, 8.0, 0);
+        assertEquals(4.0, sketch.estimate(7L, 10), 1e-9);
+        assertEquals(1.0, sketch.estimate(7L, 30), 1e-9);
+
+        // Far past the point where the landmark moves; the old weight is gone, the new one is exact
+        sketch.add(7L, 8.0, 5000);
+        assertEquals(8.0, sketch.estimate(7L, 5000), 1e-9);
+        assertEquals(2.0, sketch.estimate(7L, 5020), 1e-9);
+        assertEquals(2.0, sketch.total(5020), 1e-9);
+    }
+
+    @Test
+    void rejectsBadDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new HotspotSketch(0, 16, 4, 10.0));
+        assertThrows(IllegalArgumentException.class, () -> new HotspotSketch(4, 16, 4, 0.0));
+    }
+}
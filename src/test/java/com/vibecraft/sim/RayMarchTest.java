@@ -0,0 +1,65 @@
+package com.vibecraft.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RayMarchTest {
+
+    private static final double[][] CENTERS = { { 0.5, 40.5, 0.5 }, { 0.5, 64.5, 0.5 }, { 3.2, 70.1, -5.7 } };
+    private static final float[] POWERS = { 4.0F, 20.0F, 80.0F, 200.0F };
+
+    @Test
+    void skippingAirDoesNotChangeTheResult() {
+        ArrayVoxelGrid[] fixtures = { Fixtures.flatStone(4, 64), Fixtures.caves(4, 64, 40, 1L) };
+        for (ArrayVoxelGrid grid : fixtures) {
+            for (double[] center : CENTERS) {
+                for (float power : POWERS) {
+                    RayMarch hinted = new RayMarch(grid);
+                    RayMarch plain = new RayMarch(Grids.withoutHints(grid));
+                    long[] expected = plain.march(center[0], center[1], center[2], power, new Random(42)::nextFloat);
+                    long[] actual = hinted.march(center[0], center[1], center[2], power, new Random(42)::nextFloat);
+
+                    assertArrayEquals(expected, actual, "power " + power + " at y " + center[1]);
+                    assertEquals(plain.lookups(), hinted.lookups() + hinted.skipped());
+                }
+            }
+        }
+    }
+
+    @Test
+    void airAboveTheSurfaceIsNeverLookedUp() {
+        RayMarch march = new RayMarch(Fixtures.flatStone(4, 64));
+        march.march(0.5, 100.5, 0.5, 8.0F, new Random(1)::nextFloat);
+
+        assertEquals(0, march.lookups());
+        assertTrue(march.skipped() > 0);
+    }
+
+    @Test
+    void obsidianShellHoldsTheBlast() {
+        int inner = 8;
+        ArrayVoxelGrid grid = Fixtures.obsidianShell(4, 64, inner, 2);
+        long[] destroyed = new RayMarch(grid).march(0.5, 64.5, 0.5, 80.0F, new Random(7)::nextFloat);
+
+        assertTrue(destroyed.length > 0);
+        for (long pos : destroyed) {
+            assertTrue(Grids.distance(pos, 0.5, 64.5, 0.5) <= inner + 0.5, "escaped to " + BlockKey.y(pos));
+        }
+    }
+
+    @Test
+    void blockKeysMatchMinecraftLayout() {
+        long key = BlockKey.pack(-30_000_000, -64, 29_999_999);
+
+        assertEquals(-30_000_000, BlockKey.x(key));
+        assertEquals(-64, BlockKey.y(key));
+        assertEquals(29_999_999, BlockKey.z(key));
+        // BlockPos.asLong(1, 2, 3)
+        assertEquals(274877919234L, BlockKey.pack(1, 2, 3));
+    }
+}
@@ -0,0 +1,77 @@
+package com.vibecraft.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionIndexTest {
+
+    @Test
+    void matchesTestingEveryBox() {
+        Random random = new Random(5);
+        RegionIndex index = new RegionIndex();
+        List<int[]> boxes = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            int x = random.nextInt(200) - 100;
+            int y = random.nextInt(100);
+            int z = random.nextInt(200) - 100;
+            int[] box = { x, y, z, x + random.nextInt(60), y + random.nextInt(40), z + random.nextInt(60) };
+            boxes.add(box);
+            index.add(box[3], box[1], box[5], box[0], box[4], box[2]);
+        }
+
+        // Walk blocks in runs along x, the way a crater's positions arrive, so the section cache is exercised
+        for (int i = 0; i < 2000; i++) {
+            int x = random.nextInt(300) - 150;
+            int y = random.nextInt(160) - 10;
+            int z = random.nextInt(300) - 150;
+            for (int dx = 0; dx < 20; dx++) {
+                boolean expected = false;
+                for (int[] box : boxes) {
+                    expected |= x + dx >= box[0] && x + dx <= box[3] && y >= box[1] && y <= box[4] && z >= box[2]
+                            && z <= box[5];
+                }
+                assertEquals(expected, index.contains(x + dx, y, z), "at " + (x + dx) + " " + y + " " + z);
+            }
+        }
+    }
+
+    @Test
+    void classifiesWholeSections() {
+        RegionIndex index = new RegionIndex();
+        index.add(-40, 0, -40, 39, 63, 39);
+
+        assertEquals(RegionIndex.FULL, index.sectionState(0, 1, 0));
+        assertEquals(RegionIndex.FULL, index.sectionState(-2, 0, 1));
+        assertEquals(RegionIndex.PARTIAL, index.sectionState(2, 1, 0));
+        assertEquals(RegionIndex.NONE, index.sectionState(0, 4, 0));
+        assertEquals(RegionIndex.NONE, index.sectionState(5, 1, 0));
+    }
+
+    @Test
+    void answersBoxQueries() {
+        RegionIndex index = new RegionIndex();
+        assertTrue(index.isEmpty());
+        index.add(0, 0, 0, 15, 15, 15);
+
+        assertTrue(index.intersects(15, 15, 15, 30, 30, 30));
+        assertFalse(index.intersects(16, 0, 0, 30, 15, 15));
+        assertFalse(index.contains(16, 0, 0));
+        assertTrue(index.contains(0, 0, 0));
+    }
+
+    @Test
+    void rejectsBoxesSpanningTooManyColumns() {
+        RegionIndex index = new RegionIndex();
+
+        assertThrows(IllegalArgumentException.class, () -> index.add(0, 0, 0, 5000, 10, 5000));
+        assertTrue(index.isEmpty());
+    }
+}
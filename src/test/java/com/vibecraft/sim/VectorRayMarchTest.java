@@ -0,0 +1,79 @@
+package com.vibecraft.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VectorRayMarchTest {
+
+    private static final double[][] CENTERS = { { 0.5, 40.5, 0.5 }, { 0.5, 64.5, 0.5 }, { 3.2, 70.1, -5.7 } };
+    private static final float[] POWERS = { 4.0F, 20.0F, 80.0F, 200.0F };
+
+    @Test
+    void matchesTheScalarMarch() {
+        assumeTrue(VectorSupport.isAvailable(), "needs --add-modules jdk.incubator.vector");
+        ArrayVoxelGrid[] fixtures = { Fixtures.flatStone(4, 64), Fixtures.caves(4, 64, 40, 1L),
+                Fixtures.obsidianShell(4, 64, 8, 2) };
+        for (ArrayVoxelGrid grid : fixtures) {
+            for (double[] center : CENTERS) {
+                for (float power : POWERS) {
+                    PositionSet expected = solid(grid,
+                            new RayMarch(grid).march(center[0], center[1], center[2], power, new Random(42)::nextFloat));
+                    long[] actual = new VectorRayMarch(grid).march(center[0], center[1], center[2], power,
+                            new Random(42)::nextFloat);
+                    int shared = 0;
+                    for (long pos : actual) {
+                        if (expected.contains(pos)) {
+                            shared++;
+                        }
+                    }
+                    int union = expected.size() + actual.length - shared;
+                    // Fixed point rounding may flip a grazed corner block, nothing more
+                    assertTrue(union == 0 || shared >= union * 0.99, VectorRayMarch.lanes() + " lanes, power " + power
+                            + " at y " + center[1] + ": " + shared + "/" + union);
+                }
+            }
+        }
+    }
+
+    @Test
+    void neverReportsAir() {
+        assumeTrue(VectorSupport.isAvailable(), "needs --add-modules jdk.incubator.vector");
+        ArrayVoxelGrid grid = Fixtures.caves(4, 64, 40, 1L);
+        long[] destroyed = new VectorRayMarch(grid).march(0.5, 64.5, 0.5, 40.0F, new Random(3)::nextFloat);
+
+        assertTrue(destroyed.length > 0);
+        for (long pos : destroyed) {
+            assertTrue(grid.get(BlockKey.x(pos), BlockKey.y(pos), BlockKey.z(pos)) != VoxelGrid.AIR);
+        }
+    }
+
+    @Test
+    void destroysNothingFromOutsideTheWorld() {
+        assumeTrue(VectorSupport.isAvailable(), "needs --add-modules jdk.incubator.vector");
+        ArrayVoxelGrid grid = Fixtures.flatStone(4, 64);
+        double[] heights = { Fixtures.TOP_Y + 80.5, Fixtures.TOP_Y + 0.5, Fixtures.BOTTOM_Y - 36.5,
+                Fixtures.BOTTOM_Y - 0.5 };
+        for (double y : heights) {
+            for (float power : POWERS) {
+                long[] destroyed = new VectorRayMarch(grid).march(0.5, y, 0.5, power, new Random(1)::nextFloat);
+                assertEquals(0, destroyed.length, "power " + power + " at y " + y);
+                assertEquals(0, new RayMarch(grid).march(0.5, y, 0.5, power, new Random(1)::nextFloat).length);
+            }
+        }
+    }
+
+    private static PositionSet solid(VoxelGrid grid, long[] positions) {
+        PositionSet solid = new PositionSet();
+        for (long pos : positions) {
+            if (grid.get(BlockKey.x(pos), BlockKey.y(pos), BlockKey.z(pos)) != VoxelGrid.AIR) {
+                solid.add(pos);
+            }
+        }
+        return solid;
+    }
+}
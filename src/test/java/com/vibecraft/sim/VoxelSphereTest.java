@@ -0,0 +1,115 @@
+package com.vibecraft.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoxelSphereTest {
+
+    private final VoxelSphere sphere = new VoxelSphere();
+
+    @Test
+    void openAirDestroysNothing() {
+        ArrayVoxelGrid grid = new ArrayVoxelGrid(2, Fixtures.BOTTOM_Y, Fixtures.TOP_Y);
+
+        assertEquals(0, sphere.compute(grid, 0.5, 64.5, 0.5, 200.0F).length);
+    }
+
+    @Test
+    void staysWithinItsRadius() {
+        ArrayVoxelGrid grid = Fixtures.caves(4, 64, 40, 3L);
+        for (float power : new float[] { 4.0F, 20.0F, 80.0F }) {
+            int radius = VoxelSphere.radiusFor(power);
+            for (long pos : sphere.compute(grid, 0.5, 64.5, 0.5, power)) {
+                assertTrue(Grids.distance(pos, 0.5, 64.5, 0.5) <= radius + 0.5);
+            }
+        }
+    }
+
+    @Test
+    void reachesGroundFarBelowAtExtremePower() {
+        // 100 blocks above the ground, far past the 64 blocks a fixed-size grid used to stop at
+        ArrayVoxelGrid grid = Fixtures.flatStone(4, 64);
+        float power = 200.0F;
+        Set<Long> rays = new HashSet<>();
+        for (long pos : new RayMarch(grid).march(0.5, 164.5, 0.5, power, new Random(42)::nextFloat)) {
+            if (grid.get(BlockKey.x(pos), BlockKey.y(pos), BlockKey.z(pos)) != VoxelGrid.AIR) {
+                rays.add(pos);
+            }
+        }
+        long[] destroyed = sphere.compute(grid, 0.5, 164.5, 0.5, power);
+
+        int covered = 0;
+        for (long pos : destroyed) {
+            assertTrue(Grids.distance(pos, 0.5, 164.5, 0.5) <= VoxelSphere.radiusFor(power) + 0.5);
+            if (rays.contains(pos)) {
+                covered++;
+            }
+        }
+        assertTrue(!rays.isEmpty() && covered >= rays.size() * 0.8, "covers " + covered + "/" + rays.size());
+    }
+
+    @Test
+    void rejectsPowerOutOfRange() {
+        ArrayVoxelGrid grid = Fixtures.flatStone(1, 64);
+
+        assertTrue(VoxelSphere.covers(VoxelSphere.MAX_POWER));
+        assertFalse(VoxelSphere.covers(VoxelSphere.MAX_POWER + 1.0F));
+        assertThrows(IllegalArgumentException.class,
+                () -> sphere.compute(grid, 0.5, 64.5, 0.5, VoxelSphere.MAX_POWER + 1.0F));
+    }
+
+    @Test
+    void obsidianShellHoldsTheBlast() {
+        int inner = 8;
+        ArrayVoxelGrid grid = Fixtures.obsidianShell(4, 64, inner, 2);
+        long[] destroyed = sphere.compute(grid, 0.5, 64.5, 0.5, 200.0F);
+
+        assertTrue(destroyed.length > 0);
+        for (long pos : destroyed) {
+            assertEquals("stone", grid.name(grid.get(BlockKey.x(pos), BlockKey.y(pos), BlockKey.z(pos))));
+        }
+    }
+
+    @Test
+    void roughlyMatchesTheRayCrater() {
+        ArrayVoxelGrid[] fixtures = { Fixtures.flatStone(4, 64), Fixtures.caves(4, 64, 40, 1L) };
+        double[][] centers = { { 0.5, 40.5, 0.5 }, { 0.5, 64.5, 0.5 } };
+        for (ArrayVoxelGrid grid : fixtures) {
+            for (double[] center : centers) {
+                for (float power : new float[] { 8.0F, 20.0F, 80.0F }) {
+                    Set<Long> rays = new HashSet<>();
+                    double rayReach = 0.0;
+                    for (long pos : new RayMarch(grid).march(center[0], center[1], center[2], power,
+                            new Random(42)::nextFloat)) {
+                        if (grid.get(BlockKey.x(pos), BlockKey.y(pos), BlockKey.z(pos)) != VoxelGrid.AIR) {
+                            rays.add(pos);
+                            rayReach = Math.max(rayReach, Grids.distance(pos, center[0], center[1], center[2]));
+                        }
+                    }
+
+                    int covered = 0;
+                    double voxelReach = 0.0;
+                    for (long pos : sphere.compute(grid, center[0], center[1], center[2], power)) {
+                        if (rays.contains(pos)) {
+                            covered++;
+                        }
+                        voxelReach = Math.max(voxelReach, Grids.distance(pos, center[0], center[1], center[2]));
+                    }
+
+                    String where = "power " + power + " at y " + center[1];
+                    assertTrue(covered >= rays.size() * 0.8, where + ": covers " + covered + "/" + rays.size());
+                    assertTrue(voxelReach <= rayReach * 1.25 + 1.0, where + ": reach " + voxelReach
+                            + " vs " + rayReach);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.vibecraft.testmod;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.vibecraft.explosion.ExplosionRayMarch;
+import com.vibecraft.explosion.VoxelSphereExplosion;
+import com.vibecraft.mixin.ExplosionImplAccessor;
+import com.vibecraft.sim.VoxelSphere;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+import net.minecraft.world.explosion.ExplosionImpl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * {@code /benchmarkexplosions [iterations]}: times the explosion engines at the player's position without
+ * destroying anything.
+ */
+public final class BenchmarkCommand {
+
+    private static final float TNT_POWER = 4.0f;
+    private static final float[] MULTIPLIERS = { 2.0f, 12.0f, 20.0f, 50.0f };
+
+    private BenchmarkCommand() {
+    }
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("benchmarkexplosions")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(argument("iterations", IntegerArgumentType.integer(1, 100))
+                        .executes(context -> run(context.getSource(),
+                                IntegerArgumentType.getInteger(context, "iterations"))))
+                .executes(context -> run(context.getSource(), 5)));
+    }
+
+    private static int run(ServerCommandSource source, int iterations) {
+        ServerPlayerEntity player = source.getPlayer();
+        if (player == null) {
+            source.sendFeedback(() -> Text.literal("❌ Must be executed by a player").formatted(Formatting.RED), false);
+            return 0;
+        }
+
+        ServerWorld world = player.getWorld();
+        Vec3d center = player.getPos();
+        ExplosionBehavior behavior = new ExplosionBehavior();
+
+        source.sendFeedback(() -> Text.literal(String.format(
+                "Voxel engine covers power up to %.0f (%.0fx TNT); stronger explosions fall back to rays",
+                VoxelSphere.MAX_POWER, VoxelSphere.MAX_POWER / TNT_POWER))
+                .formatted(Formatting.GRAY), false);
+        for (float multiplier : MULTIPLIERS) {
+            float power = TNT_POWER * multiplier;
+            ExplosionImpl explosion = new ExplosionImpl(world, null, null, behavior, center, power, false,
+                    Explosion.DestructionType.DESTROY);
+
+            Result vanilla = time(iterations, world,
+                    () -> ((ExplosionImplAccessor) explosion).vibecraft$getBlocksToDestroy());
+            Result ray = time(iterations, world,
+                    () -> ExplosionRayMarch.march(explosion, world, behavior, center, power));
+            Result voxel = time(iterations, world,
+                    () -> VoxelSphereExplosion.compute(explosion, world, behavior, center, power));
+
+            double overlap = overlap(vanilla.blocks, voxel.blocks);
+            // Above its cutoff the voxel engine hands the explosion to the ray march, so its time is the ray's
+            String voxelName = VoxelSphere.covers(power) ? "voxel" : "voxel (ray fallback)";
+            source.sendFeedback(() -> Text.literal(String.format("%.0fx (power %.0f):", multiplier, power))
+                    .formatted(Formatting.YELLOW), false);
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → vanilla %.2f ms, ray march %.2f ms, %s %.2f ms", vanilla.millis, ray.millis, voxelName,
+                    voxel.millis)), false);
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → blocks: ray %d, voxel %d, overlap %.0f%%", vanilla.blocks.size(), voxel.blocks.size(),
+                    overlap * 100.0)), false);
+        }
+        return 1;
+    }
+
+    /**
+     * Average time of one run after a warm-up run, and the solid blocks the last run would destroy.
+     */
+    private static Result time(int iterations, ServerWorld world, Supplier<List<BlockPos>> engine) {
+        engine.get();
+        List<BlockPos> positions = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            positions = engine.get();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / iterations;
+
+        Set<BlockPos> solid = new HashSet<>();
+        for (BlockPos pos : positions) {
+            if (!world.getBlockState(pos).isAir()) {
+                solid.add(pos);
+            }
+        }
+        return new Result(millis, solid);
+    }
+
+    private static double overlap(Set<BlockPos> a, Set<BlockPos> b) {
+        Set<BlockPos> union = new HashSet<>(a);
+        union.addAll(b);
+        if (union.isEmpty()) {
+            return 1.0;
+        }
+        long shared = a.stream().filter(b::contains).count();
+        return (double) shared / union.size();
+    }
+
+    private record Result(double millis, Set<BlockPos> blocks) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.vibecraft.testmod;
+
+import com.mojang.authlib.GameProfile;
+import com.vibecraft.Vibecraft;
+import com.vibecraft.net.LaunchTntPayload;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Headless TNT launch load: fake players stand in a ring and send {@link LaunchTntPayload}s through the same codec
+ * and {@link Vibecraft#receiveLaunchTnt} handler a real client's packets go through, at a fixed rate per player.
+ * <p>
+ * Launches are injected at the start of the server tick instead of as queued network tasks, so their cost shows up
+ * in the measured tick time. Fake players are never added to the world or the player list and have no connection,
+ * so this runs on a dedicated server with nobody online.
+ */
+public final class LaunchLoadGenerator {
+
+    public enum Aim {
+        /** Random yaw, 10° to 60° upwards */
+        RANDOM,
+        /** Towards the ring's center */
+        INWARD,
+        /** Away from the ring's center */
+        OUTWARD,
+        /** Almost straight up, so the TNT lands back near its launcher */
+        UP
+    }
+
+    private static final double RING_RADIUS = 8.0;
+
+    @Nullable
+    private static LaunchLoadGenerator active;
+
+    private final ServerCommandSource source;
+    private final ServerWorld world;
+    private final Vec3d center;
+    private final List<FakePlayer> players = new ArrayList<>();
+    private final float launchesPerTick;
+    private final Aim aim;
+    private final int durationTicks;
+    private final Random random = new Random(0x5EED);
+    private final RegistryByteBuf buffer;
+    private final float[] credit;
+
+    private final List<TntEntity> inFlight = new ArrayList<>();
+    private final IntArrayList launchTicks = new IntArrayList();
+    private final LongArrayList launchNanos = new LongArrayList();
+    private final IntArrayList latencyTicks = new IntArrayList();
+    private final LongArrayList latencyNanos = new LongArrayList();
+    private final LongArrayList tickNanos = new LongArrayList();
+
+    private long tickStart;
+    private int ticks;
+    private int sequence;
+    private int launches;
+    private int rejected;
+    private int peakInFlight;
+    private int peakEntities;
+
+    private LaunchLoadGenerator(ServerCommandSource source, int playerCount, float launchesPerSecond, Aim aim,
+            int seconds) {
+        this.source = source;
+        this.world = source.getWorld();
+        this.center = source.getPosition();
+        this.launchesPerTick = launchesPerSecond / 20.0f;
+        this.aim = aim;
+        this.durationTicks = seconds * 20;
+        this.buffer = new RegistryByteBuf(Unpooled.buffer(16), source.getServer().getRegistryManager());
+        this.credit = new float[playerCount];
+
+        for (int i = 0; i < playerCount; i++) {
+            String name = "vcload-" + i;
+            UUID uuid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+            FakePlayer player = FakePlayer.get(world, new GameProfile(uuid, name));
+            double angle = 2.0 * Math.PI * i / playerCount;
+            player.refreshPositionAndAngles(center.x + Math.cos(angle) * RING_RADIUS, center.y,
+                    center.z + Math.sin(angle) * RING_RADIUS, 0.0f, 0.0f);
+            players.add(player);
+            // Spread the first launches over the first second instead of firing all players in one tick
+            credit[i] = random.nextFloat();
+        }
+    }
+
+    public static boolean isRunning() {
+        return active != null;
+    }
+
+    public static void start(ServerCommandSource source, int players, float launchesPerSecond, Aim aim,
+            int seconds) {
+        stop();
+        active = new LaunchLoadGenerator(source, players, launchesPerSecond, aim, seconds);
+    }
+
+    /**
+     * Stops the running load, removes the TNT still in flight and reports. Returns whether a load was running.
+     */
+    public static boolean stop() {
+        LaunchLoadGenerator generator = active;
+        if (generator == null) {
+            return false;
+        }
+        active = null;
+        generator.inFlight.forEach(Entity::discard);
+        generator.buffer.release();
+        generator.report();
+        return true;
+    }
+
+    public static void startTick(MinecraftServer server) {
+        LaunchLoadGenerator generator = active;
+        if (generator != null) {
+            generator.tickStart = System.nanoTime();
+            generator.launch();
+        }
+    }
+
+    public static void endTick(MinecraftServer server) {
+        LaunchLoadGenerator generator = active;
+        if (generator == null) {
+            return;
+        }
+        generator.tickNanos.add(System.nanoTime() - generator.tickStart);
+        generator.collectDetonations();
+        if (++generator.ticks >= generator.durationTicks) {
+            stop();
+        }
+    }
+
+    private void launch() {
+        for (int i = 0; i < players.size(); i++) {
+            credit[i] += launchesPerTick;
+            while (credit[i] >= 1.0f) {
+                credit[i] -= 1.0f;
+                launchFrom(players.get(i));
+            }
+        }
+    }
+
+    private void launchFrom(FakePlayer player) {
+        aim(player);
+        if (player.getMainHandStack().getCount() < 2) {
+            player.setStackInHand(Hand.MAIN_HAND, new ItemStack(Items.TNT, 64));
+        }
+
+        // Round-trip through the payload codec like a packet from a real client
+        buffer.clear();
+        LaunchTntPayload.CODEC.encode(buffer, new LaunchTntPayload(sequence++, 1.0f + random.nextFloat() * 4.0f));
+        LaunchTntPayload payload = LaunchTntPayload.CODEC.decode(buffer);
+
+        launches++;
+        TntEntity tnt = Vibecraft.receiveLaunchTnt(player, payload);
+        if (tnt == null) {
+            rejected++;
+            return;
+        }
+        inFlight.add(tnt);
+        launchTicks.add(ticks);
+        launchNanos.add(System.nanoTime());
+    }
+
+    private void aim(FakePlayer player) {
+        double dx = center.x - player.getX();
+        double dz = center.z - player.getZ();
+        float towardsCenter = (float) (MathHelper.atan2(-dx, dz) * MathHelper.DEGREES_PER_RADIAN);
+        float yaw;
+        float pitch;
+        switch (aim) {
+            case INWARD -> {
+                yaw = towardsCenter;
+                pitch = -30.0f;
+            }
+            case OUTWARD -> {
+                yaw = towardsCenter + 180.0f;
+                pitch = -30.0f;
+            }
+            case UP -> {
+                yaw = random.nextFloat() * 360.0f;
+                pitch = -85.0f;
+            }
+            default -> {
+                yaw = random.nextFloat() * 360.0f;
+                pitch = -10.0f - random.nextFloat() * 50.0f;
+            }
+        }
+        player.setYaw(yaw);
+        player.setPitch(pitch);
+    }
+
+    private void collectDetonations() {
+        long now = System.nanoTime();
+        // Swap-remove keeps this linear in the number of TNT in flight
+        for (int i = inFlight.size() - 1; i >= 0; i--) {
+            if (inFlight.get(i).isRemoved()) {
+                latencyTicks.add(ticks - launchTicks.getInt(i));
+                latencyNanos.add(now - launchNanos.getLong(i));
+                int last = inFlight.size() - 1;
+                inFlight.set(i, inFlight.get(last));
+                launchTicks.set(i, launchTicks.getInt(last));
+                launchNanos.set(i, launchNanos.getLong(last));
+                inFlight.remove(last);
+                launchTicks.removeInt(last);
+                launchNanos.removeLong(last);
+            }
+        }
+        peakInFlight = Math.max(peakInFlight, inFlight.size());
+        if (ticks % 20 == 0) {
+            int entities = 0;
+            for (Entity ignored : world.iterateEntities()) {
+                entities++;
+            }
+            peakEntities = Math.max(peakEntities, entities);
+        }
+    }
+
+    private void report() {
+        long[] mspt = tickNanos.toLongArray();
+        int[] latency = latencyTicks.toIntArray();
+        long[] latencyWall = latencyNanos.toLongArray();
+        Arrays.sort(mspt);
+        Arrays.sort(latency);
+        Arrays.sort(latencyWall);
+
+        double meanMspt = mspt.length == 0 ? 0.0 : Arrays.stream(mspt).average().orElse(0.0) / 1_000_000.0;
+        List<String> lines = List.of(
+                String.format("📊 Launch load: %d fake players, %.1f launches/s each, %s aim, %d ticks",
+                        players.size(), launchesPerTick * 20.0f, aim.name().toLowerCase(), ticks),
+                String.format("  → %d launches (%d rejected), %d detonated, %d still in flight", launches, rejected,
+                        latency.length, inFlight.size()),
+                String.format("  → MSPT mean %.2f, p95 %.2f, max %.2f", meanMspt,
+                        percentile(mspt, 0.95) / 1_000_000.0, percentile(mspt, 1.0) / 1_000_000.0),
+                String.format("  → Peak %d launched TNT in flight, %d entities in the world", peakInFlight,
+                        peakEntities),
+                String.format("  → Launch to detonation: p50 %d, p95 %d, p99 %d ticks (p50 %.0f ms wall clock)",
+                        percentile(latency, 0.5), percentile(latency, 0.95), percentile(latency, 0.99),
+                        percentile(latencyWall, 0.5) / 1_000_000.0));
+        for (String line : lines) {
+            source.sendFeedback(() -> Text.literal(line).formatted(Formatting.AQUA), false);
+            VibecraftTestMod.LOGGER.info(line);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(sorted.length * p) - 1)];
+    }
+
+    private static int percentile(int[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(sorted.length * p) - 1)];
+    }
+}
@@ -0,0 +1,67 @@
+package com.vibecraft.testmod;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * {@code /loadtest start <players> <launches/s> [aim] [seconds]} and {@code /loadtest stop}: drives
+ * {@link LaunchLoadGenerator}.
+ */
+public final class LoadTestCommand {
+
+    private static final int DEFAULT_SECONDS = 30;
+
+    private LoadTestCommand() {
+    }
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        RequiredArgumentBuilder<ServerCommandSource, Float> rate = argument("rate", FloatArgumentType.floatArg(0.01f,
+                20.0f))
+                .executes(context -> start(context, LaunchLoadGenerator.Aim.RANDOM, DEFAULT_SECONDS));
+        for (LaunchLoadGenerator.Aim aim : LaunchLoadGenerator.Aim.values()) {
+            rate.then(literal(aim.name().toLowerCase())
+                    .then(argument("seconds", IntegerArgumentType.integer(1, 3600))
+                            .executes(context -> start(context, aim,
+                                    IntegerArgumentType.getInteger(context, "seconds"))))
+                    .executes(context -> start(context, aim, DEFAULT_SECONDS)));
+        }
+
+        dispatcher.register(literal("loadtest")
+                .requires(source -> source.hasPermissionLevel(2))
+                .then(literal("start")
+                        .then(argument("players", IntegerArgumentType.integer(1, 500))
+                                .then(rate)))
+                .then(literal("stop")
+                        .executes(context -> {
+                            if (!LaunchLoadGenerator.stop()) {
+                                context.getSource().sendError(Text.literal("No load test running"));
+                                return 0;
+                            }
+                            return 1;
+                        }))
+                .executes(context -> {
+                    context.getSource().sendFeedback(() -> Text.literal(LaunchLoadGenerator.isRunning()
+                            ? "Load test running" : "No load test running").formatted(Formatting.AQUA), false);
+                    return 1;
+                }));
+    }
+
+    private static int start(CommandContext<ServerCommandSource> context, LaunchLoadGenerator.Aim aim, int seconds) {
+        int players = IntegerArgumentType.getInteger(context, "players");
+        float rate = FloatArgumentType.getFloat(context, "rate");
+        LaunchLoadGenerator.start(context.getSource(), players, rate, aim, seconds);
+        context.getSource().sendFeedback(() -> Text.literal(String.format(
+                "🧨 Load test: %d fake players launching %.1f TNT/s each (%s aim) for %d s", players, rate,
+                aim.name().toLowerCase(), seconds)).formatted(Formatting.YELLOW), false);
+        return 1;
+    }
+}
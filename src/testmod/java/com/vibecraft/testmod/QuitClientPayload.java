@@ -1,4 +1,4 @@
-package com.vibecraft.net;
+package com.vibecraft.testmod;
 
 import com.vibecraft.Vibecraft;
 import net.minecraft.network.RegistryByteBuf;
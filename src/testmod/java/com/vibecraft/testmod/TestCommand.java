@@ -0,0 +1,1263 @@
+package com.vibecraft.testmod;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.vibecraft.Vibecraft;
+import com.vibecraft.arena.ArenaManager;
+import com.vibecraft.arena.ArenaSnapshot;
+import com.vibecraft.chunk.ChunkSaveThrottle;
+import com.vibecraft.chunk.TrajectoryPreloader;
+import com.vibecraft.config.ExplosionConfig;
+import com.vibecraft.config.MultiplierPolicy;
+import com.vibecraft.explosion.ActiveExplosion;
+import com.vibecraft.explosion.ExplosionEffectBatcher;
+import com.vibecraft.explosion.ExplosionHotspots;
+import com.vibecraft.explosion.ExplosionRayMarch;
+import com.vibecraft.explosion.ExposureCache;
+import com.vibecraft.explosion.VoxelSphereExplosion;
+import com.vibecraft.journal.CraterRegenerator;
+import com.vibecraft.journal.ExplosionJournal;
+import com.vibecraft.journal.JournalRecord;
+import com.vibecraft.mixin.ExplosionImplAccessor;
+import com.vibecraft.region.ProtectedRegion;
+import com.vibecraft.region.ProtectedRegions;
+import com.vibecraft.sim.HotspotSketch;
+import com.vibecraft.tnt.BatchedTnt;
+import com.vibecraft.tnt.ClusteredTnt;
+import com.vibecraft.tnt.LaunchMath;
+import com.vibecraft.tnt.LaunchedTntBatch;
+import com.vibecraft.tnt.TntClusterMerger;
+import com.vibecraft.tnt.VolleyPattern;
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.passive.PigEntity;
+import net.minecraft.entity.TntEntity;
+import net.minecraft.entity.decoration.EndCrystalEntity;
+import net.minecraft.entity.mob.CreeperEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.network.packet.s2c.play.ExplosionS2CPacket;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+import net.minecraft.world.explosion.ExplosionImpl;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static net.minecraft.server.command.CommandManager.literal;
+
+/**
+ * In-game integration tests ({@code /runalltests}) and the {@code /clientquit} automation command.
+ */
+public final class TestCommand {
+
+    // Explosion tracking for tests
+    private static volatile Float lastExplosionMultiplier = null;
+    private static volatile String lastExplosionType = null;
+    private static final Object explosionLock = new Object();
+
+    private static final int TEST_ARENA_RADIUS = 48;
+
+    private TestCommand() {
+    }
+
+    public static void recordExplosion(String type, float multiplier) {
+        synchronized (explosionLock) {
+            lastExplosionMultiplier = multiplier;
+            lastExplosionType = type;
+        }
+    }
+
+    private static void clearExplosionData() {
+        synchronized (explosionLock) {
+            lastExplosionMultiplier = null;
+            lastExplosionType = null;
+        }
+    }
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(literal("runalltests")
+                .executes(context -> {
+                    return runAllTests(context.getSource());
+                }));
+
+        dispatcher.register(literal("clientquit")
+                .executes(context -> {
+                    context.getSource().sendFeedback(() -> Text.literal("Quitting client..."), false);
+                    ServerPlayerEntity player = context.getSource().getPlayer();
+                    if (player != null) {
+                        // Send quit signal to client
+                        ServerPlayNetworking.send(player, new QuitClientPayload());
+                    } else {
+                        // Fallback: stop server if no player context (e.g., executed from console)
+                        context.getSource().getServer().stop(false);
+                    }
+                    return 1;
+                }));
+    }
+
+    private static int runAllTests(ServerCommandSource source) {
+        int testsRun = 0;
+        int testsPassed = 0;
+
+        source.sendFeedback(
+                () -> Text.literal("🧪 Running Vibecraft integration tests...").formatted(Formatting.YELLOW),
+                false);
+
+        ServerPlayerEntity player = source.getPlayer();
+        if (player == null) {
+            source.sendFeedback(() -> Text.literal("❌ Tests must be run by a player").formatted(Formatting.RED), false);
+            return 0;
+        }
+
+        ServerWorld world = (ServerWorld) player.getWorld();
+
+        // Snapshot the test area so every run starts from the same terrain
+        ArenaSnapshot arena = ArenaManager.capture(world, player.getBlockPos(), TEST_ARENA_RADIUS);
+
+        try {
+            // Test 1: Creeper explosion with multiplier
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing creeper explosion...").formatted(Formatting.YELLOW),
+                    false);
+            if (testCreeperExplosion(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Creeper explosion test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Creeper explosion test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 2: TNT explosion with multiplier
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing TNT explosion...").formatted(Formatting.YELLOW), false);
+            if (testTntExplosion(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ TNT explosion test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ TNT explosion test failed").formatted(Formatting.RED), false);
+            }
+
+            // Test 3: TNT launching system
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing TNT launching...").formatted(Formatting.YELLOW), false);
+            if (testTntLaunching(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ TNT launching test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ TNT launching test failed").formatted(Formatting.RED), false);
+            }
+
+            // Test 4: Configuration system
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing configuration system...").formatted(Formatting.YELLOW),
+                    false);
+            if (testConfigurationSystem(source)) {
+                testsPassed++;
+                source.sendFeedback(
+                        () -> Text.literal("✅ Configuration system test passed").formatted(Formatting.GREEN), false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Configuration system test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 5: TNT cluster merging
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing TNT cluster merging...").formatted(Formatting.YELLOW),
+                    false);
+            if (testTntClusterMerging(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ TNT cluster merging test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ TNT cluster merging test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 6: Launched TNT batch simulation
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing launched TNT batch...").formatted(Formatting.YELLOW),
+                    false);
+            if (testLaunchedTntBatch(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Launched TNT batch test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Launched TNT batch test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 7: Explosion journal rollback
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing explosion journal...").formatted(Formatting.YELLOW),
+                    false);
+            if (testExplosionJournal(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Explosion journal test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Explosion journal test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 8: Cached and adaptive exposure
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing exposure cache...").formatted(Formatting.YELLOW),
+                    false);
+            if (testExposureCache(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Exposure cache test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Exposure cache test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 9: Ray march matches vanilla
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing explosion ray march...").formatted(Formatting.YELLOW),
+                    false);
+            if (testRayMarchEquivalence(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Ray march test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Ray march test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 10: Voxel sphere engine
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing voxel explosion engine...").formatted(Formatting.YELLOW),
+                    false);
+            if (testVoxelEngine(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Voxel engine test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Voxel engine test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 11: TNT volley launch
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing TNT volley launch...").formatted(Formatting.YELLOW),
+                    false);
+            if (testLaunchVolley(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ TNT volley test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ TNT volley test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 12: Throttled chunk saving
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing throttled chunk saving...").formatted(Formatting.YELLOW),
+                    false);
+            if (testChunkSaveThrottle(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Chunk save test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Chunk save test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 13: Explosion effect batching
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing explosion effect batching...")
+                    .formatted(Formatting.YELLOW), false);
+            if (testEffectBatching(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Effect batching test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Effect batching test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 14: Launch path preloading
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing launch path preloading...").formatted(Formatting.YELLOW),
+                    false);
+            if (testTrajectoryPreload(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Preload test passed").formatted(Formatting.GREEN), false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Preload test failed").formatted(Formatting.RED), false);
+            }
+
+            // Test 15: Protected regions
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing protected regions...").formatted(Formatting.YELLOW),
+                    false);
+            if (testProtectedRegions(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Protected region test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Protected region test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+            // Test 16: Explosion hotspots
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing explosion hotspots...").formatted(Formatting.YELLOW),
+                    false);
+            if (testExplosionHotspots(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Hotspot test passed").formatted(Formatting.GREEN), false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Hotspot test failed").formatted(Formatting.RED), false);
+            }
+
+            // Test 17: Per-source multipliers on vanilla explosions
+            testsRun++;
+            source.sendFeedback(() -> Text.literal("🧪 Testing per-source multipliers...").formatted(Formatting.YELLOW),
+                    false);
+            if (testSourcePolicies(source, player, world)) {
+                testsPassed++;
+                source.sendFeedback(() -> Text.literal("✅ Source policy test passed").formatted(Formatting.GREEN),
+                        false);
+            } else {
+                source.sendFeedback(() -> Text.literal("❌ Source policy test failed").formatted(Formatting.RED),
+                        false);
+            }
+
+        } catch (Exception e) {
+            source.sendFeedback(
+                    () -> Text.literal("❌ Test execution failed: " + e.getMessage()).formatted(Formatting.RED), false);
+            Vibecraft.LOGGER.error("Test execution failed", e);
+            return 0;
+        } finally {
+            long start = System.nanoTime();
+            int restored = arena.restore();
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            source.sendFeedback(() -> Text.literal(String.format("♻ Restored %d arena sections in %.1f ms", restored,
+                    millis)).formatted(Formatting.GRAY), false);
+            ArenaManager.clear();
+        }
+
+        // Final results
+        String resultMessage;
+        if (testsPassed == testsRun) {
+            resultMessage = String.format("✅ All tests passed (%d/%d)", testsPassed, testsRun);
+            source.sendFeedback(() -> Text.literal(resultMessage).formatted(Formatting.GREEN), false);
+            Vibecraft.LOGGER.info(resultMessage);
+        } else {
+            resultMessage = String.format("❌ Some tests failed (%d/%d passed)", testsPassed, testsRun);
+            source.sendFeedback(() -> Text.literal(resultMessage).formatted(Formatting.RED), false);
+            Vibecraft.LOGGER.warn(resultMessage);
+        }
+
+        return testsPassed == testsRun ? 1 : 0;
+    }
+
+    private static boolean testCreeperExplosion(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        try {
+            // Set a fixed multiplier for predictable testing
+            ExplosionConfig.setMultiplier(3.0f);
+            clearExplosionData();
+
+            source.sendFeedback(() -> Text.literal("  → Spawning creeper..."), false);
+
+            // Find a safe location for testing
+            BlockPos testPos = player.getBlockPos().add(10, 0, 10);
+            Vec3d spawnPos = new Vec3d(testPos.getX() + 0.5, testPos.getY() + 1, testPos.getZ() + 0.5);
+
+            // Spawn a creeper
+            CreeperEntity creeper = new CreeperEntity(EntityType.CREEPER, world);
+            creeper.setPosition(spawnPos);
+            world.spawnEntity(creeper);
+
+            source.sendFeedback(() -> Text.literal("  → Igniting creeper..."), false);
+
+            // Force the creeper to explode by directly calling the explosion method
+            // Instead of waiting for ignite/fuse, create explosion directly
+            float baseExplosionPower = 3.0f; // Default creeper explosion power
+            float multiplier = 3.0f;
+            float expectedPower = baseExplosionPower * multiplier;
+
+            source.sendFeedback(
+                    () -> Text.literal(String.format("  → Creating explosion (%.1fx power)...", expectedPower)), false);
+
+            // Create the explosion with the creeper's own power; the multiplier is applied on the way in
+            world.createExplosion(creeper, spawnPos.x, spawnPos.y, spawnPos.z,
+                    baseExplosionPower, World.ExplosionSourceType.MOB);
+
+            // Remove the creeper since we manually exploded it
+            creeper.discard();
+
+            // Wait a bit for explosion effects to process
+            Thread.sleep(500);
+
+            source.sendFeedback(
+                    () -> Text.literal(String.format("  → Explosion completed! Expected power: %.1fx", expectedPower)),
+                    false);
+
+            // Test passes if the explosion itself was multiplied by the configured value
+            synchronized (explosionLock) {
+                return lastExplosionMultiplier != null && Math.abs(lastExplosionMultiplier - 3.0f) < 0.001f
+                        && "creeper".equals(lastExplosionType);
+            }
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Creeper explosion test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Creeper explosion test error: " + e.getMessage()), false);
+            return false;
+        }
+    }
+
+    private static boolean testTntExplosion(ServerCommandSource source, ServerPlayerEntity player, ServerWorld world) {
+        try {
+            // Set a different multiplier for TNT test
+            ExplosionConfig.setMultiplier(2.5f);
+            clearExplosionData();
+
+            source.sendFeedback(() -> Text.literal("  → Spawning TNT..."), false);
+
+            // Find a safe location for testing
+            BlockPos testPos = player.getBlockPos().add(-10, 0, 10);
+            Vec3d spawnPos = new Vec3d(testPos.getX() + 0.5, testPos.getY() + 1, testPos.getZ() + 0.5);
+
+            // Spawn TNT
+            TntEntity tnt = new TntEntity(world, spawnPos.x, spawnPos.y, spawnPos.z, player);
+            world.spawnEntity(tnt);
+
+            source.sendFeedback(() -> Text.literal("  → Detonating TNT..."), false);
+
+            // Force TNT to explode immediately by creating explosion directly
+            float baseExplosionPower = 4.0f; // Default TNT explosion power
+            float multiplier = 2.5f;
+            float expectedPower = baseExplosionPower * multiplier;
+
+            source.sendFeedback(
+                    () -> Text.literal(String.format("  → Creating explosion (%.1fx power)...", expectedPower)), false);
+
+            // Create the explosion with plain TNT power; the multiplier is applied on the way in
+            world.createExplosion(tnt, spawnPos.x, spawnPos.y, spawnPos.z,
+                    baseExplosionPower, World.ExplosionSourceType.TNT);
+
+            // Remove the TNT since we manually exploded it
+            tnt.discard();
+
+            // Wait a bit for explosion effects to process
+            Thread.sleep(500);
+
+            source.sendFeedback(
+                    () -> Text.literal(String.format("  → Explosion completed! Expected power: %.1fx", expectedPower)),
+                    false);
+
+            // Test passes if the explosion itself was multiplied by the configured value
+            synchronized (explosionLock) {
+                return lastExplosionMultiplier != null && Math.abs(lastExplosionMultiplier - 2.5f) < 0.001f
+                        && "tnt".equals(lastExplosionType);
+            }
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("TNT explosion test failed", e);
+            source.sendFeedback(() -> Text.literal("  → TNT explosion test error: " + e.getMessage()), false);
+            return false;
+        }
+    }
+
+    private static boolean testTntLaunching(ServerCommandSource source, ServerPlayerEntity player, ServerWorld world) {
+        try {
+            source.sendFeedback(() -> Text.literal("  → Testing TNT launching system..."), false);
+
+            // Test the TNT launching functionality
+            Vec3d playerPos = player.getPos();
+            Vec3d spawnPos = playerPos.add(5, 3, 5);
+
+            // Create a launched TNT using the same logic as the mod
+            TntEntity tnt = new TntEntity(world, spawnPos.x, spawnPos.y, spawnPos.z, player);
+            tnt.addCommandTag("mod:launched_tnt");
+            Vec3d velocity = new Vec3d(0.5, 0.8, 0.5).multiply(1.2 * 2.0);
+            tnt.setVelocity(velocity);
+            tnt.setFuse(200);
+
+            source.sendFeedback(() -> Text.literal("  → Spawning launched TNT..."), false);
+            world.spawnEntity(tnt);
+
+            // Verify the TNT has the correct tag
+            boolean hasCorrectTag = tnt.getCommandTags().contains("mod:launched_tnt");
+            source.sendFeedback(() -> Text.literal("  → TNT tag: " + (hasCorrectTag ? "✓" : "✗")), false);
+
+            // Test that it has velocity (was launched)
+            boolean hasVelocity = tnt.getVelocity().lengthSquared() > 0.1;
+            source.sendFeedback(() -> Text.literal("  → TNT velocity: " + (hasVelocity ? "✓" : "✗")), false);
+
+            // Wait a moment for TNT to move, then trigger impact explosion
+            Thread.sleep(500);
+
+            // Simulate impact by setting TNT on ground and triggering our impact mixin
+            tnt.setOnGround(true);
+
+            // Wait for impact explosion (our mixin should trigger)
+            Thread.sleep(1000);
+
+            source.sendFeedback(() -> Text.literal("  → Launched TNT test completed"), false);
+
+            return hasCorrectTag && hasVelocity;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("TNT launching test failed", e);
+            source.sendFeedback(() -> Text.literal("  → TNT launching test error: " + e.getMessage()), false);
+            return false;
+        }
+    }
+
+    private static boolean testTntClusterMerging(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        java.util.List<TntEntity> spawned = new java.util.ArrayList<>();
+        try {
+            source.sendFeedback(() -> Text.literal("  → Spawning a stack of 10 primed TNT..."), false);
+
+            BlockPos testPos = player.getBlockPos().add(0, 20, -10);
+            Vec3d spawnPos = new Vec3d(testPos.getX() + 0.5, testPos.getY(), testPos.getZ() + 0.5);
+            for (int i = 0; i < 10; i++) {
+                TntEntity tnt = new TntEntity(world, spawnPos.x, spawnPos.y, spawnPos.z, player);
+                tnt.setVelocity(Vec3d.ZERO);
+                tnt.setFuse(200);
+                world.spawnEntity(tnt);
+                spawned.add(tnt);
+            }
+
+            source.sendFeedback(() -> Text.literal("  → Merging..."), false);
+            int removed = TntClusterMerger.mergeAll(world);
+
+            java.util.List<TntEntity> alive = spawned.stream().filter(TntEntity::isAlive).toList();
+            boolean mergedToOne = removed == 9 && alive.size() == 1;
+            int count = alive.isEmpty() ? 0 : ((ClusteredTnt) alive.get(0)).vibecraft$getClusterCount();
+            source.sendFeedback(() -> Text.literal("  → Remaining entities: " + alive.size() + ", cluster count: "
+                    + count), false);
+
+            return mergedToOne && count == 10;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("TNT cluster merging test failed", e);
+            source.sendFeedback(() -> Text.literal("  → TNT cluster merging test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            // Don't let the test cluster blow up next to the player
+            spawned.forEach(TntEntity::discard);
+        }
+    }
+
+    private static boolean testLaunchedTntBatch(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        TntEntity tnt = null;
+        BlockPos wall = null;
+        try {
+            source.sendFeedback(() -> Text.literal("  → Spawning batched TNT in open air..."), false);
+
+            Vec3d start = new Vec3d(player.getX(), world.getTopYInclusive() - 10, player.getZ());
+            Vec3d velocity = new Vec3d(0.5, 0.0, 0.0);
+            tnt = new TntEntity(world, start.x, start.y, start.z, player);
+            tnt.addCommandTag("mod:launched_tnt");
+            tnt.setVelocity(velocity);
+            tnt.setFuse(200);
+            world.spawnEntity(tnt);
+            LaunchedTntBatch.get(world).add(tnt);
+
+            boolean batched = ((BatchedTnt) tnt).vibecraft$isBatched();
+            source.sendFeedback(() -> Text.literal("  → Batched: " + (batched ? "✓" : "✗")), false);
+
+            // One batch step: gravity first, then the move, then drag
+            long corrections = LaunchedTntBatch.getCorrections();
+            LaunchedTntBatch.tick(world);
+
+            Vec3d expectedPos = start.add(velocity.x, velocity.y - 0.04, velocity.z);
+            boolean moved = tnt.getPos().squaredDistanceTo(expectedPos) < 1.0E-6;
+            boolean gravity = Math.abs(tnt.getVelocity().y - (-0.04 * 0.98)) < 1.0E-6;
+            source.sendFeedback(() -> Text.literal("  → Position stepped: " + (moved ? "✓" : "✗")
+                    + ", gravity applied: " + (gravity ? "✓" : "✗")), false);
+
+            // Undisturbed flight matches client extrapolation, a push does not
+            boolean quietInFlight = LaunchedTntBatch.getCorrections() == corrections;
+            tnt.setVelocity(tnt.getVelocity().add(0.0, 0.5, 0.0));
+            LaunchedTntBatch.tick(world);
+            boolean correctedAfterPush = !LaunchedTntBatch.isReducedTracking()
+                    || LaunchedTntBatch.getCorrections() == corrections + 1;
+            source.sendFeedback(() -> Text.literal("  → No correction in flight: " + (quietInFlight ? "✓" : "✗")
+                    + ", corrected after push: " + (correctedAfterPush ? "✓" : "✗")), false);
+
+            if (!(batched && moved && gravity && quietInFlight && correctedAfterPush)) {
+                return false;
+            }
+
+            // Spawn packets clamp velocity to 3.9 blocks/tick, so a faster launch needs a correction straight away
+            tnt.discard();
+            tnt = new TntEntity(world, start.x, start.y, start.z, player);
+            tnt.addCommandTag("mod:launched_tnt");
+            tnt.setVelocity(5.0, 0.0, 0.0);
+            tnt.setFuse(200);
+            world.spawnEntity(tnt);
+            LaunchedTntBatch.get(world).add(tnt);
+            long beforeFast = LaunchedTntBatch.getCorrections();
+            LaunchedTntBatch.tick(world);
+            boolean correctedFast = !LaunchedTntBatch.isReducedTracking()
+                    || LaunchedTntBatch.getCorrections() == beforeFast + 1;
+            source.sendFeedback(() -> Text.literal("  → Launch past the spawn packet's limit corrected: "
+                    + (correctedFast ? "✓" : "✗")), false);
+            if (!correctedFast) {
+                return false;
+            }
+
+            // Hitting a wall is no impact: vanilla collision takes over and stops the TNT against it
+            tnt.discard();
+            BlockPos cell = BlockPos.ofFloored(start);
+            wall = cell.east();
+            world.setBlockState(wall, Blocks.STONE.getDefaultState());
+            tnt = new TntEntity(world, cell.getX() + 0.5, cell.getY(), cell.getZ() + 0.5, player);
+            tnt.addCommandTag("mod:launched_tnt");
+            tnt.setVelocity(0.5, 0.0, 0.0);
+            tnt.setFuse(200);
+            world.spawnEntity(tnt);
+            LaunchedTntBatch.get(world).add(tnt);
+            LaunchedTntBatch.tick(world);
+            boolean handedBack = !((BatchedTnt) tnt).vibecraft$isBatched() && !tnt.isRemoved();
+            boolean stopped = tnt.getBoundingBox().maxX <= wall.getX() + 1.0E-6;
+            source.sendFeedback(() -> Text.literal("  → Wall contact handed to vanilla: " + (handedBack ? "✓" : "✗")
+                    + ", stopped at the wall: " + (stopped ? "✓" : "✗")), false);
+            return handedBack && stopped;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Launched TNT batch test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Launched TNT batch test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            if (tnt != null) {
+                tnt.discard();
+            }
+            if (wall != null) {
+                world.setBlockState(wall, Blocks.AIR.getDefaultState());
+            }
+        }
+    }
+
+    private static boolean testExplosionJournal(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        java.util.List<BlockPos> positions = new java.util.ArrayList<>();
+        long maxBytes = ExplosionJournal.getMaxBytes();
+        try {
+            source.sendFeedback(() -> Text.literal("  → Placing blocks to journal..."), false);
+
+            BlockPos origin = player.getBlockPos().add(0, 30, 10);
+            for (int i = 0; i < 5; i++) {
+                BlockPos pos = origin.add(i, 0, 0);
+                world.setBlockState(pos, Blocks.STONE.getDefaultState());
+                positions.add(pos);
+            }
+
+            ActiveExplosion explosion = new ActiveExplosion(world, "Test", origin.getX(), origin.getY(),
+                    origin.getZ(), 4.0f, 1.0f);
+            JournalRecord record = ExplosionJournal.record(world, explosion, positions);
+            if (record == null || record.size() != positions.size()) {
+                source.sendFeedback(() -> Text.literal("  → ✗ Blocks were not journaled"), false);
+                return false;
+            }
+            source.sendFeedback(() -> Text.literal("  → Journaled explosion #" + record.id()), false);
+
+            positions.forEach(pos -> world.setBlockState(pos, Blocks.AIR.getDefaultState()));
+            CraterRegenerator.rollback(world, record);
+            CraterRegenerator.tick(world.getServer());
+
+            long restored = positions.stream().filter(pos -> world.getBlockState(pos).isOf(Blocks.STONE)).count();
+            source.sendFeedback(() -> Text.literal("  → Restored " + restored + "/" + positions.size() + " blocks"),
+                    false);
+            if (restored != positions.size()) {
+                return false;
+            }
+
+            // Once the append has landed, a zero cap prunes every region file, this explosion's included
+            ExplosionJournal.awaitWrites();
+            boolean indexed = ExplosionJournal.find(record.id()) != null;
+            ExplosionJournal.setMaxBytes(0);
+            ExplosionJournal.awaitWrites();
+            boolean pruned = ExplosionJournal.find(record.id()) == null && ExplosionJournal.getBytes() == 0;
+            source.sendFeedback(() -> Text.literal("  → " + (indexed ? "✓" : "✗")
+                    + " Append indexed once writes drained, " + (pruned ? "✓" : "✗") + " pruned under the cap"),
+                    false);
+            return indexed && pruned;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Explosion journal test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Explosion journal test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            ExplosionJournal.setMaxBytes(maxBytes);
+            positions.forEach(pos -> world.setBlockState(pos, Blocks.AIR.getDefaultState()));
+        }
+    }
+
+    private static boolean testExposureCache(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        PigEntity pig = null;
+        BlockPos wall = player.getBlockPos().add(0, 30, 4);
+        float previousError = ExposureCache.getMaxImpactError();
+        try {
+            source.sendFeedback(() -> Text.literal("  → Spawning a half-covered pig..."), false);
+
+            pig = new PigEntity(EntityType.PIG, world);
+            pig.setAiDisabled(true);
+            pig.setNoGravity(true);
+            pig.refreshPositionAndAngles(wall.getX() + 0.5, wall.getY(), wall.getZ() + 2.5, 0.0f, 0.0f);
+            world.spawnEntity(pig);
+            world.setBlockState(wall.add(0, 0, 1), Blocks.STONE.getDefaultState());
+
+            Vec3d center = new Vec3d(wall.getX() + 0.5, wall.getY() + 0.5, wall.getZ() + 0.5);
+            float radius = 8.0f;
+            float vanilla = ExplosionImpl.calculateReceivedDamage(center, pig);
+
+            ExposureCache.endTick();
+            ExposureCache.setMaxImpactError(0.0f);
+            float full = ExposureCache.exposure(center, pig, radius);
+            boolean exact = Math.abs(full - vanilla) < 1.0E-6f;
+            source.sendFeedback(() -> Text.literal(String.format("  → Vanilla %.3f, full sampling %.3f %s", vanilla,
+                    full, exact ? "✓" : "✗")), false);
+
+            ExposureCache.endTick();
+            ExposureCache.setMaxImpactError(0.05f);
+            float adaptive = ExposureCache.exposure(center, pig, radius);
+            double weight = 1.0 - Math.sqrt(pig.squaredDistanceTo(center)) / radius;
+            boolean bounded = weight * Math.abs(adaptive - vanilla) <= 0.05 + 1.0E-6;
+            source.sendFeedback(() -> Text.literal(String.format("  → Adaptive %.3f within impact bound %s",
+                    adaptive, bounded ? "✓" : "✗")), false);
+
+            // Blocks changing mid-tick are not seen; the cached value is returned until the tick ends
+            world.setBlockState(wall.add(0, 0, 1), Blocks.AIR.getDefaultState());
+            boolean cached = ExposureCache.exposure(center, pig, radius) == adaptive;
+            source.sendFeedback(() -> Text.literal("  → Cached within tick: " + (cached ? "✓" : "✗")), false);
+
+            // ...but an explosion destroying blocks, even far away, makes the next one look again
+            BlockPos far = wall.add(24, 0, 0);
+            world.setBlockState(far, Blocks.DIRT.getDefaultState());
+            unmultipliedExplosion(world, Vec3d.ofCenter(far), 1.0f, false, World.ExplosionSourceType.TNT);
+            float uncovered = ExplosionImpl.calculateReceivedDamage(center, pig);
+            float refreshed = ExposureCache.exposure(center, pig, radius);
+            boolean invalidated = world.getBlockState(far).isAir()
+                    && weight * Math.abs(refreshed - uncovered) <= 0.05 + 1.0E-6;
+            world.setBlockState(far, Blocks.AIR.getDefaultState());
+            source.sendFeedback(() -> Text.literal(String.format("  → After blocks were destroyed %.3f, wall gone "
+                    + "%.3f %s", refreshed, uncovered, invalidated ? "✓" : "✗")), false);
+
+            return exact && bounded && cached && invalidated;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Exposure cache test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Exposure cache test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            ExposureCache.setMaxImpactError(previousError);
+            ExposureCache.endTick();
+            world.setBlockState(wall.add(0, 0, 1), Blocks.AIR.getDefaultState());
+            if (pig != null) {
+                pig.discard();
+            }
+        }
+    }
+
+    private static boolean testRayMarchEquivalence(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        java.util.List<BlockPos> placed = new java.util.ArrayList<>();
+        try {
+            source.sendFeedback(() -> Text.literal("  → Building a mixed scene..."), false);
+
+            // Stone floor, an obsidian pillar and some water, floating in otherwise empty sections
+            BlockPos origin = player.getBlockPos().add(0, 40, 0);
+            for (int x = -6; x <= 6; x++) {
+                for (int z = -6; z <= 6; z++) {
+                    placed.add(origin.add(x, -3, z));
+                    world.setBlockState(origin.add(x, -3, z), Blocks.STONE.getDefaultState());
+                }
+            }
+            for (int y = -2; y <= 4; y++) {
+                placed.add(origin.add(3, y, 0));
+                world.setBlockState(origin.add(3, y, 0), Blocks.OBSIDIAN.getDefaultState());
+            }
+            placed.add(origin.add(-2, -2, -2));
+            world.setBlockState(origin.add(-2, -2, -2), Blocks.WATER.getDefaultState());
+
+            Vec3d center = Vec3d.ofCenter(origin);
+            ExplosionBehavior behavior = new ExplosionBehavior();
+            for (float power : new float[] { 4.0f, 20.0f, 60.0f }) {
+                ExplosionImpl explosion = new ExplosionImpl(world, null, null, behavior, center, power, false,
+                        Explosion.DestructionType.DESTROY);
+
+                long seed = 0x5EEDL + (long) power;
+                world.random.setSeed(seed);
+                java.util.List<BlockPos> vanilla = ((ExplosionImplAccessor) explosion).vibecraft$getBlocksToDestroy();
+                world.random.setSeed(seed);
+                java.util.List<BlockPos> marched = ExplosionRayMarch.march(explosion, world, behavior, center, power);
+
+                boolean same = vanilla.equals(marched);
+                source.sendFeedback(() -> Text.literal(String.format("  → Power %.0f: %d vanilla, %d marched %s",
+                        power, vanilla.size(), marched.size(), same ? "✓" : "✗")), false);
+                if (!same) {
+                    return false;
+                }
+            }
+            source.sendFeedback(() -> Text.literal("  → " + ExplosionRayMarch.getStats()), false);
+            return true;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Ray march test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Ray march test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            placed.forEach(pos -> world.setBlockState(pos, Blocks.AIR.getDefaultState()));
+        }
+    }
+
+    private static boolean testVoxelEngine(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        java.util.List<BlockPos> placed = new java.util.ArrayList<>();
+        try {
+            source.sendFeedback(() -> Text.literal("  → Building a stone cube with an obsidian wall..."), false);
+
+            BlockPos origin = player.getBlockPos().add(0, 40, 0);
+            for (BlockPos pos : BlockPos.iterate(origin.add(-5, -5, -5), origin.add(5, 5, 5))) {
+                placed.add(pos.toImmutable());
+                world.setBlockState(pos, pos.getX() == origin.getX() + 2 ? Blocks.OBSIDIAN.getDefaultState()
+                        : Blocks.STONE.getDefaultState());
+            }
+
+            Vec3d center = Vec3d.ofCenter(origin);
+            float power = 12.0f;
+            ExplosionBehavior behavior = new ExplosionBehavior();
+            ExplosionImpl explosion = new ExplosionImpl(world, null, null, behavior, center, power, false,
+                    Explosion.DestructionType.DESTROY);
+            java.util.List<BlockPos> voxel = VoxelSphereExplosion.compute(explosion, world, behavior, center, power);
+            java.util.Set<BlockPos> ray = new java.util.HashSet<>(
+                    ((ExplosionImplAccessor) explosion).vibecraft$getBlocksToDestroy());
+
+            boolean destroyedCenter = voxel.contains(origin);
+            boolean obsidianKept = voxel.stream().noneMatch(pos -> world.getBlockState(pos).isOf(Blocks.OBSIDIAN));
+            int radius = VoxelSphereExplosion.radiusFor(power);
+            boolean bounded = voxel.stream().allMatch(pos -> pos.getSquaredDistance(origin) <= radius * radius);
+            long shared = voxel.stream().filter(ray::contains).count();
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → Voxel destroyed %d blocks (%d also hit by rays), center %s, obsidian kept %s",
+                    voxel.size(), shared, destroyedCenter ? "✓" : "✗", obsidianKept ? "✓" : "✗")), false);
+
+            return destroyedCenter && obsidianKept && bounded && shared > 0;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Voxel engine test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Voxel engine test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            placed.forEach(pos -> world.setBlockState(pos, Blocks.AIR.getDefaultState()));
+        }
+    }
+
+    private static boolean testLaunchVolley(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        ItemStack held = player.getMainHandStack().copy();
+        java.util.List<TntEntity> volley = java.util.List.of();
+        try {
+            player.setStackInHand(Hand.MAIN_HAND, new ItemStack(Items.TNT, 16));
+
+            source.sendFeedback(() -> Text.literal("  → Launching a volley of 8 TNT..."), false);
+            volley = Vibecraft.handleLaunchVolley(player, 2.0f, 8, VolleyPattern.FAN, 40.0f);
+            java.util.List<TntEntity> launched = volley;
+
+            boolean allSpawned = launched.size() == 8 && launched.stream()
+                    .allMatch(tnt -> !tnt.isRemoved() && tnt.getCommandTags().contains("mod:launched_tnt"));
+            boolean spread = launched.stream().map(TntEntity::getVelocity).distinct().count() == 8;
+            Vec3d[] predicted = LaunchMath.volleyVelocities(player, 2.0f, 8, VolleyPattern.FAN, 40.0f);
+            boolean matchesPrediction = true;
+            for (int i = 0; i < launched.size(); i++) {
+                matchesPrediction &= launched.get(i).getVelocity().squaredDistanceTo(predicted[i]) < 1.0e-6;
+            }
+            boolean paid = player.isCreative() || player.getMainHandStack().getCount() == 8;
+
+            // A single launch pays the same way as a volley
+            int before = player.getMainHandStack().getCount();
+            TntEntity single = Vibecraft.handleLaunchTnt(player, 2.0f);
+            boolean singlePaid = single != null
+                    && player.getMainHandStack().getCount() == (player.isCreative() ? before : before - 1);
+            if (single != null) {
+                single.discard();
+            }
+
+            // A tampered client's power is clamped to the maximum, or rejected outright if it is not a number
+            java.util.List<TntEntity> forged = Vibecraft.handleLaunchVolley(player, 1000.0f, 1, VolleyPattern.FAN,
+                    0.0f);
+            boolean clamped = forged.size() == 1 && forged.get(0).getVelocity()
+                    .squaredDistanceTo(LaunchMath.velocity(player, LaunchMath.MAX_POWER)) < 1.0e-6;
+            forged.forEach(TntEntity::discard);
+            boolean rejectedNaN = Vibecraft.handleLaunchVolley(player, Float.NaN, 1, VolleyPattern.FAN, 0.0f)
+                    .isEmpty() && Vibecraft.handleLaunchTnt(player, Float.NaN) == null;
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → Spawned %d TNT, spread %s, matches client prediction %s, paid %s, single launch paid %s, "
+                            + "power clamped %s, NaN rejected %s", launched.size(), spread ? "✓" : "✗",
+                    matchesPrediction ? "✓" : "✗", paid ? "✓" : "✗", singlePaid ? "✓" : "✗", clamped ? "✓" : "✗",
+                    rejectedNaN ? "✓" : "✗")), false);
+
+            return allSpawned && spread && matchesPrediction && paid && singlePaid && clamped && rejectedNaN;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("TNT volley test failed", e);
+            source.sendFeedback(() -> Text.literal("  → TNT volley test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            volley.forEach(TntEntity::discard);
+            player.setStackInHand(Hand.MAIN_HAND, held);
+        }
+    }
+
+    private static boolean testChunkSaveThrottle(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        java.util.List<BlockPos> positions = new java.util.ArrayList<>();
+        try {
+            if (world.savingDisabled || !ChunkSaveThrottle.isEnabled()) {
+                source.sendFeedback(() -> Text.literal("  → Saving is off, skipping"), false);
+                return true;
+            }
+
+            // Two chunks, so the budget of one chunk per tick has to spread them over two ticks
+            BlockPos origin = player.getBlockPos().add(0, 30, 0);
+            positions.add(origin);
+            positions.add(origin.add(16, 0, 0));
+            positions.forEach(pos -> world.setBlockState(pos, Blocks.STONE.getDefaultState()));
+
+            int budget = ChunkSaveThrottle.getChunksPerTick();
+            ChunkSaveThrottle.setChunksPerTick(1);
+            int before = ChunkSaveThrottle.getPending();
+            ChunkSaveThrottle.track(world, positions);
+            int queued = ChunkSaveThrottle.getPending() - before;
+
+            int ticks = 0;
+            try {
+                while (ChunkSaveThrottle.getPending() > 0 && ticks < 1000) {
+                    ChunkSaveThrottle.tick(world);
+                    ticks++;
+                }
+            } finally {
+                ChunkSaveThrottle.setChunksPerTick(budget);
+            }
+            int drainTicks = ticks;
+
+            boolean saved = positions.stream().noneMatch(pos -> world.getWorldChunk(pos).needsSaving());
+            source.sendFeedback(() -> Text.literal(String.format("  → Queued %d chunks, drained in %d ticks, saved %s",
+                    queued, drainTicks, saved ? "✓" : "✗")), false);
+            return queued > 0 && drainTicks >= queued && saved;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Chunk save test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Chunk save test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            positions.forEach(pos -> world.setBlockState(pos, Blocks.AIR.getDefaultState()));
+        }
+    }
+
+    private static boolean testEffectBatching(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        try {
+            if (!ExplosionEffectBatcher.isEnabled()) {
+                source.sendFeedback(() -> Text.literal("  → Effect batching is off, skipping"), false);
+                return true;
+            }
+
+            long folded = ExplosionEffectBatcher.getFolded();
+            long sent = ExplosionEffectBatcher.getSent();
+            long culled = ExplosionEffectBatcher.getCulled();
+
+            // A 20 TNT chain in front of the player and one explosion far beyond any view distance
+            Vec3d base = player.getPos().add(0, 0, 12);
+            for (int i = 0; i < 20; i++) {
+                ExplosionEffectBatcher.offer(player, new ExplosionS2CPacket(base.add(i % 4, 0, i / 4),
+                        Optional.empty(), ParticleTypes.EXPLOSION, SoundEvents.ENTITY_GENERIC_EXPLODE));
+            }
+            ExplosionEffectBatcher.offer(player, new ExplosionS2CPacket(base.add(10_000, 0, 0), Optional.empty(),
+                    ParticleTypes.EXPLOSION, SoundEvents.ENTITY_GENERIC_EXPLODE));
+            boolean knockbackSentDirectly = !ExplosionEffectBatcher.offer(player, new ExplosionS2CPacket(base,
+                    Optional.of(Vec3d.ZERO), ParticleTypes.EXPLOSION, SoundEvents.ENTITY_GENERIC_EXPLODE));
+            ExplosionEffectBatcher.flush(world.getServer());
+
+            long foldedNow = ExplosionEffectBatcher.getFolded() - folded;
+            long sentNow = ExplosionEffectBatcher.getSent() - sent;
+            long culledNow = ExplosionEffectBatcher.getCulled() - culled;
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → %d effects sent as %d packets, %d culled, knockback kept separate %s", foldedNow, sentNow,
+                    culledNow, knockbackSentDirectly ? "✓" : "✗")), false);
+            return foldedNow == 21 && sentNow == 2 && culledNow == 1 && knockbackSentDirectly;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Effect batching test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Effect batching test error: " + e.getMessage()), false);
+            return false;
+        }
+    }
+
+    private static boolean testTrajectoryPreload(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        ItemStack held = player.getMainHandStack().copy();
+        TntEntity tnt = null;
+        try {
+            if (!TrajectoryPreloader.isEnabled()) {
+                source.sendFeedback(() -> Text.literal("  → Preloading is off, skipping"), false);
+                return true;
+            }
+
+            // A full power launch crosses several chunks, each of which should be held until the TNT is gone
+            long[] path = TrajectoryPreloader.project(LaunchMath.spawnPos(player),
+                    LaunchMath.velocity(player, LaunchMath.MAX_POWER), LaunchMath.FUSE, world.getBottomY());
+            long launches = TrajectoryPreloader.getLaunches();
+            int before = TrajectoryPreloader.getActiveTickets();
+            player.setStackInHand(Hand.MAIN_HAND, new ItemStack(Items.TNT, 1));
+            tnt = Vibecraft.handleLaunchTnt(player, LaunchMath.MAX_POWER);
+            int holding = TrajectoryPreloader.getActiveTickets() - before;
+            boolean tracked = tnt != null && TrajectoryPreloader.getLaunches() == launches + 1 && holding > 0
+                    && holding <= path.length;
+
+            TrajectoryPreloader.tick(world);
+            boolean keptInFlight = TrajectoryPreloader.getActiveTickets() - before == holding;
+            if (tnt != null) {
+                tnt.discard();
+            }
+            TrajectoryPreloader.tick(world);
+            boolean released = TrajectoryPreloader.getActiveTickets() == before;
+
+            // A launch every second for 20 seconds along the same path, each TNT gone after its fuse: the shared
+            // tickets must be renewed rather than left to expire under the later launches
+            long renewals = TrajectoryPreloader.getRenewals();
+            long oldest = 0L;
+            java.util.ArrayDeque<TntEntity> stream = new java.util.ArrayDeque<>();
+            for (int tick = 0; tick < 400; tick++) {
+                if (tick % 20 == 0) {
+                    player.setStackInHand(Hand.MAIN_HAND, new ItemStack(Items.TNT, 1));
+                    TntEntity launched = Vibecraft.handleLaunchTnt(player, LaunchMath.MAX_POWER);
+                    if (launched != null) {
+                        stream.add(launched);
+                    }
+                }
+                if (stream.size() > LaunchMath.FUSE / 20) {
+                    stream.poll().discard();
+                }
+                TrajectoryPreloader.tick(world);
+                oldest = Math.max(oldest, TrajectoryPreloader.getOldestTicketAge(world));
+            }
+            stream.forEach(TntEntity::discard);
+            TrajectoryPreloader.tick(world);
+            boolean renewed = TrajectoryPreloader.getRenewals() > renewals && oldest < 300L
+                    && TrajectoryPreloader.getActiveTickets() == before;
+
+            int chunks = path.length;
+            long maxAge = oldest;
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → %d chunks on the path, held %s, kept in flight %s, released after %s, renewed over 400 "
+                            + "ticks %s (oldest ticket %d ticks)", chunks, tracked ? "✓" : "✗",
+                    keptInFlight ? "✓" : "✗", released ? "✓" : "✗", renewed ? "✓" : "✗", maxAge)), false);
+            return tracked && keptInFlight && released && renewed;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Preload test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Preload test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            if (tnt != null && !tnt.isRemoved()) {
+                tnt.discard();
+            }
+            player.setStackInHand(Hand.MAIN_HAND, held);
+        }
+    }
+
+    private static boolean testProtectedRegions(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        ProtectedRegions regions = ProtectedRegions.get(world);
+        String name = "vibecraft_test";
+        try {
+            // A region covering the east half of a 9x9x9 crater: whole sections inside it and a boundary plane
+            BlockPos center = player.getBlockPos().add(0, 20, 0);
+            regions.add(new ProtectedRegion(name, BlockBox.create(center.add(1, -40, -40), center.add(40, 40, 40))));
+            java.util.List<BlockPos> crater = new java.util.ArrayList<>();
+            for (BlockPos pos : BlockPos.iterate(center.add(-4, -4, -4), center.add(4, 4, 4))) {
+                crater.add(pos.toImmutable());
+            }
+
+            int removed = regions.filter(crater);
+            boolean spared = removed == 4 * 9 * 9 && crater.stream().allMatch(pos -> pos.getX() <= center.getX());
+            boolean farUntouched = regions.filter(new java.util.ArrayList<>(
+                    java.util.List.of(center.add(-1000, 0, 0)))) == 0;
+
+            // A blast that destroys nothing still lights fires from its block list, which must be filtered too
+            for (BlockPos pos : BlockPos.iterate(center.add(-4, -2, -4), center.add(4, -2, 4))) {
+                world.setBlockState(pos, Blocks.STONE.getDefaultState());
+            }
+            unmultipliedExplosion(world, Vec3d.ofCenter(center), 3.0f, true, World.ExplosionSourceType.NONE);
+            int protectedFires = 0;
+            for (BlockPos pos : BlockPos.iterate(center.add(1, -1, -4), center.add(4, -1, 4))) {
+                if (world.getBlockState(pos).isOf(Blocks.FIRE)) {
+                    protectedFires++;
+                }
+            }
+            for (BlockPos pos : BlockPos.iterate(center.add(-4, -2, -4), center.add(4, -1, 4))) {
+                world.setBlockState(pos, Blocks.AIR.getDefaultState());
+            }
+            boolean noFire = protectedFires == 0;
+
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → Spared %d of 729 crater blocks, only the protected side %s, far blast untouched %s, no fire "
+                            + "inside %s", removed, spared ? "✓" : "✗", farUntouched ? "✓" : "✗",
+                    noFire ? "✓" : "✗")), false);
+            return spared && farUntouched && noFire;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Protected region test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Protected region test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            regions.remove(name);
+        }
+    }
+
+    private static boolean testExplosionHotspots(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        int halfLife = ExplosionHotspots.getHalfLifeTicks();
+        try {
+            // Start from no heat, then hammer one chunk and sprinkle single explosions over many others
+            ExplosionHotspots.setHalfLifeTicks(halfLife);
+            Vec3d pos = player.getPos();
+            for (int i = 0; i < 40; i++) {
+                ExplosionHotspots.record(world, pos.x, pos.z, 4.0f);
+            }
+            for (int i = 1; i <= 200; i++) {
+                ExplosionHotspots.record(world, pos.x + i * 16, pos.z - i * 32, 1.0f);
+            }
+
+            java.util.List<HotspotSketch.Entry> top = ExplosionHotspots.top(world);
+            long hottest = ChunkPos.toLong(player.getChunkPos().x, player.getChunkPos().z);
+            boolean ranked = !top.isEmpty() && top.get(0).key() == hottest
+                    && top.size() <= ExplosionHotspots.TRACKED;
+            double heat = ExplosionHotspots.heat(world, pos.x, pos.z);
+            boolean counted = heat >= 160.0 && heat > ExplosionHotspots.getThreshold();
+            boolean coldElsewhere = ExplosionHotspots.heat(world, pos.x + 16, pos.z - 32) < heat / 10.0;
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → Hottest chunk first %s, %.1f heat counted %s, others cold %s", ranked ? "✓" : "✗", heat,
+                    counted ? "✓" : "✗", coldElsewhere ? "✓" : "✗")), false);
+            return ranked && counted && coldElsewhere;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Hotspot test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Hotspot test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            // Forget the test's heat so it does not slow real explosions here
+            ExplosionHotspots.setHalfLifeTicks(halfLife);
+        }
+    }
+
+    private static boolean testSourcePolicies(ServerCommandSource source, ServerPlayerEntity player,
+            ServerWorld world) {
+        EndCrystalEntity crystal = null;
+        try {
+            // An end crystal blown up by damage goes through vanilla's explosion code, not Vibecraft's
+            ExplosionConfig.setPolicy(EntityType.END_CRYSTAL, MultiplierPolicy.fixed(1.5f));
+            clearExplosionData();
+            Vec3d pos = player.getPos().add(0, 30, 12);
+            crystal = new EndCrystalEntity(world, pos.x, pos.y, pos.z);
+            crystal.setShowBottom(false);
+            world.spawnEntity(crystal);
+            crystal.damage(world, world.getDamageSources().generic(), 1.0f);
+
+            Float multiplier;
+            String type;
+            synchronized (explosionLock) {
+                multiplier = lastExplosionMultiplier;
+                type = lastExplosionType;
+            }
+            boolean exploded = crystal.isRemoved();
+            boolean multiplied = multiplier != null && Math.abs(multiplier - 1.5f) < 0.001f
+                    && "end_crystal".equals(type);
+            source.sendFeedback(() -> Text.literal(String.format(
+                    "  → Crystal exploded %s, multiplied by its own policy (%s) %s", exploded ? "✓" : "✗",
+                    multiplier, multiplied ? "✓" : "✗")), false);
+            return exploded && multiplied;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Source policy test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Source policy test error: " + e.getMessage()), false);
+            return false;
+        } finally {
+            ExplosionConfig.setPolicy(EntityType.END_CRYSTAL, null);
+            if (crystal != null && !crystal.isRemoved()) {
+                crystal.discard();
+            }
+        }
+    }
+
+    /**
+     * A vanilla explosion without a source entity, kept at the given power whatever the multiplier settings.
+     */
+    private static void unmultipliedExplosion(ServerWorld world, Vec3d pos, float power, boolean createFire,
+            World.ExplosionSourceType sourceType) {
+        MultiplierPolicy previous = ExplosionConfig.getSourcePolicies().get("block");
+        ExplosionConfig.setBlockPolicy(MultiplierPolicy.fixed(1.0f));
+        try {
+            world.createExplosion(null, pos.x, pos.y, pos.z, power, createFire, sourceType);
+        } finally {
+            ExplosionConfig.setBlockPolicy(previous);
+        }
+    }
+
+    private static boolean testConfigurationSystem(ServerCommandSource source) {
+        try {
+            source.sendFeedback(() -> Text.literal("  → Testing fixed multiplier (1.5x)..."), false);
+
+            // Test basic configuration functions work
+            ExplosionConfig.setMultiplier(1.5f);
+            if (Math.abs(ExplosionConfig.computeMultiplier() - 1.5f) > 0.001f) {
+                source.sendFeedback(() -> Text.literal("  → ✗ Fixed multiplier test failed"), false);
+                return false;
+            }
+            source.sendFeedback(() -> Text.literal("  → ✓ Fixed multiplier works"), false);
+
+            source.sendFeedback(() -> Text.literal("  → Testing random multiplier (1x-1x)..."), false);
+            ExplosionConfig.setRandomMultiplier(1, 1);
+            if (ExplosionConfig.computeMultiplier() != 1.0f) {
+                source.sendFeedback(() -> Text.literal("  → ✗ Random multiplier test failed"), false);
+                return false;
+            }
+            source.sendFeedback(() -> Text.literal("  → ✓ Random multiplier works"), false);
+
+            source.sendFeedback(() -> Text.literal("  → Testing per-source policies..."), false);
+            ExplosionConfig.setMultiplier(2.0f);
+            ExplosionConfig.setPolicy(EntityType.CREEPER, MultiplierPolicy.fixed(1.0f));
+            ExplosionConfig.setBlockPolicy(MultiplierPolicy.cap(1.5f));
+            CreeperEntity creeper = new CreeperEntity(EntityType.CREEPER, source.getWorld());
+            TntEntity tnt = new TntEntity(EntityType.TNT, source.getWorld());
+            boolean perSource = ExplosionConfig.computeMultiplier(creeper) == 1.0f
+                    && ExplosionConfig.computeMultiplier(tnt) == 2.0f
+                    && ExplosionConfig.computeMultiplier(null) == 1.5f;
+            ExplosionConfig.clearSourcePolicies();
+            boolean cleared = ExplosionConfig.computeMultiplier(creeper) == 2.0f;
+            if (!perSource || !cleared) {
+                source.sendFeedback(() -> Text.literal("  → ✗ Per-source policy test failed"), false);
+                return false;
+            }
+            source.sendFeedback(() -> Text.literal("  → ✓ Per-source policies work"), false);
+
+            source.sendFeedback(() -> Text.literal("  → Testing configuration reset..."), false);
+            ExplosionConfig.resetMultiplier();
+            String resetConfig = ExplosionConfig.getCurrentConfig();
+            if (!resetConfig.contains("Random(2x - 20x)")) {
+                source.sendFeedback(() -> Text.literal("  → ✗ Reset test failed: " + resetConfig), false);
+                return false;
+            }
+            source.sendFeedback(() -> Text.literal("  → ✓ Configuration reset works"), false);
+
+            return true;
+        } catch (Exception e) {
+            Vibecraft.LOGGER.error("Configuration test failed", e);
+            source.sendFeedback(() -> Text.literal("  → Configuration test error: " + e.getMessage()), false);
+            return false;
+        }
+    }
+}
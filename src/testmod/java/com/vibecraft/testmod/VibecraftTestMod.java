@@ -0,0 +1,36 @@
+package com.vibecraft.testmod;
+
+import com.vibecraft.api.VibecraftEvents;
+import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entry point of the optional test harness. Only installed in development and automation runs, never on
+ * production servers.
+ */
+public class VibecraftTestMod implements ModInitializer {
+    public static final String MOD_ID = "vibecraft-testmod";
+    public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
+
+    @Override
+    public void onInitialize() {
+        LOGGER.info("Vibecraft test harness loaded!");
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
+            TestCommand.register(dispatcher);
+            BenchmarkCommand.register(dispatcher);
+            LoadTestCommand.register(dispatcher);
+        });
+        PayloadTypeRegistry.playS2C().register(QuitClientPayload.ID, QuitClientPayload.CODEC);
+        ServerTickEvents.START_SERVER_TICK.register(LaunchLoadGenerator::startTick);
+        ServerTickEvents.END_SERVER_TICK.register(LaunchLoadGenerator::endTick);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> LaunchLoadGenerator.stop());
+        VibecraftEvents.EXPLOSION_MULTIPLIED.register((kind, basePower, multiplier) -> {
+            TestCommand.recordExplosion(kind, multiplier);
+        });
+    }
+}
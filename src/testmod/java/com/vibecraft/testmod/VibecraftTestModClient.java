@@ -0,0 +1,19 @@
+package com.vibecraft.testmod;
+
+import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+
+public class VibecraftTestModClient implements ClientModInitializer {
+
+    @Override
+    public void onInitializeClient() {
+        // Receive quit signal from server and close the client cleanly
+        ClientPlayNetworking.registerGlobalReceiver(QuitClientPayload.ID, (payload, context) -> {
+            MinecraftClient mc = MinecraftClient.getInstance();
+            if (mc != null) {
+                mc.scheduleStop();
+            }
+        });
+    }
+}
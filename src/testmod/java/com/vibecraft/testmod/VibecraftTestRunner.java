@@ -1,4 +1,4 @@
-package com.vibecraft.test;
+package com.vibecraft.testmod;
 
 import com.vibecraft.Vibecraft;
 import net.minecraft.entity.EntityType;